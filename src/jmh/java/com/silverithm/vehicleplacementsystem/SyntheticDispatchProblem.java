@@ -0,0 +1,75 @@
+package com.silverithm.vehicleplacementsystem;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 가상 배차 문제. 회사를 가운데 둔 20km 정사각형 안에 직원 집과 어르신 집을 시드로 흩뿌리고,
+ * 직선거리를 시속 30km 로 나눈 초 단위 소요시간으로 {@link DistanceMatrix} 를 채운다.
+ *
+ * 직원 한 명당 정원 5명, 어르신 4명꼴로 두어 정원에 25% 여유가 있고, 어르신 10명 중 2명은 부부로 묶는다.
+ */
+public class SyntheticDispatchProblem {
+
+    private static final int AREA_METERS = 20_000;
+    private static final double METERS_PER_SECOND = 30_000 / 3600.0;
+    private static final int EMPLOYEE_CAPACITY = 5;
+    private static final int ELDERLY_PER_EMPLOYEE = 4;
+    private static final int ELDERLY_PER_COUPLE = 10;
+
+    public final List<EmployeeDTO> employees;
+    public final List<ElderlyDTO> elderlys;
+    public final List<CoupleRequestDTO> couples;
+    public final DistanceMatrix distanceMatrix;
+
+    private SyntheticDispatchProblem(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys,
+                                     List<CoupleRequestDTO> couples, DistanceMatrix distanceMatrix) {
+        this.employees = employees;
+        this.elderlys = elderlys;
+        this.couples = couples;
+        this.distanceMatrix = distanceMatrix;
+    }
+
+    public static SyntheticDispatchProblem of(int elderlyCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int employeeCount = (elderlyCount + ELDERLY_PER_EMPLOYEE - 1) / ELDERLY_PER_EMPLOYEE;
+
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new EmployeeDTO((long) i + 1, "직원" + i, "", "", new Location(), new Location(),
+                    EMPLOYEE_CAPACITY, true));
+        }
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (int i = 0; i < elderlyCount; i++) {
+            elderlys.add(new ElderlyDTO((long) i + 1, "어르신" + i, new Location(), false, ""));
+        }
+        List<CoupleRequestDTO> couples = new ArrayList<>();
+        for (int i = 0; i + 1 < elderlyCount; i += ELDERLY_PER_COUPLE) {
+            couples.add(new CoupleRequestDTO(elderlys.get(i).id(), elderlys.get(i + 1).id()));
+        }
+
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employeeCount, elderlyCount);
+        int[] x = new int[distanceMatrix.getSize()];
+        int[] y = new int[distanceMatrix.getSize()];
+        x[DistanceMatrix.COMPANY] = AREA_METERS / 2;
+        y[DistanceMatrix.COMPANY] = AREA_METERS / 2;
+        for (int node = 1; node < distanceMatrix.getSize(); node++) {
+            x[node] = random.nextInt(AREA_METERS);
+            y[node] = random.nextInt(AREA_METERS);
+        }
+        for (int from = 0; from < distanceMatrix.getSize(); from++) {
+            for (int to = from + 1; to < distanceMatrix.getSize(); to++) {
+                double meters = Math.hypot(x[from] - x[to], y[from] - y[to]);
+                distanceMatrix.setSymmetric(from, to, (int) Math.round(meters / METERS_PER_SECOND));
+            }
+        }
+
+        return new SyntheticDispatchProblem(employees, elderlys, couples, distanceMatrix);
+    }
+}
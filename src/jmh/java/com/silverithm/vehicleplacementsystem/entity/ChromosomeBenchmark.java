@@ -0,0 +1,75 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.SyntheticDispatchProblem;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 초기 해 생성({@link ChromosomeV3} 생성자)과 염색체 복사 비용. GeneticAlgorithmV5 는 초기 세대에서 ChromosomeV3 를
+ * 만들어 {@link ChromosomeV4} 로 옮기고, 세대마다 ChromosomeV4.copyFrom 으로 버퍼를 덮어쓴다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChromosomeBenchmark {
+
+    @Param({"20", "80", "200"})
+    private int elderlyCount;
+
+    private SyntheticDispatchProblem problem;
+    private Map<Integer, List<Integer>> fixedAssignments;
+    private SplittableRandom random;
+    private ChromosomeV3 chromosomeV3;
+    private ChromosomeV4 source;
+    private ChromosomeV4 target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        problem = SyntheticDispatchProblem.of(elderlyCount, 42L);
+        fixedAssignments = new FixedAssignmentsV2(List.of(), problem.employees, problem.elderlys)
+                .getFixedAssignments();
+        random = new SplittableRandom(42L);
+
+        chromosomeV3 = newChromosomeV3();
+        source = new ChromosomeV4(elderlyCount, problem.employees.size());
+        source.copyFrom(chromosomeV3);
+        target = new ChromosomeV4(elderlyCount, problem.employees.size());
+    }
+
+    @Benchmark
+    public ChromosomeV3 constructChromosomeV3() throws Exception {
+        return newChromosomeV3();
+    }
+
+    @Benchmark
+    public ChromosomeV3 copyChromosomeV3() {
+        return ChromosomeV3.copy(chromosomeV3);
+    }
+
+    @Benchmark
+    public ChromosomeV4 copyChromosomeV4() {
+        target.copyFrom(source);
+        return target;
+    }
+
+    private ChromosomeV3 newChromosomeV3() throws Exception {
+        return new ChromosomeV3(problem.couples, problem.employees, problem.elderlys, fixedAssignments, random);
+    }
+}
@@ -0,0 +1,104 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.SyntheticDispatchProblem;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV4;
+import com.silverithm.vehicleplacementsystem.entity.ConvergencePolicy;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GeneticAlgorithmV5 세대 반복의 해 하나당 비용 — 적합도 계산, 교차, 교차 뒤 중복 배정 보정.
+ *
+ * 교차는 실제 세대 처리와 같이 부모를 자식 버퍼에 복사한 뒤 교차하므로 복사 비용을 포함한다. 중복 배정 보정은
+ * 두 부모의 가운데 차량 절반을 맞바꿔 중복을 만들어 둔 해를 매번 복사해 고친다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneticAlgorithmV5Benchmark {
+
+    @Param({"20", "80", "200"})
+    private int elderlyCount;
+
+    private GeneticAlgorithmV5 geneticAlgorithm;
+    private SplittableRandom random;
+    private ChromosomeV4 parent1;
+    private ChromosomeV4 parent2;
+    private ChromosomeV4 child1;
+    private ChromosomeV4 child2;
+    private ChromosomeV4 duplicated;
+    private boolean[] used;
+    private int[] unusedIndices;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticDispatchProblem problem = SyntheticDispatchProblem.of(elderlyCount, 42L);
+        geneticAlgorithm = new GeneticAlgorithmV5(problem.employees, problem.elderlys, problem.couples, List.of(),
+                new DispatchProgressPublisher(Runnable::run, 250), ForkJoinPool.commonPool());
+        geneticAlgorithm.initialize(problem.distanceMatrix, DispatchType.DURATION_IN, null, 42L,
+                ConvergencePolicy.DEFAULT);
+        random = new SplittableRandom(42L);
+
+        FixedAssignmentsV2 fixedAssignments = new FixedAssignmentsV2(List.of(), problem.employees, problem.elderlys);
+        int vehicleCount = problem.employees.size();
+        parent1 = new ChromosomeV4(elderlyCount, vehicleCount);
+        parent2 = new ChromosomeV4(elderlyCount, vehicleCount);
+        parent1.copyFrom(new ChromosomeV3(problem.couples, problem.employees, problem.elderlys,
+                fixedAssignments.getFixedAssignments(), random));
+        parent2.copyFrom(new ChromosomeV3(problem.couples, problem.employees, problem.elderlys,
+                fixedAssignments.getFixedAssignments(), random));
+        child1 = new ChromosomeV4(elderlyCount, vehicleCount);
+        child2 = new ChromosomeV4(elderlyCount, vehicleCount);
+        used = new boolean[elderlyCount];
+        unusedIndices = new int[elderlyCount];
+
+        duplicated = new ChromosomeV4(elderlyCount, vehicleCount);
+        duplicated.copyFrom(parent1);
+        for (int vehicle = vehicleCount / 4; vehicle < vehicleCount * 3 / 4; vehicle++) {
+            int length = Math.min(parent1.vehicleSize(vehicle), parent2.vehicleSize(vehicle));
+            for (int k = 0; k < length; k++) {
+                duplicated.setGene(duplicated.vehicleStart(vehicle) + k, parent2.gene(vehicle, k));
+            }
+        }
+    }
+
+    @Benchmark
+    public double calculateFitness() {
+        return geneticAlgorithm.calculateFitness(parent1);
+    }
+
+    @Benchmark
+    public ChromosomeV4 multiPointCrossover() {
+        child1.copyFrom(parent1);
+        child2.copyFrom(parent2);
+        geneticAlgorithm.multiPointCrossover(parent1, parent2, child1, child2, random, used, unusedIndices);
+        return child1;
+    }
+
+    @Benchmark
+    public ChromosomeV4 fixDuplicateAssignments() {
+        child1.copyFrom(duplicated);
+        geneticAlgorithm.fixDuplicateAssignments(child1, used, unusedIndices);
+        return child1;
+    }
+}
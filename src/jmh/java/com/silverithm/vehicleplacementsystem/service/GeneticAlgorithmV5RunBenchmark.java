@@ -0,0 +1,62 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.SyntheticDispatchProblem;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV4;
+import com.silverithm.vehicleplacementsystem.entity.ConvergencePolicy;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 어르신 20명 문제를 GeneticAlgorithmV5.run() 으로 끝까지 푸는 시간. 세대 버퍼 할당·초기 해 생성·조기 종료까지 포함한다.
+ *
+ * 한 번에 초 단위가 걸리므로 반복마다 한 번씩 재는 SingleShotTime 으로 돌리고, 시드를 고정해 매번 같은 세대 수를 돈다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneticAlgorithmV5RunBenchmark {
+
+    private static final int ELDERLY_COUNT = 20;
+
+    private SyntheticDispatchProblem problem;
+    private DispatchProgressPublisher progressPublisher;
+    private ForkJoinPool workerPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        problem = SyntheticDispatchProblem.of(ELDERLY_COUNT, 42L);
+        progressPublisher = new DispatchProgressPublisher(Runnable::run, 250);
+        workerPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workerPool.shutdown();
+    }
+
+    @Benchmark
+    public List<ChromosomeV4> run() throws Exception {
+        GeneticAlgorithmV5 geneticAlgorithm = new GeneticAlgorithmV5(problem.employees, problem.elderlys,
+                problem.couples, List.of(), progressPublisher, workerPool);
+        geneticAlgorithm.initialize(problem.distanceMatrix, DispatchType.DURATION_IN, null, 42L,
+                ConvergencePolicy.DEFAULT);
+        return geneticAlgorithm.run();
+    }
+}
@@ -1,6 +1,7 @@
 package com.silverithm.vehicleplacementsystem.config;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -44,6 +45,18 @@ public class BillingKeyEncryptionConfig {
 
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
+    /**
+     * 스레드마다 GCM Cipher 를 하나씩 두고 다시 쓴다. Cipher 는 스레드 안전하지 않고 getInstance 는 프로바이더를 매번
+     * 찾아 비싸다. 쓸 때마다 새 IV 로 init 하므로 이전 상태는 남지 않는다.
+     */
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(GCM_TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(GCM_TRANSFORMATION + " 을 사용할 수 없습니다", e);
+        }
+    });
+
     @Value("${billing.encryption.key:}")
     private String encryptionKey;
 
@@ -98,7 +111,7 @@ public class BillingKeyEncryptionConfig {
             byte[] iv = new byte[GCM_IV_LENGTH];
             SECURE_RANDOM.nextBytes(iv);
 
-            Cipher cipher = Cipher.getInstance(GCM_TRANSFORMATION);
+            Cipher cipher = GCM_CIPHER.get();
             cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
             byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
 
@@ -132,16 +145,13 @@ public class BillingKeyEncryptionConfig {
                 throw new IllegalArgumentException("암호문 길이가 올바르지 않습니다");
             }
 
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            System.arraycopy(payload, 0, iv, 0, GCM_IV_LENGTH);
-
-            byte[] cipherText = new byte[payload.length - GCM_IV_LENGTH];
-            System.arraycopy(payload, GCM_IV_LENGTH, cipherText, 0, cipherText.length);
-
-            Cipher cipher = Cipher.getInstance(GCM_TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+            // IV 와 암호문을 따로 복사하지 않고 payload 에서 바로 읽는다
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, key,
+                    new GCMParameterSpec(GCM_TAG_LENGTH_BITS, payload, 0, GCM_IV_LENGTH));
 
-            return new String(cipher.doFinal(cipherText), StandardCharsets.UTF_8);
+            return new String(cipher.doFinal(payload, GCM_IV_LENGTH, payload.length - GCM_IV_LENGTH),
+                    StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new RuntimeException("빌링키 복호화 실패", e);
         }
@@ -1,7 +1,7 @@
 package com.silverithm.vehicleplacementsystem.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -15,6 +15,8 @@ import org.springframework.context.annotation.Primary;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String LINK_DISTANCE_CACHE = "linkDistanceLocalCache";
+
     @Bean
     public CacheManager caffeineCacheManager() {
         // Caffeine 캐시 설정
@@ -25,8 +27,17 @@ public class CacheConfig {
                         .recordStats()           // 캐시 통계 기록
                         .build());
 
+        // 노드 쌍 거리·소요시간 1차 캐시 (2차는 Redis 해시, LinkDistanceCacheService 참고)
+        // 다른 인스턴스에서 주소가 바뀌면 여기는 비워지지 않으므로 쓰기 후 만료로 오래된 값을 흘려보낸다
+        CaffeineCache linkDistanceCache = new CaffeineCache(LINK_DISTANCE_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(500000)
+                        .expireAfterWrite(1, TimeUnit.HOURS)
+                        .recordStats()
+                        .build());
+
         SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(Collections.singletonList(fitnessCache));
+        cacheManager.setCaches(List.of(fitnessCache, linkDistanceCache));
         return cacheManager;
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import com.silverithm.vehicleplacementsystem.service.DispatchSolver;
+import com.silverithm.vehicleplacementsystem.service.LegacyGeneticAlgorithmSolver;
+import com.silverithm.vehicleplacementsystem.service.LegacyGeneticAlgorithmSolver.Generation;
+import com.silverithm.vehicleplacementsystem.service.SSEService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 이전 세대 GA 풀이를 배차 엔진으로 등록한다. GeneticAlgorithmV5Solver 는 스스로 빈으로 등록된다.
+ */
+@Configuration
+public class DispatchEngineConfig {
+
+    @Bean
+    public DispatchSolver geneticAlgorithmV1Solver(SSEService sseService) {
+        return new LegacyGeneticAlgorithmSolver(Generation.V1, sseService);
+    }
+
+    @Bean
+    public DispatchSolver geneticAlgorithmV2Solver(SSEService sseService) {
+        return new LegacyGeneticAlgorithmSolver(Generation.V2, sseService);
+    }
+
+    @Bean
+    public DispatchSolver geneticAlgorithmV3Solver(SSEService sseService) {
+        return new LegacyGeneticAlgorithmSolver(Generation.V3, sseService);
+    }
+
+    @Bean
+    public DispatchSolver geneticAlgorithmV4Solver(SSEService sseService) {
+        return new LegacyGeneticAlgorithmSolver(Generation.V4, sseService);
+    }
+}
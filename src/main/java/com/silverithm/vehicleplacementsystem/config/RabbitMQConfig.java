@@ -37,12 +37,16 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.password}")
     private String password;
 
+    // 배차 요청·응답 본문 상한. 압축을 푼 크기도 DispatchMessageCodec 이 같은 값으로 막는다.
+    @Value("${dispatch.message.max-body-bytes:67108864}")
+    private int maxBodyBytes;
+
     @Bean
     public ConnectionFactory connectionFactory() throws NoSuchAlgorithmException, KeyManagementException {
         log.info("Initializing RabbitMQ ConnectionFactory with host: {}, port: {}", host, port);
 
         com.rabbitmq.client.ConnectionFactory rabbitFactory = new com.rabbitmq.client.ConnectionFactory();
-        rabbitFactory.setMaxInboundMessageBodySize(1545270062);
+        rabbitFactory.setMaxInboundMessageBodySize(maxBodyBytes);
         rabbitFactory.setHost(host);
         rabbitFactory.setPort(port);
         rabbitFactory.setUsername(username);
@@ -91,6 +95,13 @@ public class RabbitMQConfig {
         return queue;
     }
 
+    // 워커가 이미 받아 간 작업의 취소 통지. 워커는 jobId 헤더를 보고 돌던 GA 를 멈춘다.
+    @Bean
+    public Queue dispatchCancelQueue() {
+        String queueName = "dispatch.cancel";
+        log.info("Creating dispatch cancel queue: {}", queueName);
+        return new Queue(queueName, true);
+    }
 
     @Bean
     public Queue deadLetterQueue() {
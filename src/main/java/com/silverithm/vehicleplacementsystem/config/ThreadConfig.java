@@ -1,5 +1,6 @@
 package com.silverithm.vehicleplacementsystem.config;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,4 +27,30 @@ public class ThreadConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 유전 알고리즘 한 건 안에서 세대별 평가·교차·변이를 나눠 돌리는 워커 풀.
+     * geneticAlgorithmExecutor는 요청 단위 병렬화만 하므로, 큰 기관 한 건은 이 풀로 코어를 나눠 쓴다.
+     */
+    @Bean(name = "geneticAlgorithmWorkerPool", destroyMethod = "shutdown")
+    public ForkJoinPool geneticAlgorithmWorkerPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 배차 진행률 SSE 전송 풀. 소켓 쓰기를 GA 스레드 밖에서 하고, 느린 클라이언트 하나가 전송 스레드를 오래 잡아도
+     * 다른 구독자가 밀리지 않게 여러 스레드로 나눠 보낸다. 가득 차면 그 주기 전송은 건너뛰고 다음 주기에 다시 보낸다.
+     */
+    @Bean(name = "sseSenderExecutor")
+    public ThreadPoolTaskExecutor sseSenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("SSE-");
+        executor.initialize();
+        return executor;
+    }
+}
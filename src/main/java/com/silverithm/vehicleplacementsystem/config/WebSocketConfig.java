@@ -1,6 +1,7 @@
 package com.silverithm.vehicleplacementsystem.config;
 
-import com.silverithm.vehicleplacementsystem.jwt.JwtTokenProvider;
+import com.silverithm.vehicleplacementsystem.jwt.TokenHash;
+import com.silverithm.vehicleplacementsystem.jwt.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -23,7 +24,7 @@ import com.silverithm.vehicleplacementsystem.util.PrivacyMask;
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -65,8 +66,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     if (token != null && token.startsWith("Bearer ")) {
                         try {
                             String jwt = token.substring(7);
-                            if (jwtTokenProvider.validateToken(jwt)) {
-                                var auth = jwtTokenProvider.getAuthentication(jwt);
+                            var auth = verifiedTokenCache.authenticate(jwt, TokenHash.of(jwt));
+                            if (auth != null) {
                                 accessor.setUser(auth);
                                 log.info("[WebSocket] 인증 성공: user={}", PrivacyMask.email(auth.getName()));
                             }
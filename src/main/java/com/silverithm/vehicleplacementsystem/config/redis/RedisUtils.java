@@ -64,7 +64,9 @@ public class RedisUtils {
     }
 
     public void decrementDailyRequestCount(String key) {
-        if (integerRedisTemplate.opsForValue().get(key) > 0) {
+        // 구독 사용자는 카운트를 올리지 않으므로 키가 없을 수 있다
+        Integer count = integerRedisTemplate.opsForValue().get(key);
+        if (count != null && count > 0) {
             Long currentCount = integerRedisTemplate.opsForValue().decrement(key, 1);
             log.info(key + ":Current count: {}", currentCount);
         }
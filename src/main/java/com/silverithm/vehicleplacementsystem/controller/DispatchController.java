@@ -3,17 +3,22 @@ package com.silverithm.vehicleplacementsystem.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.DispatchHistoryDTO;
 import com.silverithm.vehicleplacementsystem.dto.DispatchHistoryDetailDTO;
+import com.silverithm.vehicleplacementsystem.dto.IncrementalDispatchDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.service.DispatchHistoryService;
+import com.silverithm.vehicleplacementsystem.service.DispatchJobRegistry;
+import com.silverithm.vehicleplacementsystem.service.DispatchMessageCodec;
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressPublisher;
+import com.silverithm.vehicleplacementsystem.service.DispatchScheduler;
 import com.silverithm.vehicleplacementsystem.service.DispatchService;
 import com.silverithm.vehicleplacementsystem.service.DispatchServiceV2;
 import com.silverithm.vehicleplacementsystem.service.DispatchServiceV3;
 import com.silverithm.vehicleplacementsystem.service.DispatchServiceV4;
+import com.silverithm.vehicleplacementsystem.service.DispatchServiceV5;
 import com.silverithm.vehicleplacementsystem.service.SSEService;
 import com.silverithm.vehicleplacementsystem.service.SlackService;
 import java.util.List;
@@ -44,6 +49,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class DispatchController {
 
+    private static final TypeReference<List<AssignmentResponseDTO>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+
     @Autowired
     private DispatchService dispatchService;
 
@@ -57,11 +65,20 @@ public class DispatchController {
     private DispatchServiceV4 dispatchServiceV4;
 
     @Autowired
-    private DispatchServiceV4 dispatchServiceV5;
+    private DispatchServiceV5 dispatchServiceV5;
 
     @Autowired
     private SSEService sseService;
 
+    @Autowired
+    private DispatchProgressPublisher dispatchProgressPublisher;
+
+    @Autowired
+    private DispatchJobRegistry dispatchJobRegistry;
+
+    @Autowired
+    private DispatchScheduler dispatchScheduler;
+
     @Autowired
     private DispatchHistoryService dispatchHistoryService;
 
@@ -76,58 +93,84 @@ public class DispatchController {
     private Queue dispatchQueue;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private DispatchMessageCodec dispatchMessageCodec;
 
 
     @PostMapping("/api/v1/dispatch")
     public ResponseEntity<String> dispatch(@AuthenticationPrincipal UserDetails userDetails,
                                            @RequestBody RequestDispatchDTO requestDispatchDTO) {
         String jobId = UUID.randomUUID().toString();
+        dispatchProgressPublisher.open(jobId, userDetails.getUsername());
         try {
             dispatchService.requestDispatchWithRabbitMQ(requestDispatchDTO, userDetails, jobId);
             return ResponseEntity.accepted()
                     .body(jobId);
         } catch (Exception e) {
             log.info("배차 요청 실패: {}", e.getMessage());
+            dispatchJobRegistry.fail(jobId);
             dispatchService.decrementDailyRequestCount(userDetails.getUsername());
             sseService.notifyError(jobId);
+            dispatchProgressPublisher.fail(jobId);
             slackService.sendApiFailureNotification("차량 배차 요청 실패", userDetails.getUsername(), e.getMessage(),
                     requestDispatchDTO.toString());
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * 큐에 넣은 배차 작업을 취소한다. 뒤늦게 온 결과는 저장하지 않는다. 하루 배차 횟수는 아직 워커로 넘어가지 않은
+     * 작업일 때만 돌려준다.
+     */
+    @DeleteMapping("/api/v1/dispatch/{jobId}")
+    public ResponseEntity<String> cancelDispatch(@AuthenticationPrincipal UserDetails userDetails,
+                                                 @PathVariable String jobId) {
+        dispatchJobRegistry.cancel(jobId, userDetails.getUsername());
+        return ResponseEntity.ok(jobId);
+    }
+
     @RabbitListener(queues = "dispatch-response-queue")
     public void handleDispatchResponse(Message message) {
 
         String username = message.getMessageProperties().getHeaders().get("username").toString();
         String jobId = message.getMessageProperties().getHeaders().get("jobId") != null 
                 ? message.getMessageProperties().getHeaders().get("jobId").toString() : "unknown";
+        // 시드는 워커가 돌려준다는 보장이 없어 큐에 넣을 때 남긴 값을 쓴다
+        Long seed = dispatchJobRegistry.seedOf(jobId);
         
         log.info("Received message from queue 'dispatch-response-queue'. JobId: {}, Username: {}, Message size: {} bytes", 
                 jobId, username, message.getBody().length);
 
+        // 결과든 실패든 응답이 왔으면 워커 슬롯이 비었다 — 대기 중인 다음 작업을 넣는다
+        dispatchScheduler.release(jobId);
+
         try {
-            log.debug("Message headers: {}", message.getMessageProperties().getHeaders());
-            String messageBody = new String(message.getBody());
-            log.debug("Raw message body: {}", messageBody);
-            
-            List<AssignmentResponseDTO> result = objectMapper.readValue(message.getBody(),
-                    new TypeReference<List<AssignmentResponseDTO>>() {
-                    });
-            
+            // 본문을 문자열로 복사하거나 통째로 로그에 남기지 않는다 — 크고, 어르신 주소 같은 개인정보가 들어 있다
+            List<AssignmentResponseDTO> result = dispatchMessageCodec.decode(message, RESPONSE_TYPE);
+
             log.info("Successfully parsed dispatch response message. JobId: {}, Results count: {}", 
                     jobId, result.size());
 
-            dispatchHistoryService.saveDispatchResult(result, username);
+            if (!dispatchJobRegistry.complete(jobId)) {
+                log.info("취소된 배차 작업의 결과라 저장하지 않습니다. JobId: {}", jobId);
+                return;
+            }
+
+            dispatchHistoryService.saveDispatchResult(result, username, seed);
+            dispatchProgressPublisher.complete(jobId, result);
             log.info("Dispatch result saved successfully for JobId: {}, Username: {}", jobId, username);
         } catch (Exception e) {
             log.error("배차 응답 처리 중 오류 발생: JobId={}, Username={}, Error={}", 
                     jobId, username, e.getMessage(), e);
+            // 취소된 작업의 횟수는 취소할 때 정리했다 — 워커로 넘어간 뒤 취소한 작업은 돌려주지 않는다
+            if (!dispatchJobRegistry.fail(jobId) && dispatchJobRegistry.isCancelled(jobId)) {
+                return;
+            }
             dispatchService.decrementDailyRequestCount(username);
             slackService.sendApiFailureNotification("차량 배차 요청 실패", username, e.getMessage(),
-                    new String(message.getBody()));
+                    "JobId=" + jobId + ", Content type=" + message.getMessageProperties().getContentType()
+                            + ", Message size=" + message.getBody().length + " bytes");
             sseService.notifyError(jobId);
+            dispatchProgressPublisher.fail(jobId);
         }
     }
 
@@ -149,6 +192,17 @@ public class DispatchController {
         return dispatchHistoryService.deleteHistory(id, userDetails);
     }
 
+    /**
+     * 저장된 배차 이력에 추가·제외된 인원만 반영해 바로 돌려준다. GA 를 돌리지 않으므로 하루 배차 요청 횟수에 세지 않는다.
+     */
+    @PostMapping("/api/v1/history/{id}/repair")
+    public List<AssignmentResponseDTO> repairHistory(@AuthenticationPrincipal UserDetails userDetails,
+                                                     @PathVariable Long id,
+                                                     @RequestBody IncrementalDispatchDTO incrementalDispatchDTO)
+            throws JsonProcessingException {
+        return dispatchServiceV5.repairAssignments(id, incrementalDispatchDTO, userDetails.getUsername());
+    }
+
     @GetMapping("/api/v1/rabbitmq/status")
     public ResponseEntity<String> checkRabbitMQStatus() {
         try {
@@ -9,6 +9,7 @@ import com.silverithm.vehicleplacementsystem.service.ElderService;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -69,8 +71,22 @@ public class ElderController {
     // ==================== Company 기반 어르신 관리 API ====================
 
     @GetMapping("/api/v1/elders/company/{companyId}")
-    public ResponseEntity<Map<String, Object>> getEldersByCompany(@PathVariable("companyId") Long companyId) {
-        List<ElderlyDTO> elders = elderService.getEldersByCompany(companyId);
+    public ResponseEntity<Map<String, Object>> getEldersByCompany(
+            @PathVariable("companyId") Long companyId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        if (page == null) {
+            List<ElderlyDTO> elders = elderService.getEldersByCompany(companyId);
+            return ResponseEntity.ok(Map.of("elders", elders));
+        }
+        Page<ElderlyDTO> elders = elderService.getEldersByCompany(companyId, page, size);
+        return ResponseEntity.ok(Map.of("elders", elders.getContent(), "totalCount", elders.getTotalElements()));
+    }
+
+    @GetMapping("/api/v1/elders/company/{companyId}/search")
+    public ResponseEntity<Map<String, Object>> searchEldersByName(@PathVariable("companyId") Long companyId,
+                                                                 @RequestParam("name") String name) {
+        List<ElderlyDTO> elders = elderService.searchEldersByName(companyId, name);
         return ResponseEntity.ok(Map.of("elders", elders));
     }
 
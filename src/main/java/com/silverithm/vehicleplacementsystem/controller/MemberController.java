@@ -306,14 +306,17 @@ public class MemberController {
     public ResponseEntity<Map<String, List<MemberDTO>>> getMembers(
             @RequestParam Long companyId,
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String name) {
 
         try {
             log.info("[Member API] 회사별 회원 목록 조회: companyId={}, role={}, status={}", companyId, role, status);
 
             List<MemberDTO> members;
 
-            if (role != null) {
+            if (name != null) {
+                members = memberService.getMembersByCompanyAndName(companyId, name);
+            } else if (role != null) {
                 members = memberService.getMembersByCompanyAndRole(companyId, role);
             } else if (status != null) {
                 members = memberService.getMembersByCompanyAndStatus(companyId, status);
@@ -1,8 +1,11 @@
 package com.silverithm.vehicleplacementsystem.controller;
 
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressPublisher;
 import com.silverithm.vehicleplacementsystem.service.SSEService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -11,12 +14,23 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequiredArgsConstructor
 public class SSEController {
     private final SSEService sseService;
+    private final DispatchProgressPublisher dispatchProgressPublisher;
 
     @GetMapping(value = "/subscribe/{userName}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter subscribe(@PathVariable(name = "userName") String userName) {
         return sseService.subscribe(userName);
     }
 
+    /**
+     * 배차 작업 하나의 진행률·결과 스트림. 끊겼다 다시 붙을 때 브라우저가 보내는 Last-Event-ID 뒤 이벤트부터 이어 보낸다.
+     */
+    @GetMapping(value = "/dispatch/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeDispatch(@AuthenticationPrincipal UserDetails userDetails,
+                                        @PathVariable(name = "jobId") String jobId,
+                                        @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return dispatchProgressPublisher.subscribe(jobId, userDetails.getUsername(), lastEventId);
+    }
+
     @PostMapping("/send-progress/{userName}")
     public void sendProgress(@PathVariable(name = "userName") String userName) {
         sseService.notify(userName, "progress");
@@ -6,5 +6,6 @@ import java.util.List;
 public record DispatchHistoryDetailDTO(
         Long id,
         LocalDateTime createdAt,
-        List<AssignmentResponseDTO> assignments
+        List<AssignmentResponseDTO> assignments,
+        Long seed
 ) {}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.silverithm.vehicleplacementsystem.dto;
+
+import java.util.List;
+
+/**
+ * 저장된 배차 이력을 기준으로 바뀐 인원만 보내는 부분 재배차 요청. 추가·제외 목록은 직원·어르신 id 이고 비워 둘 수 있다.
+ * 부부·고정 배정은 재배차한 결과 전체에 적용할 목록이다.
+ */
+public record IncrementalDispatchDTO(List<Long> addedElderlyIds, List<Long> removedElderlyIds,
+                                     List<Long> addedEmployeeIds, List<Long> removedEmployeeIds,
+                                     List<CoupleRequestDTO> couples, List<FixedAssignmentsDTO> fixedAssignments) {
+
+    public IncrementalDispatchDTO {
+        addedElderlyIds = addedElderlyIds == null ? List.of() : addedElderlyIds;
+        removedElderlyIds = removedElderlyIds == null ? List.of() : removedElderlyIds;
+        addedEmployeeIds = addedEmployeeIds == null ? List.of() : addedEmployeeIds;
+        removedEmployeeIds = removedEmployeeIds == null ? List.of() : removedEmployeeIds;
+        couples = couples == null ? List.of() : couples;
+        fixedAssignments = fixedAssignments == null ? List.of() : fixedAssignments;
+    }
+}
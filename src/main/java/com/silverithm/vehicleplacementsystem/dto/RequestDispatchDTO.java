@@ -7,5 +7,23 @@ import lombok.Setter;
 
 public record RequestDispatchDTO(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples, List<EmployeeDTO> employees,
                                  CompanyDTO company, List<FixedAssignmentsDTO> fixedAssignments,
-                                 DispatchType dispatchType, String userName) {
+                                 DispatchType dispatchType, String userName, Long seed, Boolean warmStart,
+                                 String jobId) {
+
+    /** 시드를 지정하지 않은 요청에 시드를 채운 사본. 같은 시드로 다시 보내면 같은 배차가 재현된다. */
+    public RequestDispatchDTO withSeed(Long seed) {
+        return new RequestDispatchDTO(elderlys, couples, employees, company, fixedAssignments, dispatchType,
+                userName, seed, warmStart, jobId);
+    }
+
+    /** 배차 작업 아이디를 채운 사본. GeneticAlgorithmV5 진행률은 이 아이디의 SSE 스트림으로 나간다. */
+    public RequestDispatchDTO withJobId(String jobId) {
+        return new RequestDispatchDTO(elderlys, couples, employees, company, fixedAssignments, dispatchType,
+                userName, seed, warmStart, jobId);
+    }
+
+    /** true 면 같은 유형의 직전 배차 이력으로 초기 해 일부를 채운다 (DispatchServiceV5) */
+    public boolean useWarmStart() {
+        return Boolean.TRUE.equals(warmStart);
+    }
 }
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.Getter;
@@ -33,6 +34,14 @@ public class ChromosomeV3 implements Serializable {
 
     public ChromosomeV3(List<CoupleRequestDTO> couples, List<EmployeeDTO> employees, List<ElderlyDTO> elderly,
                         Map<Integer, List<Integer>> fixedAssignments) throws Exception {
+        this(couples, employees, elderly, fixedAssignments, new Random());
+    }
+
+    /**
+     * 난수 생성기를 받아 초기 해를 만든다. 시드가 고정된 생성기를 넘기면 같은 염색체가 다시 만들어진다.
+     */
+    public ChromosomeV3(List<CoupleRequestDTO> couples, List<EmployeeDTO> employees, List<ElderlyDTO> elderly,
+                        Map<Integer, List<Integer>> fixedAssignments, RandomGenerator random) throws Exception {
 
         int numEmployees = employees.size();
         int totalElderly = elderly.size();
@@ -43,13 +52,13 @@ public class ChromosomeV3 implements Serializable {
             throw new Exception("[ERROR] 배치 가능 인원을 초과하였습니다.");
         }
 
-        List<Integer> elderlyIndexs = createRandomElderlyIndexs(totalElderly);
+        List<Integer> elderlyIndexs = createRandomElderlyIndexs(totalElderly, random);
         int[] employeesCapacityLeft = initializeEmployeesCapacityLeft(employees);
         genes = initializeChromosomeWithMaximumCapacity(employees);
-        fixCoupleElderlyAtChromosome(elderly, couples, employeesCapacityLeft, elderlyIndexs);
+        fixCoupleElderlyAtChromosome(elderly, couples, employeesCapacityLeft, elderlyIndexs, random);
         fixElderlyAtChromosome(fixedAssignments, employeesCapacityLeft, elderlyIndexs);
         fixInitialChromosome(employees, employeesCapacityLeft, elderlyIndexs);
-        fixRandomElderlyIndexAtChromosome(employeesCapacityLeft, elderlyIndexs);
+        fixRandomElderlyIndexAtChromosome(employeesCapacityLeft, elderlyIndexs, random);
         removeEmptyChromosome();
 
     }
@@ -86,12 +95,11 @@ public class ChromosomeV3 implements Serializable {
     }
 
     public void fixRandomElderlyIndexAtChromosome(int[] employeesCapacityLeft,
-                                                  List<Integer> elderlyIndexs) {
+                                                  List<Integer> elderlyIndexs, RandomGenerator random) {
         int startIndex = 0;
-        Random rand = new Random();
 
         while (startIndex < elderlyIndexs.size()) {
-            int randIndex = rand.nextInt(employeesCapacityLeft.length);
+            int randIndex = random.nextInt(employeesCapacityLeft.length);
             for (int i = 0; i < genes[randIndex].length; i++) {
                 if (genes[randIndex][i] == -1 && employeesCapacityLeft[randIndex] > 0) {
                     genes[randIndex][i] = Integer.valueOf(elderlyIndexs.get(startIndex));
@@ -142,8 +150,7 @@ public class ChromosomeV3 implements Serializable {
 
     private void fixCoupleElderlyAtChromosome(List<ElderlyDTO> elderly, List<CoupleRequestDTO> coupleElderlyList,
                                               int[] employeesCapacityLeft,
-                                              List<Integer> elderlyIndexs) {
-        Random rand = new Random();
+                                              List<Integer> elderlyIndexs, RandomGenerator random) {
         Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
         for (int i = 0; i < elderly.size(); i++) {
             elderlyIdToIndex.put(elderly.get(i).id(), i);
@@ -157,7 +164,7 @@ public class ChromosomeV3 implements Serializable {
                     .filter(i -> employeesCapacityLeft[i] >= 2)
                     .collect(Collectors.toList());
 
-            Collections.shuffle(employees, new Random());
+            shuffle(employees, random);
 
             for (int employee : employees) {
                 int[] employeeChromosome = genes[employee];
@@ -172,7 +179,7 @@ public class ChromosomeV3 implements Serializable {
                 // 자리가 있는지 확인
                 if (!availablePositions.isEmpty()) {
                     // 가능한 위치 중 무작위 선택
-                    int positionIndex = rand.nextInt(availablePositions.size());
+                    int positionIndex = random.nextInt(availablePositions.size());
                     int position = availablePositions.get(positionIndex);
 
                     int elderIdx1 = elderlyIdToIndex.get(couple.elderId1());
@@ -211,15 +218,22 @@ public class ChromosomeV3 implements Serializable {
         return initializeChromosome;
     }
 
-    public List<Integer> createRandomElderlyIndexs(int totalElderly) {
+    public List<Integer> createRandomElderlyIndexs(int totalElderly, RandomGenerator random) {
         List<Integer> elderlyIndexs = new ArrayList<>();
         for (int i = 0; i < totalElderly; i++) {
             elderlyIndexs.add(i);
         }
-        Collections.shuffle(elderlyIndexs);
+        shuffle(elderlyIndexs, random);
         return elderlyIndexs;
     }
 
+    // Collections.shuffle은 java.util.Random만 받으므로 SplittableRandom 등도 쓸 수 있게 직접 섞는다
+    private static void shuffle(List<Integer> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
+        }
+    }
+
     public static ChromosomeV3 copy(ChromosomeV3 original) {
         ChromosomeV3 copy = new ChromosomeV3();
 
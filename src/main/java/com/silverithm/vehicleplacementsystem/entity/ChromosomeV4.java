@@ -0,0 +1,148 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * GeneticAlgorithmV5 전용 염색체. 차량별 배정을 int[][] 대신 평평한 int[] 하나와 차량별 시작 위치로 담는다.
+ *
+ * 차량 v 의 배정은 genes[offsets[v]] .. genes[offsets[v + 1] - 1] 이다. 배열 크기는 어르신 수·차량 수로 정해져 있으므로
+ * 세대가 바뀌어도 새로 만들지 않고 {@link #copyFrom(ChromosomeV4)} 로 내용만 덮어쓴다.
+ *
+ * hash 는 (위치, 어르신) 항과 (차량, 시작 위치) 항을 XOR 한 64비트 값이다. 유전자를 {@link #setGene} 으로 바꾸면
+ * 바뀐 위치의 항만 빼고 더해 전체를 다시 읽지 않고 갱신된다. 같은 배치면 같은 hash 이므로 중복 제거에 쓴다.
+ */
+@Getter
+public class ChromosomeV4 {
+
+    private final int[] genes;
+    private final int[] offsets;
+    private final double[] departureTimes;
+    @Setter
+    private double fitness;
+    private long hash;
+
+    public ChromosomeV4(int elderlyCount, int vehicleCount) {
+        this.genes = new int[elderlyCount];
+        this.offsets = new int[vehicleCount + 1];
+        this.departureTimes = new double[vehicleCount];
+    }
+
+    public int vehicleCount() {
+        return departureTimes.length;
+    }
+
+    public int vehicleStart(int vehicle) {
+        return offsets[vehicle];
+    }
+
+    public int vehicleEnd(int vehicle) {
+        return offsets[vehicle + 1];
+    }
+
+    public int vehicleSize(int vehicle) {
+        return offsets[vehicle + 1] - offsets[vehicle];
+    }
+
+    public int gene(int vehicle, int position) {
+        return genes[offsets[vehicle] + position];
+    }
+
+    /** 평평한 배열의 position 위치 유전자를 바꾸고 hash 를 그 자리만큼 갱신한다. */
+    public void setGene(int position, int elderly) {
+        hash ^= geneTerm(position, genes[position]) ^ geneTerm(position, elderly);
+        genes[position] = elderly;
+    }
+
+    /** hash 가 같을 때 실제 배치까지 같은지 확인한다. */
+    public boolean sameLayout(ChromosomeV4 other) {
+        int end = offsets[offsets.length - 1];
+        return hash == other.hash
+                && Arrays.equals(offsets, other.offsets)
+                && Arrays.equals(genes, 0, end, other.genes, 0, end);
+    }
+
+    public void copyFrom(ChromosomeV4 source) {
+        System.arraycopy(source.genes, 0, genes, 0, genes.length);
+        System.arraycopy(source.offsets, 0, offsets, 0, offsets.length);
+        System.arraycopy(source.departureTimes, 0, departureTimes, 0, departureTimes.length);
+        fitness = source.fitness;
+        hash = source.hash;
+    }
+
+    /** 차량별 배열로 만든 초기 해({@link ChromosomeV3})를 평평한 배열로 옮긴다. */
+    public void copyFrom(ChromosomeV3 source) {
+        int[][] vehicleGenes = source.getGenes();
+        int position = 0;
+
+        for (int vehicle = 0; vehicle < vehicleGenes.length; vehicle++) {
+            offsets[vehicle] = position;
+            if (position + vehicleGenes[vehicle].length > genes.length) {
+                throw new IllegalStateException("배정된 어르신 수가 전체 어르신 수를 넘습니다.");
+            }
+            System.arraycopy(vehicleGenes[vehicle], 0, genes, position, vehicleGenes[vehicle].length);
+            position += vehicleGenes[vehicle].length;
+        }
+
+        offsets[vehicleGenes.length] = position;
+        Arrays.fill(departureTimes, 0.0);
+        fitness = source.getFitness();
+        rehash();
+    }
+
+    /** 차량 v 의 경로 routes[v][0 .. lengths[v] - 1] 을 평평한 배열로 옮긴다. 적합도는 호출한 쪽에서 다시 계산한다. */
+    public void copyFrom(int[][] routes, int[] lengths) {
+        int position = 0;
+
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            offsets[vehicle] = position;
+            System.arraycopy(routes[vehicle], 0, genes, position, lengths[vehicle]);
+            position += lengths[vehicle];
+        }
+
+        offsets[routes.length] = position;
+        Arrays.fill(departureTimes, 0.0);
+        fitness = 0.0;
+        rehash();
+    }
+
+    /** 배치 전체로 hash 를 처음부터 계산한다. */
+    public void rehash() {
+        long value = 0L;
+        for (int vehicle = 0; vehicle < offsets.length; vehicle++) {
+            value ^= offsetTerm(vehicle, offsets[vehicle]);
+        }
+        for (int position = 0; position < offsets[offsets.length - 1]; position++) {
+            value ^= geneTerm(position, genes[position]);
+        }
+        hash = value;
+    }
+
+    private static long geneTerm(int position, int elderly) {
+        return mix(((long) position << 32) | (elderly & 0xffffffffL));
+    }
+
+    private static long offsetTerm(int vehicle, int offset) {
+        return mix(~(((long) vehicle << 32) | (offset & 0xffffffffL)));
+    }
+
+    // SplitMix64 마무리 함수 — 비슷한 입력도 고르게 흩어 놓는다
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** 로그용 차량별 배정 */
+    public String toVehicleString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int vehicle = 0; vehicle < vehicleCount(); vehicle++) {
+            if (vehicle > 0) {
+                builder.append(", ");
+            }
+            builder.append(Arrays.toString(Arrays.copyOfRange(genes, vehicleStart(vehicle), vehicleEnd(vehicle))));
+        }
+        return builder.append(']').toString();
+    }
+}
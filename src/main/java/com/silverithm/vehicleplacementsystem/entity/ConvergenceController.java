@@ -0,0 +1,64 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import lombok.Getter;
+
+/**
+ * 세대마다 최고 적합도를 받아 {@link ConvergencePolicy}와 최대 세대 수에 따라 멈출지 판단한다.
+ *
+ * 한 번의 유전 알고리즘 실행에만 쓰고 버린다.
+ */
+public class ConvergenceController {
+
+    private final ConvergencePolicy policy;
+    private final int maxIterations;
+    private final long startedAt;
+
+    @Getter
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+    private int lastImprovedGeneration = 0;
+
+    public ConvergenceController(ConvergencePolicy policy, int maxIterations) {
+        this(policy, maxIterations, System.nanoTime());
+    }
+
+    ConvergenceController(ConvergencePolicy policy, int maxIterations, long startedAt) {
+        this.policy = policy;
+        this.maxIterations = maxIterations;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * @param generation        방금 평가를 마친 세대 (0부터)
+     * @param generationFitness 그 세대의 최고 적합도
+     * @return 멈춰야 하면 사유, 계속 진행하면 null
+     */
+    public StopReason check(int generation, double generationFitness) {
+        return check(generation, generationFitness, System.nanoTime());
+    }
+
+    StopReason check(int generation, double generationFitness, long now) {
+        if (generationFitness > bestFitness) {
+            bestFitness = generationFitness;
+            lastImprovedGeneration = generation;
+        }
+
+        if (policy.targetFitness() > 0 && bestFitness >= policy.targetFitness()) {
+            return StopReason.TARGET_FITNESS;
+        }
+
+        if (policy.stagnationGenerations() > 0
+                && generation - lastImprovedGeneration >= policy.stagnationGenerations()) {
+            return StopReason.STAGNATION;
+        }
+
+        if (policy.timeBudgetMillis() > 0 && (now - startedAt) / 1_000_000 >= policy.timeBudgetMillis()) {
+            return StopReason.TIME_BUDGET;
+        }
+
+        if (generation + 1 >= maxIterations) {
+            return StopReason.MAX_ITERATIONS;
+        }
+
+        return null;
+    }
+}
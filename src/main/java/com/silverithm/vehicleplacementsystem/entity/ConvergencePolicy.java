@@ -0,0 +1,16 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 유전 알고리즘 조기 종료 규칙. 회사별 배차 설정의 "convergence" 항목에서 읽는다.
+ *
+ * @param stagnationGenerations 최고 적합도가 이 세대 수 동안 나아지지 않으면 멈춘다 (0이면 끔)
+ * @param targetFitness         최고 적합도가 이 값 이상이면 멈춘다 (0 이하면 끔)
+ * @param timeBudgetMillis      세대 반복이 이 시간을 넘기면 멈춘다 (0 이하면 끔)
+ */
+public record ConvergencePolicy(int stagnationGenerations, double targetFitness, long timeBudgetMillis) {
+
+    /** 설정이 없는 회사의 기본값 — 대부분의 일일 배차는 50세대 안에 수렴이 끝난다. */
+    public static final int DEFAULT_STAGNATION_GENERATIONS = 50;
+
+    public static final ConvergencePolicy DEFAULT = new ConvergencePolicy(DEFAULT_STAGNATION_GENERATIONS, 0, 0);
+}
@@ -0,0 +1,201 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배차 제약조건(부부 동승, 앞좌석, 고정 배정)을 GA 실행마다 한 번 어르신·차량 순번 기준 배열로 펼쳐 둔 것.
+ *
+ * 염색체 하나를 검사할 때 id → 순번 변환이나 Map·List 조회 없이 배열만 읽으므로 할당이 없고, 유전자 수에 비례한 시간이 든다.
+ * 부부는 먼저 적힌 어르신 순번에 상대 순번을 매단 CSR 배열(partnerStart/partners), 앞좌석은 비트셋, 고정 배정은 차량별 구간을
+ * 이어 붙인 배열로 담는다.
+ */
+public class DispatchConstraints {
+
+    private static final int FREE = -1;
+
+    private final int elderlyCount;
+    private final int[] partnerStart;
+    private final int[] partners;
+    private final int coupleCount;
+    private final long[] frontSeats;
+    private final long[] pinned;
+    private final int[] fixedStart;
+    private final int[] fixedElderly;
+
+    public DispatchConstraints(List<ElderlyDTO> elderlys, int vehicleCount, List<CoupleRequestDTO> couples,
+                               FixedAssignmentsV2 fixedAssignments) {
+        this.elderlyCount = elderlys.size();
+
+        Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
+        frontSeats = new long[(elderlyCount + 63) >>> 6];
+        for (int i = 0; i < elderlyCount; i++) {
+            elderlyIdToIndex.put(elderlys.get(i).id(), i);
+            if (elderlys.get(i).requiredFrontSeat()) {
+                frontSeats[i >>> 6] |= 1L << i;
+            }
+        }
+
+        // 순번으로 바꿀 수 없는 부부는 검사하지 않는다
+        List<int[]> resolvedCouples = new ArrayList<>();
+        for (CoupleRequestDTO couple : couples) {
+            Integer elderly1Index = elderlyIdToIndex.get(couple.elderId1());
+            Integer elderly2Index = elderlyIdToIndex.get(couple.elderId2());
+            if (elderly1Index != null && elderly2Index != null) {
+                resolvedCouples.add(new int[]{elderly1Index, elderly2Index});
+            }
+        }
+        coupleCount = resolvedCouples.size();
+        pinned = new long[frontSeats.length];
+        for (int[] couple : resolvedCouples) {
+            pin(couple[0]);
+            pin(couple[1]);
+        }
+        partnerStart = new int[elderlyCount + 1];
+        partners = new int[coupleCount];
+        for (int[] couple : resolvedCouples) {
+            partnerStart[couple[0] + 1]++;
+        }
+        for (int i = 0; i < elderlyCount; i++) {
+            partnerStart[i + 1] += partnerStart[i];
+        }
+        int[] cursor = Arrays.copyOf(partnerStart, elderlyCount);
+        for (int[] couple : resolvedCouples) {
+            partners[cursor[couple[0]]++] = couple[1];
+        }
+
+        fixedStart = new int[vehicleCount + 1];
+        Map<Integer, List<Integer>> fixed = fixedAssignments.getFixedAssignments();
+        for (int vehicle = 0; vehicle < vehicleCount; vehicle++) {
+            List<Integer> assignment = fixed.get(vehicle);
+            fixedStart[vehicle + 1] = fixedStart[vehicle] + (assignment == null ? 0 : assignment.size());
+        }
+        fixedElderly = new int[fixedStart[vehicleCount]];
+        for (int vehicle = 0; vehicle < vehicleCount; vehicle++) {
+            List<Integer> assignment = fixed.get(vehicle);
+            for (int i = 0; assignment != null && i < assignment.size(); i++) {
+                fixedElderly[fixedStart[vehicle] + i] = assignment.get(i);
+                if (isElderly(assignment.get(i))) {
+                    pin(assignment.get(i));
+                }
+            }
+        }
+    }
+
+    private void pin(int elderly) {
+        pinned[elderly >>> 6] |= 1L << elderly;
+    }
+
+    public boolean isSatisfied(ChromosomeV4 chromosome) {
+        return evaluateFrontSeatAssignments(chromosome)
+                && evaluateFixedAssignments(chromosome)
+                && evaluateCoupleAssignments(chromosome);
+    }
+
+    public boolean requiresFrontSeat(int elderly) {
+        return (frontSeats[elderly >>> 6] & (1L << elderly)) != 0;
+    }
+
+    /** 부부 요청이나 고정 배정에 묶인 어르신 — 혼자 다른 차량으로 옮기면 조건이 깨진다 */
+    public boolean isPinned(int elderly) {
+        return (pinned[elderly >>> 6] & (1L << elderly)) != 0;
+    }
+
+    /**
+     * genes[start] .. genes[end - 1] 을 vehicle 차량 경로로 볼 때 앞좌석·고정 배정 조건을 지키는지. 부부 조건과 고정 배정된
+     * 어르신이 차량을 떠나는 경우는 경로 하나로 판단할 수 없으므로 {@link #isPinned} 로 따로 막는다.
+     */
+    public boolean isRouteValid(int vehicle, int[] genes, int start, int end) {
+        return isFrontSeatValid(genes, start, end) && isFixedAssignmentValid(vehicle, genes, start, end);
+    }
+
+    /** 차량마다 앞좌석이 필요한 어르신은 한 명까지 */
+    public boolean evaluateFrontSeatAssignments(ChromosomeV4 chromosome) {
+        for (int vehicle = 0; vehicle < chromosome.vehicleCount(); vehicle++) {
+            if (!isFrontSeatValid(chromosome.getGenes(), chromosome.vehicleStart(vehicle),
+                    chromosome.vehicleEnd(vehicle))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFrontSeatValid(int[] genes, int start, int end) {
+        boolean frontSeatAssigned = false;
+        for (int p = start; p < end; p++) {
+            if (isElderly(genes[p]) && requiresFrontSeat(genes[p])) {
+                if (frontSeatAssigned) {
+                    return false;
+                }
+                frontSeatAssigned = true;
+            }
+        }
+        return true;
+    }
+
+    /** 고정 배정된 자리(-1 이 아닌 칸)에는 그 어르신이 있어야 한다 */
+    public boolean evaluateFixedAssignments(ChromosomeV4 chromosome) {
+        for (int vehicle = 0; vehicle < chromosome.vehicleCount(); vehicle++) {
+            if (!isFixedAssignmentValid(vehicle, chromosome.getGenes(), chromosome.vehicleStart(vehicle),
+                    chromosome.vehicleEnd(vehicle))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFixedAssignmentValid(int vehicle, int[] genes, int start, int end) {
+        int length = Math.min(end - start, fixedStart[vehicle + 1] - fixedStart[vehicle]);
+        for (int i = 0; i < length; i++) {
+            int fixedElderlyIndex = fixedElderly[fixedStart[vehicle] + i];
+            if (fixedElderlyIndex != FREE && genes[start + i] != fixedElderlyIndex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 모든 부부가 같은 차량에 배정되어야 한다 */
+    public boolean evaluateCoupleAssignments(ChromosomeV4 chromosome) {
+        if (coupleCount == 0) {
+            return true;
+        }
+
+        int[] genes = chromosome.getGenes();
+        int satisfied = 0;
+        for (int vehicle = 0; vehicle < chromosome.vehicleCount(); vehicle++) {
+            int start = chromosome.vehicleStart(vehicle);
+            int end = chromosome.vehicleEnd(vehicle);
+            for (int p = start; p < end; p++) {
+                if (!isElderly(genes[p])) {
+                    continue;
+                }
+                for (int k = partnerStart[genes[p]]; k < partnerStart[genes[p] + 1]; k++) {
+                    if (containsBetween(genes, start, end, partners[k])) {
+                        satisfied++;
+                    }
+                }
+            }
+        }
+        // 배정되지 않은 부부가 있으면 만족한 수가 모자란다
+        return satisfied == coupleCount;
+    }
+
+    private boolean isElderly(int gene) {
+        return gene >= 0 && gene < elderlyCount;
+    }
+
+    private static boolean containsBetween(int[] genes, int from, int to, int elderly) {
+        for (int p = from; p < to; p++) {
+            if (genes[p] == elderly) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
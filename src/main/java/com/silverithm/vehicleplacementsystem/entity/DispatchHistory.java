@@ -29,8 +29,11 @@ public class DispatchHistory {
     private DispatchType dispatchType;
     private int totalTime;
 
+    private Long seed; // 유전 알고리즘 시드 — 같은 입력으로 다시 요청하면 같은 결과가 재현된다
+
     public static DispatchHistory of(LocalDateTime createdAt, String dispatchResult, int totalEmployees,
-                                     int totalElders, DispatchType dispatchType, int totalTime, String username) {
+                                     int totalElders, DispatchType dispatchType, int totalTime, String username,
+                                     Long seed) {
         DispatchHistory dispatchHistory = new DispatchHistory();
         dispatchHistory.createdAt = createdAt;
         dispatchHistory.dispatchResult = dispatchResult;
@@ -39,6 +42,7 @@ public class DispatchHistory {
         dispatchHistory.dispatchType = dispatchType;
         dispatchHistory.totalTime = totalTime;
         dispatchHistory.username = username;
+        dispatchHistory.seed = seed;
         return dispatchHistory;
     }
 }
\ No newline at end of file
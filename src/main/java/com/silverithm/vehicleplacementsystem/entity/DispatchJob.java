@@ -0,0 +1,56 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
+
+/**
+ * 큐에 넣은 배차 요청 하나. 상태는 QUEUED 에서 한 번만 바뀐다 — 결과·실패·취소 중 먼저 온 쪽이 이기므로, 취소된 작업의
+ * 결과가 뒤늦게 와도 저장하지 않고, 실패가 와도 하루 배차 횟수를 따로 돌려주지 않는다.
+ */
+public class DispatchJob {
+
+    public enum Status {
+        QUEUED, COMPLETED, FAILED, CANCELLED
+    }
+
+    @Getter
+    private final String jobId;
+    @Getter
+    private final String userName;
+    // 출근·퇴근 배차는 따로 돌므로 새 요청이 대신하는 범위도 유형별이다
+    @Getter
+    private final DispatchType dispatchType;
+    @Getter
+    private final long createdAt;
+    // 큐에 넣을 때 정한 GA 시드. 결과를 배차 이력에 남길 때 함께 저장한다.
+    @Getter
+    private final Long seed;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    @Getter
+    private volatile long finishedAt;
+
+    public DispatchJob(String jobId, String userName, DispatchType dispatchType, long createdAt, Long seed) {
+        this.jobId = jobId;
+        this.userName = userName;
+        this.dispatchType = dispatchType;
+        this.createdAt = createdAt;
+        this.seed = seed;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public boolean isCancelled() {
+        return status.get() == Status.CANCELLED;
+    }
+
+    /** QUEUED 일 때만 next 로 바꾸고 true. 이미 끝난 작업이면 false. */
+    public boolean finish(Status next) {
+        if (!status.compareAndSet(Status.QUEUED, next)) {
+            return false;
+        }
+        finishedAt = System.currentTimeMillis();
+        return true;
+    }
+}
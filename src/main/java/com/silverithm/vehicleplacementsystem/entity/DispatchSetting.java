@@ -33,7 +33,7 @@ public class DispatchSetting extends BaseEntity {
     @Column(name = "company_id", nullable = false, unique = true)
     private Long companyId;
 
-    /** { "routes": [...], "seniors": [...] } */
+    /** { "routes": [...], "seniors": [...], "convergence": {...} } — convergence는 선택, 유전 알고리즘 조기 종료 규칙 */
     @Column(name = "settings_json", nullable = false, columnDefinition = "LONGTEXT")
     private String settingsJson;
 }
@@ -0,0 +1,51 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import lombok.Getter;
+
+/**
+ * 배차 노드 간 거리(또는 소요시간) 행렬.
+ *
+ * 노드를 순번으로 매겨 1차원 int 배열 하나에 담는다. 유전 알고리즘이 세대마다 수만 번 간선을 읽으므로
+ * "Elderly_" + id 같은 문자열 키를 만들고 해시를 찾는 비용 없이 배열 인덱스로 바로 읽는다.
+ *
+ * 순번 배치: 0 = Company, 1..E = 직원(요청 목록 순서), E+1..E+N = 어르신(요청 목록 순서)
+ */
+@Getter
+public class DistanceMatrix {
+
+    public static final int COMPANY = 0;
+
+    private final int employeeCount;
+    private final int elderlyCount;
+    private final int size;
+    private final int[] values;
+
+    public DistanceMatrix(int employeeCount, int elderlyCount) {
+        this.employeeCount = employeeCount;
+        this.elderlyCount = elderlyCount;
+        this.size = 1 + employeeCount + elderlyCount;
+        this.values = new int[size * size];
+    }
+
+    public int employeeNode(int employeeIndex) {
+        return 1 + employeeIndex;
+    }
+
+    public int elderlyNode(int elderlyIndex) {
+        return 1 + employeeCount + elderlyIndex;
+    }
+
+    public int get(int from, int to) {
+        return values[from * size + to];
+    }
+
+    public void set(int from, int to, int value) {
+        values[from * size + to] = value;
+    }
+
+    /** 양방향 간선을 같은 값으로 채운다 — 기존 Map 행렬과 같은 대칭 규칙. */
+    public void setSymmetric(int from, int to, int value) {
+        values[from * size + to] = value;
+        values[to * size + from] = value;
+    }
+}
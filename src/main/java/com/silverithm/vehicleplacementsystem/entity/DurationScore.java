@@ -28,17 +28,42 @@ public enum DurationScore {
     private final int maxDuration;
     private final double score;
 
+    // 구간 경계가 모두 BUCKET_SIZE 의 배수이므로 ceil(값 / BUCKET_SIZE) 칸 하나가 한 구간 안에 들어간다
+    private static final int BUCKET_SIZE = 100;
+    private static final double[] SCORE_BY_BUCKET = buildScoreTable();
+
     DurationScore(int maxDistance, double score) {
         this.maxDuration = maxDistance;
         this.score = score;
     }
 
+    /**
+     * 값이 속한 구간 점수. values() 를 훑는 대신 클래스 로딩 때 한 번 만든 표를 읽는다.
+     */
     public static double getScore(double distance) {
-        for (DurationScore ds : DurationScore.values()) {
-            if (distance <= ds.maxDuration) {
-                return ds.score;
+        if (distance <= ZERO.maxDuration) {
+            return ZERO.score;
+        }
+        double bucket = Math.ceil(distance / BUCKET_SIZE);
+        if (bucket < SCORE_BY_BUCKET.length) {
+            return SCORE_BY_BUCKET[(int) bucket];
+        }
+        return OUT_OF_RANGE.score;
+    }
+
+    private static double[] buildScoreTable() {
+        DurationScore[] bands = values();
+        int lastBoundary = bands[bands.length - 2].maxDuration;
+        double[] table = new double[lastBoundary / BUCKET_SIZE + 1];
+
+        for (int bucket = 0; bucket < table.length; bucket++) {
+            for (DurationScore band : bands) {
+                if (bucket * BUCKET_SIZE <= band.maxDuration) {
+                    table[bucket] = band.score;
+                    break;
+                }
             }
         }
-        return 0; // Fallback if no range matches
+        return table;
     }
-}
\ No newline at end of file
+}
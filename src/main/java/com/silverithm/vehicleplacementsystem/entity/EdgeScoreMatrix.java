@@ -0,0 +1,28 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * {@link DistanceMatrix} 의 모든 간선을 배차 유형별 구간 점수({@link DurationScore}, {@link DistanceScore})로 미리 바꿔 둔
+ * 행렬. 같은 노드 순번·같은 배열 배치를 쓰므로 적합도 계산에서 간선 점수는 배열 한 번 읽기다.
+ *
+ * GA 실행마다 거리 행렬이 정해진 뒤 한 번 만든다.
+ */
+public class EdgeScoreMatrix {
+
+    private final int size;
+    private final double[] scores;
+
+    public EdgeScoreMatrix(DistanceMatrix distanceMatrix, DispatchType dispatchType) {
+        this.size = distanceMatrix.getSize();
+        this.scores = new double[size * size];
+
+        int[] values = distanceMatrix.getValues();
+        boolean byDuration = dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT;
+        for (int i = 0; i < values.length; i++) {
+            scores[i] = byDuration ? DurationScore.getScore(values[i]) : DistanceScore.getScore(values[i]);
+        }
+    }
+
+    public double get(int from, int to) {
+        return scores[from * size + to];
+    }
+}
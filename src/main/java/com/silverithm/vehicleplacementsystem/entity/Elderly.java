@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -20,7 +21,8 @@ import org.springframework.data.annotation.LastModifiedDate;
 @Entity
 @Getter
 @NoArgsConstructor
-public class Elderly extends Node {
+@EntityListeners(PiiNameIndexListener.class)
+public class Elderly extends Node implements NameIndexed {
 
 
     /** 암호화 저장(AES-GCM). 컬럼 길이는 암호문 기준 — 평문 50자(UTF-8 150B)가 base64로 약 243자 */
@@ -28,6 +30,16 @@ public class Elderly extends Node {
     @Column(length = 512)
     private String name;
 
+    /** 이름 블라인드 인덱스 ({@link PiiBlindIndex}) — {@link PiiNameIndexListener} 가 채운다 */
+    @Column(name = "name_bidx", length = 32)
+    private String nameBidx;
+
+    @Column(name = "name_prefix_bidx", length = 32)
+    private String namePrefixBidx;
+
+    @Column(name = "name_sort_key", length = 2)
+    private String nameSortKey;
+
     /** 암호화 저장. 평문 200자(600B) → 암호문 약 841자 */
     @Convert(converter = EncryptedPiiConverter.class)
     @Column(length = 1024)
@@ -45,6 +57,13 @@ public class Elderly extends Node {
     @JoinColumn(name = "company_id")
     private Company company;
 
+
+    @Override
+    public void indexName(String nameBidx, String namePrefixBidx, String nameSortKey) {
+        this.nameBidx = nameBidx;
+        this.namePrefixBidx = namePrefixBidx;
+        this.nameSortKey = nameSortKey;
+    }
     public Elderly(String name, String homeAddressName, Location homeAddress, boolean requiredFrontSeat, AppUser user) {
         this.name = name;
         this.homeAddressName = homeAddressName;
@@ -9,6 +9,7 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -28,7 +29,8 @@ import org.xml.sax.helpers.LocatorImpl;
 @Getter
 @Setter
 @NoArgsConstructor
-public class Employee extends Node {
+@EntityListeners(PiiNameIndexListener.class)
+public class Employee extends Node implements NameIndexed {
 
 
     /** 암호화 저장(AES-GCM). 평문 200자 → 암호문 약 841자 */
@@ -41,6 +43,16 @@ public class Employee extends Node {
     @Column(length = 512)
     private String name;
 
+    /** 이름 블라인드 인덱스 ({@link PiiBlindIndex}) — {@link PiiNameIndexListener} 가 채운다 */
+    @Column(name = "name_bidx", length = 32)
+    private String nameBidx;
+
+    @Column(name = "name_prefix_bidx", length = 32)
+    private String namePrefixBidx;
+
+    @Column(name = "name_sort_key", length = 2)
+    private String nameSortKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     private Company company;
@@ -59,6 +71,13 @@ public class Employee extends Node {
     @JoinColumn(name = "user_id")
     private AppUser user;
 
+
+    @Override
+    public void indexName(String nameBidx, String namePrefixBidx, String nameSortKey) {
+        this.nameBidx = nameBidx;
+        this.namePrefixBidx = namePrefixBidx;
+        this.nameSortKey = nameSortKey;
+    }
     public Employee(String homeAddressName, String name, Company company, Location homeAddress, int maximumCapacity,
                     Boolean isDriver, AppUser user) {
 
@@ -15,7 +15,10 @@ import org.springframework.stereotype.Component;
  * 그 행들은 {@link com.silverithm.vehicleplacementsystem.service.ElderPiiBackfillRunner}가
  * 기동 직후 암호문으로 바꿔 놓는다.
  *
- * <p>주의: 이 컬럼은 더 이상 DB에서 정렬·검색할 수 없다. 정렬은 조회 후 앱에서 한다.
+ * <p>읽기는 자주 같은 행을 다시 읽으므로 복호화 결과를 {@link PiiDecryptCache} 에 담아 둔다.
+ *
+ * <p>주의: 이 컬럼은 더 이상 DB에서 정렬·검색할 수 없다. 이름은 옆에 둔 블라인드 인덱스
+ * ({@link PiiBlindIndex})로 찾고, 첫 글자 단위로만 DB 에서 정렬한다. 나머지 정렬은 조회 후 앱에서 한다.
  */
 @Converter
 @Component
@@ -27,6 +30,7 @@ public class EncryptedPiiConverter implements AttributeConverter<String, String>
     /** GCM 암복호 프리미티브 재사용 — 키만 개인정보 전용({@code piiSecretKey})을 쓴다 */
     private final BillingKeyEncryptionConfig cryptoConfig;
     private final SecretKey piiSecretKey;
+    private final PiiDecryptCache decryptCache;
 
     @Override
     public String convertToDatabaseColumn(String attribute) {
@@ -44,6 +48,6 @@ public class EncryptedPiiConverter implements AttributeConverter<String, String>
         if (!dbData.startsWith(ENC_PREFIX)) {
             return dbData; // 아직 암호화되지 않은 기존 행
         }
-        return cryptoConfig.decrypt(dbData, piiSecretKey);
+        return decryptCache.get(dbData, cipherText -> cryptoConfig.decrypt(cipherText, piiSecretKey));
     }
 }
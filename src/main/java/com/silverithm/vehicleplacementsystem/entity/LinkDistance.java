@@ -10,11 +10,16 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
+@Table(name = "link_distance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_link_distance_start_destination",
+                columnNames = {"start_node_id", "destination_node_id"}))
 @NoArgsConstructor
 @Getter
 public class LinkDistance {
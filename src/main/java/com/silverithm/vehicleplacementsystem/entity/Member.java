@@ -18,7 +18,8 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Member {
+@EntityListeners(PiiNameIndexListener.class)
+public class Member implements NameIndexed {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +35,16 @@ public class Member {
     @Convert(converter = EncryptedPiiConverter.class)
     @Column(nullable = false, length = 512)
     private String name;
+
+    /** 이름 블라인드 인덱스 ({@link PiiBlindIndex}) — {@link PiiNameIndexListener} 가 채운다 */
+    @Column(name = "name_bidx", length = 32)
+    private String nameBidx;
+
+    @Column(name = "name_prefix_bidx", length = 32)
+    private String namePrefixBidx;
+
+    @Column(name = "name_sort_key", length = 2)
+    private String nameSortKey;
     
     @Column(nullable = false)
     private String email;
@@ -124,6 +135,13 @@ public class Member {
         this.profileImageUrl = profileImageUrl;
     }
 
+
+    @Override
+    public void indexName(String nameBidx, String namePrefixBidx, String nameSortKey) {
+        this.nameBidx = nameBidx;
+        this.namePrefixBidx = namePrefixBidx;
+        this.nameSortKey = nameSortKey;
+    }
     public enum Role {
         ADMIN,      // 관리자
         CAREGIVER,  // 요양보호사
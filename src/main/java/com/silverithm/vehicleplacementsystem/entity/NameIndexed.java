@@ -0,0 +1,12 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 암호화된 이름 옆에 블라인드 인덱스 컬럼(name_bidx·name_prefix_bidx·name_sort_key)을 둔 엔티티.
+ * 인덱스는 {@link PiiNameIndexListener} 가 저장 직전에 채운다.
+ */
+public interface NameIndexed {
+
+    String getName();
+
+    void indexName(String nameBidx, String namePrefixBidx, String nameSortKey);
+}
@@ -0,0 +1,118 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.StringJoiner;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * 암호화된 이름 컬럼을 DB 에서 찾고 정렬하기 위한 블라인드 인덱스.
+ *
+ * <p>이름은 {@link EncryptedPiiConverter} 가 매번 다른 IV 로 암호화하므로 같은 이름도 암호문이 다르다. 그래서 정규화한
+ * 이름의 HMAC 을 옆 컬럼에 둔다.
+ * <ul>
+ *     <li>{@code name_bidx} — 정규화한 이름 전체의 HMAC. 정확히 일치하는 이름을 찾는다.</li>
+ *     <li>{@code name_prefix_bidx} — 앞 1~{@value #PREFIX_MAX}글자의 HMAC 을 짧게 잘라 공백으로 이은 것. 앞부분 검색용이며,
+ *     잘라 쓴 만큼 다른 이름이 섞여 나올 수 있으니 복호화한 값으로 한 번 더 거른다.</li>
+ *     <li>{@code name_sort_key} — 이름 첫 글자. 정렬 순서를 맞추려면 어떤 식으로든 순서가 드러나야 해서 첫 글자(대개 성)까지만
+ *     평문으로 둔다. 같은 첫 글자 안의 순서는 앱이 복호화해 맞춘다.</li>
+ * </ul>
+ * HMAC 키는 암호화 키에서 용도별로 파생해 암호화에 쓰는 키와 섞이지 않게 한다.
+ */
+@Component
+public class PiiBlindIndex {
+
+    public static final int PREFIX_MAX = 3;
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int EXACT_HEX_LENGTH = 32;
+    private static final int PREFIX_HEX_LENGTH = 8;
+
+    private final SecretKey indexKey;
+
+    public PiiBlindIndex(SecretKey piiSecretKey) {
+        byte[] derived = hmac(new SecretKeySpec(piiSecretKey.getEncoded(), HMAC), "pii-blind-index:v1");
+        this.indexKey = new SecretKeySpec(derived, HMAC);
+    }
+
+    /** 이름 전체 인덱스. 빈 이름이면 null */
+    public String exact(String value) {
+        String normalized = normalize(value);
+        return normalized.isEmpty() ? null : hex(hmac(indexKey, "e:" + normalized), EXACT_HEX_LENGTH);
+    }
+
+    /** 앞 1~{@value #PREFIX_MAX}글자 인덱스를 공백으로 이은 것. 빈 이름이면 null */
+    public String prefixes(String value) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        StringJoiner tokens = new StringJoiner(" ");
+        int length = normalized.codePointCount(0, normalized.length());
+        for (int n = 1; n <= Math.min(length, PREFIX_MAX); n++) {
+            tokens.add(prefixTokenOf(normalized, n));
+        }
+        return tokens.toString();
+    }
+
+    /** 검색어로 찾을 앞부분 인덱스 하나. 검색어가 {@value #PREFIX_MAX}글자보다 길면 앞 {@value #PREFIX_MAX}글자만 쓴다. */
+    public String prefixToken(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return prefixTokenOf(normalized, Math.min(normalized.codePointCount(0, normalized.length()), PREFIX_MAX));
+    }
+
+    /**
+     * 정렬 키 — 원래 이름의 첫 글자. 앱의 이름 정렬({@link String#compareTo})과 순서가 어긋나지 않도록 정규화하지 않는다.
+     * 빈 이름은 빈 문자열.
+     */
+    public static String sortKey(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        return value.substring(0, Character.charCount(value.codePointAt(0)));
+    }
+
+    /** 검색 비교용 정규화 — 호환 문자 통일(NFKC), 공백 제거, 소문자 */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .replaceAll("\\s+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /** 엔티티의 인덱스 컬럼을 이름에 맞춰 다시 채운다. */
+    public void apply(NameIndexed entity) {
+        String name = entity.getName();
+        entity.indexName(exact(name), prefixes(name), sortKey(name));
+    }
+
+    private String prefixTokenOf(String normalized, int codePoints) {
+        String prefix = normalized.substring(0, normalized.offsetByCodePoints(0, codePoints));
+        return hex(hmac(indexKey, "p:" + prefix), PREFIX_HEX_LENGTH);
+    }
+
+    private static byte[] hmac(SecretKey key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("블라인드 인덱스 계산 실패", e);
+        }
+    }
+
+    private static String hex(byte[] digest, int length) {
+        return HexFormat.of().formatHex(digest).substring(0, length);
+    }
+}
@@ -0,0 +1,67 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 개인정보 복호화 결과 캐시. 키는 암호문이다.
+ *
+ * <p>회원·어르신·직원 목록은 화면마다 같은 행을 다시 읽는데, 읽을 때마다 컨버터가 AES-GCM 복호화를 한다. 암호문은 쓸
+ * 때마다 IV 가 바뀌므로 같은 암호문이면 평문도 같다 — 값이 바뀌면 키도 바뀌어 따로 무효화할 필요가 없다.
+ *
+ * <p>항목 수는 {@code pii.decrypt-cache.maximum-size} 로 묶고, 평문은 char 배열로 들고 있다가 캐시에서 빠질 때 0 으로
+ * 지운다. 돌려주는 String 은 엔티티가 쓰는 것이라 지울 수 없다. 적중률은 {@code cache.gets{cache=pii_decrypt}} 로 본다.
+ */
+@Component
+public class PiiDecryptCache {
+
+    private final Cache<String, Plaintext> cache;
+
+    public PiiDecryptCache(MeterRegistry meterRegistry,
+                           @Value("${pii.decrypt-cache.maximum-size:20000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .removalListener((String cipherText, Plaintext plaintext, RemovalCause cause) -> {
+                    if (plaintext != null) {
+                        plaintext.clear();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pii_decrypt");
+    }
+
+    /** 캐시에 있으면 그 평문을, 없으면 decrypt 로 풀어 담고 돌려준다. */
+    public String get(String cipherText, UnaryOperator<String> decrypt) {
+        String plain = cache.get(cipherText, key -> new Plaintext(decrypt.apply(key))).read();
+        // 꺼낸 사이에 밀려나 지워졌다 — 다시 푼다
+        return plain != null ? plain : decrypt.apply(cipherText);
+    }
+
+    /** 캐시가 든 평문. 지우는 쪽과 읽는 쪽이 겹치지 않게 잠근다. */
+    static final class Plaintext {
+
+        private final char[] chars;
+        private boolean cleared;
+
+        Plaintext(String value) {
+            this.chars = value.toCharArray();
+        }
+
+        synchronized String read() {
+            return cleared ? null : new String(chars);
+        }
+
+        synchronized void clear() {
+            cleared = true;
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
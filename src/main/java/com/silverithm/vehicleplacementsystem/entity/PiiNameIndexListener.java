@@ -0,0 +1,34 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이름이 저장·수정될 때 블라인드 인덱스를 함께 갱신한다.
+ *
+ * <p>컨버터는 컬럼 하나만 바꿀 수 있어서 옆 컬럼은 리스너가 채운다. 개인정보 키가 없는 테스트 슬라이스에서도 엔티티를
+ * 쓸 수 있도록 {@link PiiBlindIndex} 는 있을 때만 쓴다 — 비어 남은 행은 기동 시 백필이 채운다.
+ */
+@Component
+public class PiiNameIndexListener {
+
+    private final ObjectProvider<PiiBlindIndex> blindIndex;
+
+    public PiiNameIndexListener(ObjectProvider<PiiBlindIndex> blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void index(Object entity) {
+        if (!(entity instanceof NameIndexed indexed)) {
+            return;
+        }
+        PiiBlindIndex index = blindIndex.getIfAvailable();
+        if (index != null) {
+            index.apply(indexed);
+        }
+    }
+}
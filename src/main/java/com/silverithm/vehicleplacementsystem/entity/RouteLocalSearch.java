@@ -0,0 +1,251 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import java.util.List;
+
+/**
+ * GA 가 끝난 해의 경로를 국소 탐색으로 다듬는다. 더 나아지는 이동이 없거나 maxPasses 번 돌 때까지 다음 이동을 반복한다.
+ * <ul>
+ *     <li>2-opt — 한 경로 안의 구간을 뒤집는다</li>
+ *     <li>or-opt — 한 경로 안에서 1~3명 구간을 다른 자리로 옮긴다</li>
+ *     <li>relocate — 어르신 한 명을 다른 차량의 한 자리로 옮긴다</li>
+ * </ul>
+ * 이동마다 바뀐 경로(한두 개)만 {@link RouteScorer} 로 다시 계산하고 나머지 차량 값은 캐시해 둔 합에서 빼고 더하므로,
+ * 평가 비용은 차량 정원에만 비례한다. 정원·앞좌석·고정 배정은 바뀐 경로마다 확인하고, 부부나 고정 배정으로 묶인 어르신은
+ * 다른 차량으로 옮기지 않는다. 난수를 쓰지 않으므로 같은 입력이면 같은 결과가 나온다.
+ */
+public class RouteLocalSearch {
+
+    private static final int DEFAULT_MAX_PASSES = 100;
+    private static final int MAX_SEGMENT_LENGTH = 3;
+    private static final double EPSILON = 1e-9;
+
+    private final RouteScorer scorer;
+    private final DispatchConstraints constraints;
+    private final int[] capacities;
+    private final int maxPasses;
+
+    // 탐색 중인 해 — improve 호출마다 채운다
+    private int[][] routes;
+    private int[] lengths;
+    private double[] departureTimes;
+    private double[] proximities;
+    private double totalDepartureTime;
+    private double totalProximity;
+    private double fitness;
+    private int[] candidate;
+    private int[] otherCandidate;
+
+    public RouteLocalSearch(RouteScorer scorer, DispatchConstraints constraints, List<EmployeeDTO> employees) {
+        this(scorer, constraints, employees, DEFAULT_MAX_PASSES);
+    }
+
+    /**
+     * @param maxPasses 이동 전체를 훑는 최대 횟수 — 응답 시간이 정해진 곳에서는 작게 준다
+     */
+    public RouteLocalSearch(RouteScorer scorer, DispatchConstraints constraints, List<EmployeeDTO> employees,
+                            int maxPasses) {
+        this.scorer = scorer;
+        this.constraints = constraints;
+        this.maxPasses = maxPasses;
+        this.capacities = new int[employees.size()];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = employees.get(i).maximumCapacity();
+        }
+    }
+
+    /**
+     * source 를 다듬은 배치를 result 에 쓴다. result 의 적합도·출발 시간은 채우지 않는다.
+     *
+     * @return 다듬은 배치의 적합도
+     */
+    public double improve(ChromosomeV4 source, ChromosomeV4 result) {
+        load(source);
+
+        for (int pass = 0; pass < maxPasses; pass++) {
+            boolean improved = false;
+            for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+                improved |= twoOpt(vehicle);
+                improved |= orOpt(vehicle);
+            }
+            improved |= relocate();
+            if (!improved) {
+                break;
+            }
+        }
+
+        result.copyFrom(routes, lengths);
+        return fitness;
+    }
+
+    private void load(ChromosomeV4 source) {
+        int vehicleCount = source.vehicleCount();
+        int maxLength = 0;
+        routes = new int[vehicleCount][];
+        lengths = new int[vehicleCount];
+        departureTimes = new double[vehicleCount];
+        proximities = new double[vehicleCount];
+        totalDepartureTime = 0.0;
+        totalProximity = 0.0;
+
+        for (int vehicle = 0; vehicle < vehicleCount; vehicle++) {
+            lengths[vehicle] = source.vehicleSize(vehicle);
+            routes[vehicle] = new int[Math.max(capacities[vehicle], lengths[vehicle])];
+            System.arraycopy(source.getGenes(), source.vehicleStart(vehicle), routes[vehicle], 0, lengths[vehicle]);
+            maxLength = Math.max(maxLength, routes[vehicle].length);
+
+            departureTimes[vehicle] = scorer.departureTime(vehicle, routes[vehicle], 0, lengths[vehicle]);
+            proximities[vehicle] = scorer.proximity(vehicle, routes[vehicle], 0, lengths[vehicle]);
+            totalDepartureTime += departureTimes[vehicle];
+            totalProximity += proximities[vehicle];
+        }
+
+        candidate = new int[maxLength];
+        otherCandidate = new int[maxLength];
+        fitness = scorer.departureFitness(totalDepartureTime) + totalProximity;
+    }
+
+    private boolean twoOpt(int vehicle) {
+        boolean improved = false;
+        int length = lengths[vehicle];
+
+        for (int i = 0; i < length - 1; i++) {
+            for (int j = i + 1; j < length; j++) {
+                int[] route = routes[vehicle];
+                System.arraycopy(route, 0, candidate, 0, length);
+                for (int left = i, right = j; left < right; left++, right--) {
+                    candidate[left] = route[right];
+                    candidate[right] = route[left];
+                }
+                improved |= acceptIfBetter(vehicle, length);
+            }
+        }
+        return improved;
+    }
+
+    private boolean orOpt(int vehicle) {
+        boolean improved = false;
+        int length = lengths[vehicle];
+
+        for (int segmentLength = 1; segmentLength <= Math.min(MAX_SEGMENT_LENGTH, length - 1); segmentLength++) {
+            for (int from = 0; from + segmentLength <= length; from++) {
+                for (int to = 0; to + segmentLength <= length; to++) {
+                    if (to == from) {
+                        continue;
+                    }
+                    moveSegment(routes[vehicle], length, from, segmentLength, to, candidate);
+                    improved |= acceptIfBetter(vehicle, length);
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean relocate() {
+        boolean improved = false;
+
+        for (int from = 0; from < routes.length; from++) {
+            for (int i = 0; i < lengths[from]; i++) {
+                int elderly = routes[from][i];
+                if (constraints.isPinned(elderly)) {
+                    continue;
+                }
+                if (relocateElderly(from, i, elderly)) {
+                    improved = true;
+                    // 옮긴 자리에는 다음 어르신이 당겨져 왔으므로 같은 순번을 다시 본다
+                    i--;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean relocateElderly(int from, int index, int elderly) {
+        int fromLength = lengths[from] - 1;
+        System.arraycopy(routes[from], 0, otherCandidate, 0, index);
+        System.arraycopy(routes[from], index + 1, otherCandidate, index, fromLength - index);
+        if (!constraints.isRouteValid(from, otherCandidate, 0, fromLength)) {
+            return false;
+        }
+        double fromDepartureTime = scorer.departureTime(from, otherCandidate, 0, fromLength);
+        double fromProximity = scorer.proximity(from, otherCandidate, 0, fromLength);
+
+        for (int to = 0; to < routes.length; to++) {
+            int toLength = lengths[to] + 1;
+            if (to == from || toLength > routes[to].length || toLength > capacities[to]) {
+                continue;
+            }
+
+            for (int position = 0; position < toLength; position++) {
+                System.arraycopy(routes[to], 0, candidate, 0, position);
+                candidate[position] = elderly;
+                System.arraycopy(routes[to], position, candidate, position + 1, lengths[to] - position);
+
+                double toDepartureTime = scorer.departureTime(to, candidate, 0, toLength);
+                double toProximity = scorer.proximity(to, candidate, 0, toLength);
+                double newTotalDepartureTime = totalDepartureTime - departureTimes[from] - departureTimes[to]
+                        + fromDepartureTime + toDepartureTime;
+                double newTotalProximity = totalProximity - proximities[from] - proximities[to]
+                        + fromProximity + toProximity;
+                double newFitness = scorer.departureFitness(newTotalDepartureTime) + newTotalProximity;
+
+                if (newFitness > fitness + EPSILON && constraints.isRouteValid(to, candidate, 0, toLength)) {
+                    System.arraycopy(otherCandidate, 0, routes[from], 0, fromLength);
+                    lengths[from] = fromLength;
+                    System.arraycopy(candidate, 0, routes[to], 0, toLength);
+                    lengths[to] = toLength;
+                    departureTimes[from] = fromDepartureTime;
+                    departureTimes[to] = toDepartureTime;
+                    proximities[from] = fromProximity;
+                    proximities[to] = toProximity;
+                    totalDepartureTime = newTotalDepartureTime;
+                    totalProximity = newTotalProximity;
+                    fitness = newFitness;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // candidate 에 담긴 vehicle 차량 경로가 더 나으면 받아들인다
+    private boolean acceptIfBetter(int vehicle, int length) {
+        double newDepartureTime = scorer.departureTime(vehicle, candidate, 0, length);
+        double newProximity = scorer.proximity(vehicle, candidate, 0, length);
+        double newTotalDepartureTime = totalDepartureTime - departureTimes[vehicle] + newDepartureTime;
+        double newTotalProximity = totalProximity - proximities[vehicle] + newProximity;
+        double newFitness = scorer.departureFitness(newTotalDepartureTime) + newTotalProximity;
+
+        if (newFitness <= fitness + EPSILON || !constraints.isRouteValid(vehicle, candidate, 0, length)) {
+            return false;
+        }
+
+        System.arraycopy(candidate, 0, routes[vehicle], 0, length);
+        departureTimes[vehicle] = newDepartureTime;
+        proximities[vehicle] = newProximity;
+        totalDepartureTime = newTotalDepartureTime;
+        totalProximity = newTotalProximity;
+        fitness = newFitness;
+        return true;
+    }
+
+    // route 의 [from, from + segmentLength) 구간을 뺀 뒤 to 위치에 끼운 순서를 target 에 쓴다
+    private static void moveSegment(int[] route, int length, int from, int segmentLength, int to, int[] target) {
+        int write = 0;
+        int restIndex = 0;
+        for (int read = 0; read < length; read++) {
+            if (read >= from && read < from + segmentLength) {
+                continue;
+            }
+            if (restIndex == to) {
+                System.arraycopy(route, from, target, write, segmentLength);
+                write += segmentLength;
+            }
+            target[write++] = route[read];
+            restIndex++;
+        }
+        if (restIndex == to) {
+            System.arraycopy(route, from, target, write, segmentLength);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 이어받은 경로({@link WarmStartRoutes})에 빠진 어르신을 끼워 넣어 완성된 배치를 만든다.
+ *
+ * 어르신마다 모든 차량·자리를 시험해 출발 시간이 가장 적게 늘어나는 곳에 넣는다. 정원·앞좌석·고정 배정은 넣을 때마다
+ * 확인하고, 부부 조건은 다 넣은 뒤 배치 전체로 확인한다. 난수를 쓰지 않으므로 같은 입력이면 같은 결과가 나온다.
+ */
+public class RouteRepair {
+
+    private final RouteScorer scorer;
+    private final DispatchConstraints constraints;
+
+    public RouteRepair(RouteScorer scorer, DispatchConstraints constraints) {
+        this.scorer = scorer;
+        this.constraints = constraints;
+    }
+
+    /**
+     * base 경로에 {@link WarmStartRoutes#missingElderlys()} 를 모두 넣은 배치. 넣을 자리가 없거나 제약조건을 지키지 못하면
+     * null 이다. 적합도는 호출한 쪽에서 계산한다.
+     */
+    public ChromosomeV4 repair(WarmStartRoutes base, int elderlyCount) {
+        int[][] routes = new int[base.getRoutes().length][];
+        int[] lengths = base.getLengths().clone();
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            routes[vehicle] = base.getRoutes()[vehicle].clone();
+        }
+
+        for (int elderly : base.missingElderlys()) {
+            if (!insert(routes, lengths, elderly)) {
+                return null;
+            }
+        }
+
+        ChromosomeV4 chromosome = new ChromosomeV4(elderlyCount, routes.length);
+        chromosome.copyFrom(routes, lengths);
+        return constraints.isSatisfied(chromosome) ? chromosome : null;
+    }
+
+    /**
+     * elderly 를 출발 시간이 가장 적게 늘어나는 차량·자리에 넣는다. routes[v] 의 길이가 차량 v 의 정원이다.
+     *
+     * @return 넣을 자리가 없으면 false
+     */
+    public boolean insert(int[][] routes, int[] lengths, int elderly) {
+        int bestVehicle = -1;
+        int bestPosition = -1;
+        double bestIncrease = Double.MAX_VALUE;
+
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            int length = lengths[vehicle];
+            if (length >= routes[vehicle].length) {
+                continue;
+            }
+            double current = scorer.departureTime(vehicle, routes[vehicle], 0, length);
+            int[] candidate = new int[length + 1];
+
+            for (int position = 0; position <= length; position++) {
+                System.arraycopy(routes[vehicle], 0, candidate, 0, position);
+                candidate[position] = elderly;
+                System.arraycopy(routes[vehicle], position, candidate, position + 1, length - position);
+
+                double increase = scorer.departureTime(vehicle, candidate, 0, length + 1) - current;
+                if (increase < bestIncrease && constraints.isRouteValid(vehicle, candidate, 0, length + 1)) {
+                    bestIncrease = increase;
+                    bestVehicle = vehicle;
+                    bestPosition = position;
+                }
+            }
+        }
+
+        if (bestVehicle == -1) {
+            return false;
+        }
+
+        int[] route = routes[bestVehicle];
+        System.arraycopy(route, bestPosition, route, bestPosition + 1, lengths[bestVehicle] - bestPosition);
+        route[bestPosition] = elderly;
+        lengths[bestVehicle]++;
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import java.util.List;
+
+/**
+ * 차량 한 대의 경로(어르신 순번 배열의 한 구간)만으로 출발 시간과 근접도 점수를 계산한다.
+ *
+ * GA 적합도는 전체 차량 출발 시간 합으로 정하는 항({@link #departureFitness})과 차량별 근접도 점수 합이므로, 경로 하나를
+ * 바꾸는 이동은 그 경로 값만 다시 계산하면 전체 적합도가 나온다. GeneticAlgorithmV5 와 {@link RouteLocalSearch} 가 같은
+ * 계산을 쓴다.
+ */
+public class RouteScorer {
+
+    private final DistanceMatrix distanceMatrix;
+    private final EdgeScoreMatrix edgeScores;
+    private final DispatchType dispatchType;
+    private final boolean[] drivers;
+
+    public RouteScorer(DistanceMatrix distanceMatrix, DispatchType dispatchType, List<EmployeeDTO> employees) {
+        this.distanceMatrix = distanceMatrix;
+        this.edgeScores = new EdgeScoreMatrix(distanceMatrix, dispatchType);
+        this.dispatchType = dispatchType;
+        this.drivers = new boolean[employees.size()];
+        for (int i = 0; i < drivers.length; i++) {
+            drivers[i] = employees.get(i).isDriver();
+        }
+    }
+
+    private boolean isOut() {
+        return dispatchType == DispatchType.DISTANCE_OUT || dispatchType == DispatchType.DURATION_OUT;
+    }
+
+    private boolean isDuration() {
+        return dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT;
+    }
+
+    /** 전체 출발 시간(거리) 합으로 정해지는 적합도 항 */
+    public double departureFitness(double totalDepartureTime) {
+        if (isDuration()) {
+            return 10000000 / ((totalDepartureTime + 1.0));
+        }
+        return 10000000 / ((totalDepartureTime + 1.0) / 1000);
+    }
+
+    public double edgeScore(int from, int to) {
+        return edgeScores.get(from, to);
+    }
+
+    /** genes[start] .. genes[end - 1] 을 태우는 vehicle 차량의 출발 시간(거리) */
+    public double departureTime(int vehicle, int[] genes, int start, int end) {
+        if (start == end) {
+            return 0.0;
+        }
+
+        int employeeNode = distanceMatrix.employeeNode(vehicle);
+        int firstElderlyNode = distanceMatrix.elderlyNode(genes[start]);
+        int lastElderlyNode = distanceMatrix.elderlyNode(genes[end - 1]);
+        double departureTime = 0.0;
+
+        if (isOut()) {
+            for (int j = start; j < end - 1; j++) {
+                if (j == start) {
+                    departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, firstElderlyNode);
+                }
+
+                departureTime += distanceMatrix.get(distanceMatrix.elderlyNode(genes[j]),
+                        distanceMatrix.elderlyNode(genes[j + 1]));
+            }
+
+            departureTime += distanceMatrix.get(lastElderlyNode, employeeNode);
+
+            if (drivers[vehicle]) {
+                departureTime += distanceMatrix.get(lastElderlyNode, DistanceMatrix.COMPANY);
+            }
+
+            if (!drivers[vehicle]) {
+                departureTime += distanceMatrix.get(lastElderlyNode, employeeNode);
+            }
+            return departureTime;
+        }
+
+        for (int j = start; j < end - 1; j++) {
+            if (j == start) {
+                departureTime += distanceMatrix.get(employeeNode, firstElderlyNode);
+            }
+
+            departureTime += distanceMatrix.get(distanceMatrix.elderlyNode(genes[j]),
+                    distanceMatrix.elderlyNode(genes[j + 1]));
+        }
+
+        if (drivers[vehicle]) {
+            departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, firstElderlyNode);
+        }
+
+        if (!drivers[vehicle]) {
+            departureTime += distanceMatrix.get(employeeNode, firstElderlyNode);
+        }
+
+        departureTime += distanceMatrix.get(lastElderlyNode, DistanceMatrix.COMPANY);
+        return departureTime;
+    }
+
+    /** genes[start] .. genes[end - 1] 을 태우는 vehicle 차량의 근접도 점수 */
+    public double proximity(int vehicle, int[] genes, int start, int end) {
+        if (start == end) {
+            return 0.0;
+        }
+
+        double fitness = 0.0;
+        int employeeNode = distanceMatrix.employeeNode(vehicle);
+
+        for (int j = start; j < end - 1; j++) {
+            int elderlyNode1 = distanceMatrix.elderlyNode(genes[j]);
+            int elderlyNode2 = distanceMatrix.elderlyNode(genes[j + 1]);
+
+            if (isDuration()) {
+                fitness += edgeScore(elderlyNode1, elderlyNode2);
+            } else if (edgeScore(elderlyNode1, elderlyNode2) == 10000) {
+                fitness += 10000;
+            } else {
+                fitness += edgeScore(employeeNode, elderlyNode1);
+            }
+        }
+
+        int firstElderlyNode = distanceMatrix.elderlyNode(genes[start]);
+        int lastElderlyNode = distanceMatrix.elderlyNode(genes[end - 1]);
+
+        if (isOut()) {
+            fitness += drivers[vehicle] ? edgeScore(lastElderlyNode, DistanceMatrix.COMPANY)
+                    : edgeScore(lastElderlyNode, employeeNode);
+            return fitness;
+        }
+
+        fitness += drivers[vehicle] ? edgeScore(DistanceMatrix.COMPANY, firstElderlyNode)
+                : edgeScore(employeeNode, firstElderlyNode);
+        fitness += edgeScore(lastElderlyNode, DistanceMatrix.COMPANY);
+        return fitness;
+    }
+}
@@ -0,0 +1,21 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import lombok.Getter;
+
+/**
+ * 유전 알고리즘이 세대 반복을 멈춘 이유. SSE로 실제 종료 사유를 알려줄 때 쓴다.
+ */
+@Getter
+public enum StopReason {
+    MAX_ITERATIONS("최대 세대 수 도달"),
+    STAGNATION("최고 적합도 개선 없음"),
+    TARGET_FITNESS("목표 적합도 도달"),
+    TIME_BUDGET("계산 시간 한도 도달"),
+    CANCELLED("배차 작업 취소");
+
+    private final String description;
+
+    StopReason(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,87 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * 직전 배차 결과를 오늘 요청의 직원·어르신 순번으로 옮긴 차량별 경로.
+ *
+ * 오늘 요청에 없는 직원·어르신은 버리고, 정원을 넘는 어르신도 버린다. 직전 결과에 없던 어르신은 경로에 들어 있지 않으므로
+ * GA 가 {@link #missingElderlys()} 를 보고 채워 넣는다.
+ */
+public class WarmStartRoutes {
+
+    @Getter
+    private final int[][] routes;
+    @Getter
+    private final int[] lengths;
+    private final boolean[] assigned;
+
+    public WarmStartRoutes(List<AssignmentResponseDTO> previous, List<EmployeeDTO> employees,
+                           List<ElderlyDTO> elderlys) {
+        Map<Long, Integer> employeeIdToIndex = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            employeeIdToIndex.put(employees.get(i).id(), i);
+        }
+        Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
+        for (int i = 0; i < elderlys.size(); i++) {
+            elderlyIdToIndex.put(elderlys.get(i).id(), i);
+        }
+
+        routes = new int[employees.size()][];
+        lengths = new int[employees.size()];
+        assigned = new boolean[elderlys.size()];
+        for (int i = 0; i < employees.size(); i++) {
+            routes[i] = new int[employees.get(i).maximumCapacity()];
+        }
+
+        for (AssignmentResponseDTO assignment : previous) {
+            Integer vehicle = employeeIdToIndex.get(assignment.employeeId());
+            if (vehicle == null || assignment.assignmentElders() == null) {
+                continue;
+            }
+            for (AssignmentElderRequest elder : assignment.assignmentElders()) {
+                Integer elderly = elderlyIdToIndex.get(elder.id());
+                if (elderly == null || assigned[elderly] || lengths[vehicle] >= routes[vehicle].length) {
+                    continue;
+                }
+                routes[vehicle][lengths[vehicle]++] = elderly;
+                assigned[elderly] = true;
+            }
+        }
+    }
+
+    /** 직전 결과로 자리를 정하지 못한 어르신 순번 */
+    public int[] missingElderlys() {
+        int count = 0;
+        for (boolean isAssigned : assigned) {
+            if (!isAssigned) {
+                count++;
+            }
+        }
+
+        int[] missing = new int[count];
+        int index = 0;
+        for (int elderly = 0; elderly < assigned.length; elderly++) {
+            if (!assigned[elderly]) {
+                missing[index++] = elderly;
+            }
+        }
+        return missing;
+    }
+
+    /** 직전 결과에서 오늘 요청으로 옮겨 온 어르신 수 */
+    public int carriedOverCount() {
+        int count = 0;
+        for (int length : lengths) {
+            count += length;
+        }
+        return count;
+    }
+}
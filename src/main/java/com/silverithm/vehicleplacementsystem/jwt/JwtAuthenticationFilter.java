@@ -1,12 +1,10 @@
 package com.silverithm.vehicleplacementsystem.jwt;
 
-import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,12 +16,15 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisUtils redisUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklist tokenBlacklist;
 
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, RedisUtils redisUtils) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache,
+                                   TokenBlacklist tokenBlacklist) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.redisUtils = redisUtils;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenBlacklist = tokenBlacklist;
     }
 
 
@@ -37,10 +38,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = jwtTokenProvider.resolveToken((HttpServletRequest) request);
 
         try {
-            // 2. validateToken 메서드로 토큰 유효성 검사
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                if (redisUtils.getBlackList(token) == null) {
-                    Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            // 2. 토큰 검증 — 한 번 검증한 토큰은 만료 전까지 캐시한 Authentication 을 쓴다
+            if (token != null) {
+                String tokenHash = TokenHash.of(token);
+                Authentication authentication = verifiedTokenCache.authenticate(token, tokenHash);
+                // 3. 로그아웃한 토큰 — 대부분 로컬 필터에서 끝나고 의심될 때만 Redis 에 묻는다
+                if (authentication != null && !tokenBlacklist.isBlacklisted(token, tokenHash)) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
@@ -6,6 +6,7 @@ import com.silverithm.vehicleplacementsystem.dto.UserResponseDTO;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -60,6 +61,8 @@ public class JwtTokenProvider {
     private static final String TYPE_REFRESH = "refresh";
 
     private final Key key;
+    // 파서는 불변이라 여러 요청이 함께 쓴다 — 검증할 때마다 parserBuilder() 로 새로 만들지 않는다
+    private final JwtParser parser;
 
     //The specified key byte array is 248 bits which is not secure enough for any JWT HMAC-SHA algorithm.
     // The JWT JWA Specification (RFC 7518, Section 3.2) states that keys used with HMAC-SHA algorithms MUST have a size >= 256 bits (the key size must be greater than or equal to the hash output size).
@@ -67,6 +70,7 @@ public class JwtTokenProvider {
     public JwtTokenProvider(@Value("${jwt.secretKey}") String secretKey) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     //Authentication 을 가지고 AccessToken, RefreshToken 을 생성하는 메서드
@@ -133,8 +137,11 @@ public class JwtTokenProvider {
     //JWT 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
     public Authentication getAuthentication(String accessToken) {
         //토큰 복호화
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    /** {@link #verify(String)} 로 이미 검증한 클레임에서 Authentication 을 만든다 */
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get(AUTHORITIES_KEY) == null) {
             //TODO:: Change Custom Exception
             throw new CustomException("권한 정보가 없는 토큰입니다.", HttpStatus.UNAUTHORIZED);
@@ -188,9 +195,18 @@ public class JwtTokenProvider {
 
     //토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * 서명과 만료를 검증하고 클레임을 돌려준다. 검증과 복호화를 한 번의 파싱으로 끝낸다.
+     *
+     * @return 잘못된 토큰이면 null
+     * @throws ExpiredJwtException 만료된 토큰
+     */
+    public Claims verify(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT Token", e);
         } catch (ExpiredJwtException e) {
@@ -201,7 +217,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.warn("JWT claims string is empty.", e);
         }
-        return false;
+        return null;
     }
 
     // 토큰 타입이 refresh인지 검증
@@ -212,7 +228,7 @@ public class JwtTokenProvider {
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return parser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -0,0 +1,176 @@
+package com.silverithm.vehicleplacementsystem.jwt;
+
+import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그아웃한 액세스 토큰 블랙리스트.
+ *
+ * 블랙리스트 원본은 예전처럼 Redis 의 토큰 키다. 인증할 때마다 Redis 에 묻지 않도록 인스턴스마다 블룸 필터를 두고, 필터에
+ * 없는 토큰은 Redis 를 거치지 않고 통과시킨다. 필터에 있다고 나오면(오탐 포함) Redis 에 확인한다.
+ *
+ * 필터는 세 경로로 채운다.
+ * <ul>
+ *     <li>{@link #CHANNEL} — 다른 인스턴스의 로그아웃을 pub/sub 으로 바로 받는다.</li>
+ *     <li>{@link #HASHES_KEY} — 토큰 해시를 만료 시각 점수로 담은 정렬 집합. 1분마다 필터를 새로 만들어 놓친 메시지를
+ *     메우고 만료된 해시를 흘려보낸다.</li>
+ *     <li>기동 후 액세스 토큰 수명 동안은 해시 목록 없이 토큰 키만 남기던 이전 버전의 블랙리스트도 함께 훑는다.</li>
+ * </ul>
+ * 기동 직후 처음 채우기 전에는 모든 토큰을 Redis 에 확인한다.
+ */
+@Slf4j
+@Component
+public class TokenBlacklist implements MessageListener {
+
+    public static final String CHANNEL = "jwt:blacklist";
+    static final String HASHES_KEY = "jwt:blacklist:hashes";
+
+    // 액세스 토큰 키는 JWT 헤더("{\"alg\"...")의 Base64 라 eyJ 로 시작한다
+    private static final String LEGACY_KEY_PATTERN = "eyJ*";
+    private static final int FILTER_BITS = 1 << 20;
+    private static final int FILTER_HASHES = 5;
+
+    private final RedisUtils redisUtils;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final long startedAt = System.currentTimeMillis();
+
+    private volatile BloomFilter filter = new BloomFilter();
+    private volatile boolean ready;
+
+    public TokenBlacklist(RedisUtils redisUtils, StringRedisTemplate stringRedisTemplate,
+                          RedisMessageListenerContainer redisMessageListenerContainer,
+                          VerifiedTokenCache verifiedTokenCache) {
+        this.redisUtils = redisUtils;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /** 토큰을 만료 시각까지 블랙리스트에 올리고 다른 인스턴스에 알린다. */
+    public void add(String token, String userEmail, long milliSeconds) {
+        String tokenHash = TokenHash.of(token);
+        redisUtils.setBlackList(token, userEmail, milliSeconds);
+        // 알리기 전에 해시 목록에 먼저 남긴다 — 메시지를 놓친 인스턴스도 다음 재구성에서 받는다
+        stringRedisTemplate.opsForZSet().add(HASHES_KEY, tokenHash, System.currentTimeMillis() + milliSeconds);
+        filter.put(tokenHash);
+        verifiedTokenCache.invalidate(tokenHash);
+        stringRedisTemplate.convertAndSend(CHANNEL, tokenHash);
+    }
+
+    public boolean isBlacklisted(String token) {
+        return isBlacklisted(token, TokenHash.of(token));
+    }
+
+    public boolean isBlacklisted(String token, String tokenHash) {
+        if (ready && !filter.mightContain(tokenHash)) {
+            return false;
+        }
+        return redisUtils.hasKeyBlackList(token);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String tokenHash = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (tokenHash.length() < 32) {
+            log.warn("[TokenBlacklist] 잘못된 블랙리스트 알림을 무시합니다.");
+            return;
+        }
+        filter.put(tokenHash);
+        verifiedTokenCache.invalidate(tokenHash);
+    }
+
+    /** 해시 목록으로 필터를 새로 만든다. 실패하면 이전 필터를 그대로 쓴다. */
+    @Scheduled(fixedRate = 60000)
+    public void rebuild() {
+        try {
+            long now = System.currentTimeMillis();
+            stringRedisTemplate.opsForZSet().removeRangeByScore(HASHES_KEY, 0, now);
+
+            BloomFilter rebuilt = new BloomFilter();
+            addLiveHashes(rebuilt, now);
+            if (now - startedAt < JwtTokenProvider.ACCESS_TOKEN_EXPIRE_TIME) {
+                addLegacyKeys(rebuilt);
+            }
+            filter = rebuilt;
+            // 읽은 뒤 바꿔 끼우기 전에 올라온 해시를 놓치지 않도록 한 번 더 읽는다
+            addLiveHashes(rebuilt, now);
+            ready = true;
+        } catch (Exception e) {
+            log.warn("[TokenBlacklist] 블랙리스트 필터 재구성 실패 (이전 필터 유지): {}", e.getMessage());
+        }
+    }
+
+    private void addLiveHashes(BloomFilter target, long now) {
+        Set<String> hashes = stringRedisTemplate.opsForZSet().rangeByScore(HASHES_KEY, now, Double.MAX_VALUE);
+        if (hashes != null) {
+            hashes.forEach(target::put);
+        }
+    }
+
+    private void addLegacyKeys(BloomFilter target) {
+        ScanOptions options = ScanOptions.scanOptions().match(LEGACY_KEY_PATTERN).count(1000).build();
+        stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                cursor.forEachRemaining(key -> target.put(TokenHash.of(new String(key, StandardCharsets.UTF_8))));
+            }
+            return null;
+        });
+    }
+
+    /** 토큰 해시(SHA-256 16진수) 앞 128비트를 두 해시로 나눠 쓰는 블룸 필터 */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits = new AtomicLongArray(FILTER_BITS / Long.SIZE);
+
+        void put(String tokenHash) {
+            long h1 = Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
+            long h2 = Long.parseUnsignedLong(tokenHash.substring(16, 32), 16);
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                int bit = index(h1 + i * h2);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    // 다른 스레드가 같은 워드를 바꿨다 — 다시 읽는다
+                }
+            }
+        }
+
+        boolean mightContain(String tokenHash) {
+            long h1 = Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
+            long h2 = Long.parseUnsignedLong(tokenHash.substring(16, 32), 16);
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                int bit = index(h1 + i * h2);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int index(long hash) {
+            return (int) (hash & (FILTER_BITS - 1));
+        }
+    }
+}
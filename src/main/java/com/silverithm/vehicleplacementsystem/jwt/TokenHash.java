@@ -0,0 +1,24 @@
+package com.silverithm.vehicleplacementsystem.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 토큰의 SHA-256 (16진수). 검증 캐시 키와 블랙리스트 필터에 토큰 원문 대신 쓴다.
+ */
+public final class TokenHash {
+
+    private TokenHash() {
+    }
+
+    public static String of(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.silverithm.vehicleplacementsystem.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검증을 마친 토큰의 Authentication 캐시. 같은 액세스 토큰이 30분 동안 반복해서 오므로 서명 검증과 클레임 파싱은 처음 한
+ * 번만 한다. 키는 토큰 해시({@link TokenHash})이고, 항목은 토큰 만료 시각에 함께 사라진다. 만료된 토큰은 캐시에 남지
+ * 않으므로 다시 파싱되어 예전처럼 {@link ExpiredJwtException} 이 난다.
+ *
+ * 로그아웃한 토큰은 {@link TokenBlacklist} 가 따로 걸러낸다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, Verified> cache;
+
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider,
+                              @Value("${jwt.verified-cache.maximum-size:10000}") long maximumSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param tokenHash {@link TokenHash#of(String)}
+     * @return 잘못된 토큰이면 null
+     * @throws ExpiredJwtException 만료된 토큰
+     */
+    public Authentication authenticate(String token, String tokenHash) {
+        Verified cached = cache.getIfPresent(tokenHash);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.authentication();
+        }
+
+        Claims claims = jwtTokenProvider.verify(token);
+        if (claims == null) {
+            return null;
+        }
+        Authentication authentication = jwtTokenProvider.getAuthentication(claims);
+        if (claims.getExpiration() != null) {
+            cache.put(tokenHash, new Verified(authentication, claims.getExpiration().getTime()));
+        }
+        return authentication;
+    }
+
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    private record Verified(Authentication authentication, long expiresAt) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Verified> {
+
+        @Override
+        public long expireAfterCreate(String key, Verified value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verified value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verified value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
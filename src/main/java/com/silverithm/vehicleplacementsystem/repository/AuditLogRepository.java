@@ -1,15 +1,7 @@
 package com.silverithm.vehicleplacementsystem.repository;
 
 import com.silverithm.vehicleplacementsystem.entity.AuditLog;
-import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-
-    @Modifying
-    @Query("DELETE FROM AuditLog a WHERE a.occurredAt < :cutoff")
-    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
 }
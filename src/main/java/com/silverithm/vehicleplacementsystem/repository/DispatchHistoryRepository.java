@@ -1,7 +1,9 @@
 package com.silverithm.vehicleplacementsystem.repository;
 
 import com.silverithm.vehicleplacementsystem.entity.DispatchHistory;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,5 +14,8 @@ public interface DispatchHistoryRepository extends JpaRepository<DispatchHistory
     List<DispatchHistory> findAllByOrderByCreatedAtDesc();
     List<DispatchHistory> findAllByUsernameOrderByCreatedAtDesc(String username);
 
+    Optional<DispatchHistory> findFirstByUsernameAndDispatchTypeOrderByCreatedAtDesc(String username,
+                                                                                    DispatchType dispatchType);
+
     Page<DispatchHistory> findAllByUsername(String username, Pageable pageable);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.silverithm.vehicleplacementsystem.repository;
 
 import com.silverithm.vehicleplacementsystem.entity.AppUser;
 import com.silverithm.vehicleplacementsystem.entity.Elderly;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,11 +11,22 @@ import org.springframework.data.repository.query.Param;
 public interface ElderRepository extends JpaRepository<Elderly, Long> {
     List<Elderly> findByUserId(Long userId);
 
-    // 이름 컬럼은 암호화돼 있어 DB 정렬이 무의미하다 — 정렬은 조회 후 앱에서 한다
+    // 이름 컬럼은 암호화돼 있어 DB 정렬이 무의미하다 — 정렬은 조회 후 앱에서 한다 (페이지 단위는 name_sort_key 참고)
     List<Elderly> findByCompanyId(Long companyId);
 
     long countByCompanyId(Long companyId);
 
+    /** 이름 앞부분 검색 — 블라인드 인덱스가 겹친 후보라 호출자가 복호화한 이름으로 한 번 더 거른다 */
+    @Query("SELECT e FROM Elderly e WHERE e.company.id = :companyId "
+            + "AND e.namePrefixBidx LIKE CONCAT('%', :token, '%')")
+    List<Elderly> findByCompanyIdAndNamePrefixToken(@Param("companyId") Long companyId, @Param("token") String token);
+
+    /** 이름 첫 글자(정렬 키)별 어르신 수. 아직 색인되지 않은 행은 키가 null 로 나온다 */
+    @Query("SELECT e.nameSortKey, COUNT(e) FROM Elderly e WHERE e.company.id = :companyId GROUP BY e.nameSortKey")
+    List<Object[]> countByCompanyIdGroupByNameSortKey(@Param("companyId") Long companyId);
+
+    List<Elderly> findByCompanyIdAndNameSortKeyIn(Long companyId, Collection<String> nameSortKeys);
+
     /**
      * 기관 소속 어르신 전체.
      * 레거시 데이터는 company 대신 등록자(user)로만 연결돼 있어 두 경로를 모두 포함한다.
@@ -27,6 +39,14 @@ public interface ElderRepository extends JpaRepository<Elderly, Long> {
             + "WHERE c.id = :companyId OR uc.id = :companyId")
     List<Elderly> findAllInCompanyScope(@Param("companyId") Long companyId);
 
+    /** 기관 소속 어르신 id 전체. 범위는 {@link #findAllInCompanyScope} 와 같다. */
+    @Query("SELECT e.id FROM Elderly e "
+            + "LEFT JOIN e.company c "
+            + "LEFT JOIN e.user u "
+            + "LEFT JOIN u.company uc "
+            + "WHERE c.id = :companyId OR uc.id = :companyId")
+    List<Long> findIdsInCompanyScope(@Param("companyId") Long companyId);
+
     /** 해당 어르신이 기관 범위에 속하는지 (레거시 user 연결 포함) */
     @Query("SELECT COUNT(e) > 0 FROM Elderly e "
             + "LEFT JOIN e.company c "
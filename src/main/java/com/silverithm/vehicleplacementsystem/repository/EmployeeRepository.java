@@ -21,6 +21,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             + "WHERE c.id = :companyId OR uc.id = :companyId")
     List<Employee> findAllInCompanyScope(@Param("companyId") Long companyId);
 
+    /** 기관 소속 직원 id 전체. 범위는 {@link #findAllInCompanyScope} 와 같다. */
+    @Query("SELECT e.id FROM Employee e "
+            + "LEFT JOIN e.company c "
+            + "LEFT JOIN e.user u "
+            + "LEFT JOIN u.company uc "
+            + "WHERE c.id = :companyId OR uc.id = :companyId")
+    List<Long> findIdsInCompanyScope(@Param("companyId") Long companyId);
+
     /** 해당 직원이 기관 범위에 속하는지 (레거시 user 연결 포함) */
     @Query("SELECT COUNT(e) > 0 FROM Employee e "
             + "LEFT JOIN e.company c "
@@ -76,7 +76,9 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     @Query("SELECT m FROM Member m WHERE m.company.id = :companyId AND m.fcmToken IS NOT NULL AND m.status = 'ACTIVE'")
     List<Member> findByCompanyIdAndFcmTokenIsNotNull(@Param("companyId") Long companyId);
 
-    Optional<Member> findByName(String name);
+    /** 이름이 정확히 일치하는 회원 — 이름은 암호화 컬럼이라 블라인드 인덱스({@code PiiBlindIndex#exact})로 찾는다 */
+    @Query("SELECT m FROM Member m WHERE m.company.id = :companyId AND m.nameBidx = :nameBidx ORDER BY m.createdAt DESC")
+    List<Member> findByCompanyIdAndNameBidx(@Param("companyId") Long companyId, @Param("nameBidx") String nameBidx);
 
     @Query("SELECT m FROM Member m WHERE m.email = :email AND m.status = 'ACTIVE'")
     Optional<Member> findActiveMember(String email);
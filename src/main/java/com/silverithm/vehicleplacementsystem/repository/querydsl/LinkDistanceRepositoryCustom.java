@@ -1,6 +1,8 @@
 package com.silverithm.vehicleplacementsystem.repository.querydsl;
 
 import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 
@@ -17,4 +19,22 @@ public interface LinkDistanceRepositoryCustom {
     )
     Optional<LinkDistance> findNodeByStartNodeIdAndDestinationNodeId(String startNodeId, String destinationNodeId);
 
+    /** 출발·도착 노드가 모두 nodeIds 안에 있는 저장된 간선을 한 번에 읽는다. */
+    List<LinkDistance> findAllBetweenNodeIds(Collection<String> nodeIds);
+
+    /** 새 간선을 JDBC 배치로 저장한다. 이미 있는 (출발, 도착) 쌍은 건너뛴다. */
+    void insertIgnoreAll(List<LinkDistance> linkDistances);
+
+    /** 가장 최근에 저장된 간선부터 limit 개. 캐시 예열용. */
+    List<LinkDistance> findRecent(int limit);
+
+    /** startNodeId 에서 나가는 간선의 도착 노드. 간선은 양방향으로 저장되므로 곧 이웃 노드 목록이다. */
+    List<String> findDestinationNodeIds(String startNodeId);
+
+    /** nodeId 가 출발 또는 도착인 간선을 모두 지운다. 주소가 바뀐 노드의 거리를 다시 받게 한다. */
+    long deleteAllByNodeId(String nodeId);
+
+    /** nodeId 와 otherNodeIds 사이의 간선만 양방향으로 지운다. */
+    long deleteAllBetween(String nodeId, Collection<String> otherNodeIds);
+
 }
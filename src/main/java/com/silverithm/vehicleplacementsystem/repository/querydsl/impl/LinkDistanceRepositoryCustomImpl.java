@@ -8,15 +8,21 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
 import com.silverithm.vehicleplacementsystem.entity.QLinkDistance;
 import com.silverithm.vehicleplacementsystem.repository.querydsl.LinkDistanceRepositoryCustom;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 
 @RequiredArgsConstructor
 public class LinkDistanceRepositoryCustomImpl implements LinkDistanceRepositoryCustom {
 
+    private static final int INSERT_BATCH_SIZE = 1000;
+
     private final JPAQueryFactory jpaQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public Optional<Integer> findByStartNodeIdAndDestinationNodeId(String startNodeId, String destinationNodeId) {
@@ -54,6 +60,58 @@ public class LinkDistanceRepositoryCustomImpl implements LinkDistanceRepositoryC
                 .fetchOne());
     }
 
+    @Override
+    public List<LinkDistance> findAllBetweenNodeIds(Collection<String> nodeIds) {
+        return jpaQueryFactory.selectFrom(linkDistance)
+                .where(linkDistance.startNodeId.in(nodeIds))
+                .where(linkDistance.destinationNodeId.in(nodeIds))
+                .fetch();
+    }
+
+    @Override
+    public void insertIgnoreAll(List<LinkDistance> linkDistances) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO link_distance (start_node_id, destination_node_id, total_time, total_distance) "
+                        + "VALUES (?, ?, ?, ?)",
+                linkDistances, INSERT_BATCH_SIZE, (ps, link) -> {
+                    ps.setString(1, link.getStartNodeId());
+                    ps.setString(2, link.getDestinationNodeId());
+                    ps.setInt(3, link.getTotalTime());
+                    ps.setInt(4, link.getTotalDistance());
+                });
+    }
+
+    @Override
+    public List<LinkDistance> findRecent(int limit) {
+        return jpaQueryFactory.selectFrom(linkDistance)
+                .orderBy(linkDistance.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<String> findDestinationNodeIds(String startNodeId) {
+        return jpaQueryFactory.select(linkDistance.destinationNodeId)
+                .from(linkDistance)
+                .where(linkDistance.startNodeId.eq(startNodeId))
+                .fetch();
+    }
+
+    @Override
+    public long deleteAllByNodeId(String nodeId) {
+        return jpaQueryFactory.delete(linkDistance)
+                .where(linkDistance.startNodeId.eq(nodeId).or(linkDistance.destinationNodeId.eq(nodeId)))
+                .execute();
+    }
+
+    @Override
+    public long deleteAllBetween(String nodeId, Collection<String> otherNodeIds) {
+        return jpaQueryFactory.delete(linkDistance)
+                .where(linkDistance.startNodeId.eq(nodeId).and(linkDistance.destinationNodeId.in(otherNodeIds))
+                        .or(linkDistance.startNodeId.in(otherNodeIds).and(linkDistance.destinationNodeId.eq(nodeId))))
+                .execute();
+    }
+
     private BooleanBuilder startNodeIdEq(String startNodeId) {
         return nullSafeBuilder(() -> linkDistance.startNodeId.eq(startNodeId));
     }
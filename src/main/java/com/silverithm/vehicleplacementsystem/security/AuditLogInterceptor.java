@@ -1,7 +1,7 @@
 package com.silverithm.vehicleplacementsystem.security;
 
 import com.silverithm.vehicleplacementsystem.entity.AuditLog;
-import com.silverithm.vehicleplacementsystem.repository.AuditLogRepository;
+import com.silverithm.vehicleplacementsystem.service.AuditLogWriter;
 import com.silverithm.vehicleplacementsystem.service.CallerCompanyResolver;
 import com.silverithm.vehicleplacementsystem.util.ClientIp;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,13 +21,14 @@ import org.springframework.web.servlet.HandlerInterceptor;
  * <p>요청 본문은 개인정보가 섞일 수 있어 저장하지 않고, 누가·언제·어떤 리소스에·
  * 어떤 결과(상태코드)였는지만 남긴다. 채팅 메시지 전송/읽음, FCM 토큰 갱신처럼
  * 고빈도·저가치 경로는 제외한다. 기록 실패가 본 요청을 깨뜨리지 않도록 삼킨다.
+ * INSERT 는 {@link AuditLogWriter} 가 요청 스레드 밖에서 모아 쓴다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuditLogInterceptor implements HandlerInterceptor {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final CallerCompanyResolver callerCompanyResolver;
 
     @Override
@@ -52,7 +53,7 @@ public class AuditLogInterceptor implements HandlerInterceptor {
 
             Long companyId = callerCompanyResolver.resolveCompanyId(username).orElse(null);
 
-            auditLogRepository.save(AuditLog.builder()
+            auditLogWriter.submit(AuditLog.builder()
                     .occurredAt(LocalDateTime.now())
                     .username(username)
                     .companyId(companyId)
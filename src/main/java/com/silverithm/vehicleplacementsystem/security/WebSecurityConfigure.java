@@ -1,10 +1,11 @@
 package com.silverithm.vehicleplacementsystem.security;
 
-import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
 import com.silverithm.vehicleplacementsystem.entity.AppUser;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.jwt.JwtAuthenticationFilter;
 import com.silverithm.vehicleplacementsystem.jwt.JwtTokenProvider;
+import com.silverithm.vehicleplacementsystem.jwt.TokenBlacklist;
+import com.silverithm.vehicleplacementsystem.jwt.VerifiedTokenCache;
 import com.silverithm.vehicleplacementsystem.repository.UserRepository;
 import com.silverithm.vehicleplacementsystem.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -45,7 +46,10 @@ public class WebSecurityConfigure {
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
-    private RedisUtils redisUtils;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenBlacklist tokenBlacklist;
 
     @Autowired
     private UserRepository userRepository;
@@ -133,7 +137,7 @@ public class WebSecurityConfigure {
                                 .requestMatchers("/ws/**").permitAll()
                                 .requestMatchers("/ws/chat/**").permitAll()
                                 .anyRequest().authenticated()
-                ).addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, redisUtils),
+                ).addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, verifiedTokenCache, tokenBlacklist),
                         UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -1,27 +1,46 @@
 package com.silverithm.vehicleplacementsystem.service;
 
-import com.silverithm.vehicleplacementsystem.repository.AuditLogRepository;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-/** 감사 로그 보존 정책: 180일 지난 기록은 매일 새벽 정리한다. */
+/**
+ * 감사 로그 보존 정책: 180일 지난 기록은 매일 새벽 정리한다.
+ *
+ * <p>한 번에 지우면 쌓인 양만큼 긴 트랜잭션이 되어 그동안 들어오는 감사 로그 INSERT 와 복제가 밀린다.
+ * {@code audit.log.purge-chunk-size} 건씩 따로 커밋하며 지운다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AuditLogRetentionScheduler {
 
     private static final int RETENTION_DAYS = 180;
 
-    private final AuditLogRepository auditLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public AuditLogRetentionScheduler(JdbcTemplate jdbcTemplate,
+                                      @Value("${audit.log.purge-chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
 
     @Scheduled(cron = "0 50 4 * * *", zone = "Asia/Seoul")
-    @Transactional
     public void purgeExpiredAuditLogs() {
-        int deleted = auditLogRepository.deleteOlderThan(LocalDateTime.now().minusDays(RETENTION_DAYS));
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(RETENTION_DAYS));
+        long deleted = 0;
+        int chunk;
+        do {
+            // occurred_at 인덱스(idx_audit_time)를 타고 오래된 것부터 지운다
+            chunk = jdbcTemplate.update(
+                    "DELETE FROM audit_logs WHERE occurred_at < ? ORDER BY occurred_at LIMIT ?", cutoff, chunkSize);
+            deleted += chunk;
+        } while (chunk == chunkSize);
+
         if (deleted > 0) {
             log.info("[Audit] 보존기간({}일) 지난 감사 로그 {}건 정리", RETENTION_DAYS, deleted);
         }
@@ -0,0 +1,162 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 감사 로그를 요청 스레드 밖에서 모아 쓴다.
+ *
+ * <p>요청 스레드는 크기가 정해진 큐({@code audit.log.queue-capacity})에 넣기만 하고, 전용 스레드가
+ * {@code audit.log.batch-size} 건이 모이거나 {@code audit.log.flush-interval-ms} 가 지나면 여러 행을 INSERT 한 번으로
+ * 쓴다. 큐가 가득 차면 요청을 기다리게 하지 않고 버린다 — 버린 건수와 쓰기 실패 건수는 메트릭으로 본다.
+ * 종료할 때는 큐에 남은 기록을 마저 쓴다.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs "
+            + "(occurred_at, username, company_id, method, uri, status_code, client_ip) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                          @Value("${audit.log.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.log.batch-size:200}") int batchSize,
+                          @Value("${audit.log.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        Gauge.builder("audit_log_queue_size", queue, BlockingQueue::size)
+                .description("쓰기를 기다리는 감사 로그 수")
+                .register(meterRegistry);
+        this.written = Counter.builder("audit_log_records")
+                .tag("result", "written")
+                .description("DB 에 쓴 감사 로그")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit_log_records")
+                .tag("result", "dropped")
+                .description("큐가 가득 차 버린 감사 로그")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit_log_records")
+                .tag("result", "failed")
+                .description("INSERT 가 실패해 잃은 감사 로그")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** 큐에 넣는다. 가득 차 있으면 기다리지 않고 버린다. */
+    public void submit(AuditLog auditLog) {
+        if (!queue.offer(auditLog)) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // 끼어들면 쓰던 INSERT 가 끊길 수 있어 멈추라고만 하고 기다린다 (poll 은 flush 주기 안에 돌아온다)
+        running = false;
+        if (worker != null) {
+            worker.join(flushIntervalMillis + SHUTDOWN_WAIT_MS);
+        }
+
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] params = new Object[batch.size() * 7];
+        int p = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            AuditLog auditLog = batch.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDER);
+            params[p++] = Timestamp.valueOf(auditLog.getOccurredAt());
+            params[p++] = auditLog.getUsername();
+            params[p++] = auditLog.getCompanyId();
+            params[p++] = auditLog.getMethod();
+            params[p++] = auditLog.getUri();
+            params[p++] = auditLog.getStatusCode();
+            params[p++] = auditLog.getClientIp();
+        }
+
+        try {
+            jdbcTemplate.update(sql.toString(), params);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("[Audit] 감사 로그 {}건 기록 실패: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
+import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 저장된 LinkDistance 를 Caffeine → Redis → DB 순으로 찾고, 없는 간선만 OSRM table 요청으로 채우는 거리 행렬.
+ * 새로 받은 간선은 양방향으로 저장해 다음 요청부터는 외부 호출 없이 행렬을 만든다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CachedDistanceMatrixProvider implements DistanceMatrixProvider {
+
+    private static final String COMPANY_PREFIX = LinkDistanceCacheService.COMPANY_NODE_ID;
+    private static final String EMPLOYEE_PREFIX = LinkDistanceCacheService.EMPLOYEE_NODE_PREFIX;
+    private static final String ELDERLY_PREFIX = LinkDistanceCacheService.ELDERLY_NODE_PREFIX;
+
+    private final LinkDistanceRepository linkDistanceRepository;
+    private final OsrmTableClient osrmTableClient;
+    private final LinkDistanceCacheService linkDistanceCacheService;
+
+    @Override
+    public DistanceMatrix provide(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                                  DispatchType dispatchType) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees.size(), elderlys.size());
+        StringBuilder idBuilder = new StringBuilder(32); // 적절한 초기 용량 설정
+
+        // 노드 순번별 주소와 LinkDistance 노드 id
+        Location[] locations = new Location[distanceMatrix.getSize()];
+        String[] nodeIds = new String[distanceMatrix.getSize()];
+
+        locations[DistanceMatrix.COMPANY] = company.companyAddress();
+        nodeIds[DistanceMatrix.COMPANY] = COMPANY_PREFIX;
+        for (int i = 0; i < employees.size(); i++) {
+            locations[distanceMatrix.employeeNode(i)] = employees.get(i).homeAddress();
+            nodeIds[distanceMatrix.employeeNode(i)] = buildEmployeeId(idBuilder, employees.get(i).id().toString());
+        }
+        for (int i = 0; i < elderlys.size(); i++) {
+            locations[distanceMatrix.elderlyNode(i)] = elderlys.get(i).homeAddress();
+            nodeIds[distanceMatrix.elderlyNode(i)] = buildElderlyId(idBuilder, elderlys.get(i).id().toString());
+        }
+
+        List<Link> links = new ArrayList<>();
+
+        // Company to Elderly connections
+        for (int i = 0; i < elderlys.size(); i++) {
+            links.add(new Link(DistanceMatrix.COMPANY, distanceMatrix.elderlyNode(i)));
+        }
+
+        // Elderly to Elderly connections
+        for (int i = 0; i < elderlys.size(); i++) {
+            for (int j = 0; j < elderlys.size(); j++) {
+                if (i == j) {
+                    continue;
+                }
+                links.add(new Link(distanceMatrix.elderlyNode(i), distanceMatrix.elderlyNode(j)));
+            }
+        }
+
+        // Employee to Elderly connections
+        for (int i = 0; i < employees.size(); i++) {
+            for (int j = 0; j < elderlys.size(); j++) {
+                links.add(new Link(distanceMatrix.employeeNode(i), distanceMatrix.elderlyNode(j)));
+            }
+        }
+
+        // 저장된 간선을 Caffeine → Redis → DB 순으로 한 번에 찾는다
+        String[] startNodeIds = new String[links.size()];
+        String[] destinationNodeIds = new String[links.size()];
+        for (int i = 0; i < links.size(); i++) {
+            startNodeIds[i] = nodeIds[links.get(i).start()];
+            destinationNodeIds[i] = nodeIds[links.get(i).end()];
+        }
+        Map<String, LinkDistance> storedLinks = linkDistanceCacheService.findAll(startNodeIds, destinationNodeIds);
+
+        Distance[] distances = new Distance[links.size()];
+        List<Integer> missingLinks = new ArrayList<>();
+
+        for (int i = 0; i < links.size(); i++) {
+            Link link = links.get(i);
+            LinkDistance linkDistance = storedLinks.get(
+                    LinkDistanceCacheService.linkKey(nodeIds[link.start()], nodeIds[link.end()]));
+
+            if (linkDistance != null) {
+                distances[i] = new Distance(linkDistance.getTotalTime(), linkDistance.getTotalDistance());
+            } else {
+                missingLinks.add(i);
+            }
+        }
+
+        if (!missingLinks.isEmpty()) {
+            fetchMissingDistances(links, missingLinks, distances, locations, nodeIds);
+        }
+
+        // 기존과 같은 순서로 채워야 양방향 값이 다를 때도 같은 행렬이 나온다
+        for (int i = 0; i < links.size(); i++) {
+            updateDistanceMatrix(links.get(i).start(), links.get(i).end(), distances[i], distanceMatrix,
+                    dispatchType);
+        }
+
+        return distanceMatrix;
+    }
+
+    /**
+     * 저장된 LinkDistance 가 없는 간선을 OSRM table 요청 몇 번으로 채우고 양방향으로 저장한다.
+     *
+     * 기존 쌍별 조회와 같이 먼저 나온 방향의 값을 역방향에도 쓴다.
+     */
+    private void fetchMissingDistances(List<Link> links, List<Integer> missingLinks, Distance[] distances,
+                                       Location[] locations, String[] nodeIds) {
+        int[] sourceIndexes = new int[locations.length];
+        int[] destinationIndexes = new int[locations.length];
+        Arrays.fill(sourceIndexes, -1);
+        Arrays.fill(destinationIndexes, -1);
+        List<Location> sources = new ArrayList<>();
+        List<Location> destinations = new ArrayList<>();
+
+        for (int index : missingLinks) {
+            Link link = links.get(index);
+            if (sourceIndexes[link.start()] < 0) {
+                sourceIndexes[link.start()] = sources.size();
+                sources.add(locations[link.start()]);
+            }
+            if (destinationIndexes[link.end()] < 0) {
+                destinationIndexes[link.end()] = destinations.size();
+                destinations.add(locations[link.end()]);
+            }
+        }
+
+        OsrmApiResponseDTO[][] table = osrmTableClient.fetchTable(sources, destinations);
+
+        Map<Link, Distance> fetched = new HashMap<>();
+        List<LinkDistance> newLinks = new ArrayList<>();
+
+        for (int index : missingLinks) {
+            Link link = links.get(index);
+            Distance distance = fetched.get(link);
+
+            if (distance == null) {
+                OsrmApiResponseDTO response = table[sourceIndexes[link.start()]][destinationIndexes[link.end()]];
+                distance = new Distance(response.duration(), response.distance());
+
+                // Save both directions
+                newLinks.add(new LinkDistance(nodeIds[link.start()], nodeIds[link.end()],
+                        response.duration(), response.distance()));
+                newLinks.add(new LinkDistance(nodeIds[link.end()], nodeIds[link.start()],
+                        response.duration(), response.distance()));
+                fetched.put(link, distance);
+                fetched.put(new Link(link.end(), link.start()), distance);
+            }
+
+            distances[index] = distance;
+        }
+
+        linkDistanceRepository.insertIgnoreAll(newLinks);
+        linkDistanceCacheService.putAll(newLinks);
+        log.info("OSRM table filled " + missingLinks.size() + " missing links with " + sources.size() + " x "
+                + destinations.size() + " matrix");
+    }
+
+    private String buildEmployeeId(StringBuilder builder, String id) {
+        builder.setLength(0); // clear builder
+        return builder.append(EMPLOYEE_PREFIX).append(id).toString();
+    }
+
+    private String buildElderlyId(StringBuilder builder, String id) {
+        builder.setLength(0); // clear builder
+        return builder.append(ELDERLY_PREFIX).append(id).toString();
+    }
+
+    private record Link(int start, int end) {
+    }
+
+    private record Distance(int duration, int distance) {
+    }
+
+    private void updateDistanceMatrix(
+            int start,
+            int end,
+            Distance distance,
+            DistanceMatrix distanceMatrix,
+            DispatchType dispatchType
+    ) {
+        int value = switch (dispatchType) {
+            case DISTANCE_IN, DISTANCE_OUT -> distance.distance();
+            case DURATION_IN, DURATION_OUT -> distance.duration();
+        };
+
+        distanceMatrix.setSymmetric(start, end, value);
+    }
+}
@@ -1,53 +1,166 @@
 package com.silverithm.vehicleplacementsystem.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.silverithm.vehicleplacementsystem.entity.AppUser;
 import com.silverithm.vehicleplacementsystem.entity.Company;
 import com.silverithm.vehicleplacementsystem.entity.Member;
+import com.silverithm.vehicleplacementsystem.jwt.CarevPrincipal;
 import com.silverithm.vehicleplacementsystem.repository.MemberRepository;
 import com.silverithm.vehicleplacementsystem.repository.UserRepository;
+import java.time.Duration;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * JWT principal → 요청자의 소속 기관(company) 해석.
  *
  * <p>계정이 Member(직원)와 AppUser(관리자) 두 테이블로 나뉘어 있어 조회 순서가 정해져 있다.
  * 인가 판단의 기준이 되는 값이므로 이 해석 로직은 한 곳에만 두고 재사용한다.
+ *
+ * <p>한 요청 안에서 인터셉터·가드·서비스가 같은 사람을 여러 번 묻기 때문에 해석 결과({@link CallerContext})를
+ * 요청 속성에 한 번, 인스턴스 캐시에 짧게({@code caller-context.cache.ttl-seconds}) 담아 둔다. 소속이 바뀌는 곳
+ * (기관 생성·회원 삭제)은 {@link #evict(String, Long, String)} 를 부른다. 다른 인스턴스의 캐시는 TTL 이 지나야 바뀐다.
+ * 토큰에 신원 클레임(유형·id)이 있으면 그 테이블만 id 로 찾고, 캐시 키도 "유형:id" 로 잡는다 — 직원 로그인 아이디는
+ * 직원끼리만 겹치지 않아 관리자 이메일과 같을 수 있다. 이름 키는 클레임이 없는 옛 토큰에만 쓴다.
  */
 @Service
-@RequiredArgsConstructor
 public class CallerCompanyResolver {
 
+    private static final String REQUEST_ATTRIBUTE_PREFIX = CallerCompanyResolver.class.getName() + ".";
+
     private final MemberRepository memberRepository;
     private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, CallerContext> contexts;
+
+    public CallerCompanyResolver(MemberRepository memberRepository, UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${caller-context.cache.ttl-seconds:30}") long ttlSeconds,
+                                 @Value("${caller-context.cache.maximum-size:10000}") long maximumSize) {
+        this.memberRepository = memberRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
 
     /**
      * 요청자의 소속 기관 ID. 사용자를 찾지 못했거나 소속 기관이 없으면 비어 있다.
      *
      * @param username JWT principal (Member는 로그인 아이디, AppUser는 이메일)
      */
-    @Transactional(readOnly = true)
     public Optional<Long> resolveCompanyId(String username) {
-        return resolveCompany(username).map(Company::getId);
+        return Optional.ofNullable(resolveContext(username).companyId());
     }
 
     /** 요청자가 체험(데모) 기관 소속인지 여부. 사용자를 찾지 못하면 false. */
-    @Transactional(readOnly = true)
     public boolean isDemoCaller(String username) {
-        return resolveCompany(username).map(Company::isDemoCompany).orElse(false);
+        return resolveContext(username).demoCompany();
     }
 
-    /** 요청자의 소속 기관. 관리자·직원 어느 쪽으로 로그인했든 같은 결과를 준다. */
+    /**
+     * 요청자의 소속 기관. 관리자·직원 어느 쪽으로 로그인했든 같은 결과를 준다.
+     * 엔티티를 돌려주므로 캐시하지 않는다 — ID 만 필요하면 {@link #resolveCompanyId(String)} 를 쓴다.
+     */
     @Transactional(readOnly = true)
     public Optional<Company> resolveCallerCompany(String username) {
-        return resolveCompany(username);
+        if (username == null || username.isBlank()) {
+            return Optional.empty();
+        }
+        return findCompany(username);
     }
 
-    private Optional<Company> resolveCompany(String username) {
+    /** 요청자의 계정 유형·id·역할·소속 기관. 사용자를 찾지 못하면 {@link CallerContext#UNKNOWN}. */
+    public CallerContext resolveContext(String username) {
         if (username == null || username.isBlank()) {
-            return Optional.empty();
+            return CallerContext.UNKNOWN;
+        }
+
+        CarevPrincipal principal = currentPrincipal(username);
+        String key = principal != null
+                ? identityKey(principal.getPrincipalType(), principal.getPrincipalId())
+                : usernameKey(username);
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + key;
+        if (request != null && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST)
+                instanceof CallerContext memoized) {
+            return memoized;
+        }
+
+        CallerContext context = contexts.getIfPresent(key);
+        if (context == null) {
+            context = readOnlyTransaction.execute(status -> load(principal, username));
+            // 가입 전에 물어본 이름이 "없음"으로 굳지 않도록 찾은 사람만 담는다
+            if (context.known()) {
+                contexts.put(key, context);
+            }
+        }
+        if (request != null) {
+            request.setAttribute(attribute, context, RequestAttributes.SCOPE_REQUEST);
+        }
+        return context;
+    }
+
+    /**
+     * 소속 기관이 바뀐 계정의 캐시를 신원 키·이름 키 모두 버린다.
+     *
+     * @param principalType {@link CarevPrincipal#TYPE_ADMIN} / {@link CarevPrincipal#TYPE_MEMBER}
+     * @param username      그 계정의 principal 이름 (Member는 로그인 아이디, AppUser는 이메일)
+     */
+    public void evict(String principalType, Long principalId, String username) {
+        if (principalType != null && principalId != null) {
+            contexts.invalidate(identityKey(principalType, principalId));
+        }
+        if (username != null) {
+            contexts.invalidate(usernameKey(username));
+        }
+    }
+
+    private static String identityKey(String principalType, Long principalId) {
+        return principalType + ":" + principalId;
+    }
+
+    // 신원 키와 섞이지 않도록 구분자를 붙인다 (이메일·아이디에는 공백이 없다)
+    private static String usernameKey(String username) {
+        return "name " + username;
+    }
+
+    private CallerContext load(CarevPrincipal principal, String username) {
+        if (principal != null) {
+            // 토큰이 유형을 알려주므로 다른 테이블을 헛짚지 않는다
+            return principal.isAdminAccount()
+                    ? userRepository.findById(principal.getPrincipalId()).map(CallerContext::of)
+                            .orElse(CallerContext.UNKNOWN)
+                    : memberRepository.findById(principal.getPrincipalId()).map(CallerContext::of)
+                            .orElse(CallerContext.UNKNOWN);
+        }
+
+        Optional<Member> member = memberRepository.findByUsername(username);
+        if (member.isPresent()) {
+            return CallerContext.of(member.get());
+        }
+        return userRepository.findByEmail(username).map(CallerContext::of).orElse(CallerContext.UNKNOWN);
+    }
+
+    private Optional<Company> findCompany(String username) {
+        CarevPrincipal principal = currentPrincipal(username);
+        if (principal != null) {
+            return principal.isAdminAccount()
+                    ? userRepository.findById(principal.getPrincipalId()).map(AppUser::getCompany)
+                    : memberRepository.findById(principal.getPrincipalId()).map(Member::getCompany);
         }
 
         Optional<Member> member = memberRepository.findByUsername(username);
@@ -62,4 +175,50 @@ public class CallerCompanyResolver {
 
         return Optional.empty();
     }
+
+    /** 지금 로그인한 사람이 username 이고 토큰에 신원 클레임이 있을 때만 돌려준다 (옛 토큰·다른 사람이면 null) */
+    private static CarevPrincipal currentPrincipal(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof CarevPrincipal principal
+                && principal.hasIdentity()
+                && username.equals(principal.getUsername())) {
+            return principal;
+        }
+        return null;
+    }
+
+    /**
+     * 요청자 해석 결과.
+     *
+     * @param principalType {@link CarevPrincipal#TYPE_ADMIN} / {@link CarevPrincipal#TYPE_MEMBER}
+     * @param principalId   app_user.id 또는 members.id
+     * @param role          Member.Role 또는 UserRole 이름
+     * @param companyId     소속 기관이 없으면 null
+     */
+    public record CallerContext(String principalType, Long principalId, String role, Long companyId,
+                                boolean demoCompany) {
+
+        public static final CallerContext UNKNOWN = new CallerContext(null, null, null, null, false);
+
+        public boolean known() {
+            return principalId != null;
+        }
+
+        static CallerContext of(Member member) {
+            Company company = member.getCompany();
+            return new CallerContext(CarevPrincipal.TYPE_MEMBER, member.getId(),
+                    member.getRole() != null ? member.getRole().name() : null,
+                    company != null ? company.getId() : null,
+                    company != null && company.isDemoCompany());
+        }
+
+        static CallerContext of(AppUser appUser) {
+            Company company = appUser.getCompany();
+            return new CallerContext(CarevPrincipal.TYPE_ADMIN, appUser.getId(),
+                    appUser.getUserRole() != null ? appUser.getUserRole().name() : null,
+                    company != null ? company.getId() : null,
+                    company != null && company.isDemoCompany());
+        }
+    }
 }
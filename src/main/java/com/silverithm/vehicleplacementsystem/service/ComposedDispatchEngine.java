@@ -0,0 +1,30 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.util.List;
+
+/**
+ * 거리 행렬을 만든 뒤 풀이에 넘기는 엔진. 이름은 풀이 이름을 따른다.
+ */
+public record ComposedDispatchEngine(DistanceMatrixProvider distanceMatrixProvider, DispatchSolver solver,
+                                     SSEService sseService) implements DispatchEngine {
+
+    @Override
+    public String name() {
+        return solver.name();
+    }
+
+    @Override
+    public List<AssignmentResponseDTO> dispatch(RequestDispatchDTO requestDispatchDTO) throws Exception {
+        sseService.notify(requestDispatchDTO.userName(), 5);
+
+        // 거리 행렬 계산
+        DistanceMatrix distanceMatrix = distanceMatrixProvider.provide(requestDispatchDTO.employees(),
+                requestDispatchDTO.elderlys(), requestDispatchDTO.company(), requestDispatchDTO.dispatchType());
+        sseService.notify(requestDispatchDTO.userName(), 15);
+
+        return solver.solve(requestDispatchDTO, distanceMatrix);
+    }
+}
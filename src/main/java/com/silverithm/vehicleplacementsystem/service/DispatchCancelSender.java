@@ -0,0 +1,43 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * 이미 브로커로 넘어간 배차 작업의 취소를 워커에 알린다.
+ *
+ * 본문은 비우고 jobId·reason 헤더만 보낸다. 보내지 못해도 응답 리스너가 취소된 작업의 결과를 버리므로 이력은 남지 않는다 —
+ * 워커가 끝까지 돌 뿐이다.
+ */
+@Slf4j
+@Service
+public class DispatchCancelSender {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Queue dispatchCancelQueue;
+
+    public DispatchCancelSender(RabbitTemplate rabbitTemplate,
+                                @Qualifier("dispatchCancelQueue") Queue dispatchCancelQueue) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.dispatchCancelQueue = dispatchCancelQueue;
+    }
+
+    public void send(String jobId, String reason) {
+        MessageProperties properties = MessagePropertiesBuilder.newInstance()
+                .setHeader("jobId", jobId)
+                .setHeader("reason", reason)
+                .build();
+        try {
+            rabbitTemplate.send(dispatchCancelQueue.getName(), new Message(new byte[0], properties));
+        } catch (AmqpException e) {
+            log.warn("배차 작업 {} 취소 통지 실패: {}", jobId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import java.util.List;
+
+/**
+ * 배차 요청 한 건을 받아 차량별 배정을 돌려주는 엔진. 거리 행렬을 만드는 {@link DistanceMatrixProvider} 와 그 행렬로
+ * 배정을 푸는 {@link DispatchSolver} 를 묶어 만든다. 기관마다 쓸 엔진은 {@link DispatchEngineRegistry} 가 고른다.
+ */
+public interface DispatchEngine {
+
+    /** 배차 설정의 "engine" 값과 벤치마크 보고서에 쓰는 이름 */
+    String name();
+
+    List<AssignmentResponseDTO> dispatch(RequestDispatchDTO requestDispatchDTO) throws Exception;
+}
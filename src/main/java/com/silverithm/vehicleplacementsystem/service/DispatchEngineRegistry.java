@@ -0,0 +1,79 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.repository.DispatchSettingRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 등록된 {@link DispatchSolver} 마다 공용 {@link DistanceMatrixProvider} 를 붙인 엔진을 만들어 이름으로 찾아 준다.
+ *
+ * 기관마다 쓸 엔진은 배차 설정의 "engine" 항목({ "engine": "ga-v4" })으로 고른다. 항목이 없거나 모르는 이름이면
+ * {@link #DEFAULT_ENGINE} 을 쓴다.
+ */
+@Service
+@Slf4j
+public class DispatchEngineRegistry {
+
+    public static final String DEFAULT_ENGINE = GeneticAlgorithmV5Solver.NAME;
+
+    private final Map<String, DispatchEngine> engines = new LinkedHashMap<>();
+    private final CallerCompanyResolver callerCompanyResolver;
+    private final DispatchSettingRepository dispatchSettingRepository;
+    private final ObjectMapper objectMapper;
+
+    public DispatchEngineRegistry(List<DispatchSolver> solvers, DistanceMatrixProvider distanceMatrixProvider,
+                                  SSEService sseService, CallerCompanyResolver callerCompanyResolver,
+                                  DispatchSettingRepository dispatchSettingRepository, ObjectMapper objectMapper) {
+        for (DispatchSolver solver : solvers) {
+            DispatchEngine engine = new ComposedDispatchEngine(distanceMatrixProvider, solver, sseService);
+            if (engines.putIfAbsent(engine.name(), engine) != null) {
+                throw new IllegalStateException("배차 엔진 이름이 겹칩니다: " + engine.name());
+            }
+        }
+        if (!engines.containsKey(DEFAULT_ENGINE)) {
+            throw new IllegalStateException("기본 배차 엔진이 등록되지 않았습니다: " + DEFAULT_ENGINE);
+        }
+        this.callerCompanyResolver = callerCompanyResolver;
+        this.dispatchSettingRepository = dispatchSettingRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public Set<String> names() {
+        return engines.keySet();
+    }
+
+    public DispatchEngine get(String name) {
+        DispatchEngine engine = engines.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("등록되지 않은 배차 엔진입니다: " + name);
+        }
+        return engine;
+    }
+
+    /** 요청자 소속 기관의 배차 설정에서 고른 엔진 */
+    public DispatchEngine forUser(String userName) {
+        String name = callerCompanyResolver.resolveCompanyId(userName)
+                .flatMap(dispatchSettingRepository::findByCompanyId)
+                .map(setting -> {
+                    try {
+                        return objectMapper.readTree(setting.getSettingsJson()).path("engine").asText(null);
+                    } catch (Exception e) {
+                        log.warn("dispatch settings parse failed, using default engine : " + e.getMessage());
+                        return null;
+                    }
+                })
+                .orElse(DEFAULT_ENGINE);
+
+        DispatchEngine engine = engines.get(name);
+        if (engine == null) {
+            log.warn("unknown dispatch engine '{}', using {}", name, DEFAULT_ENGINE);
+            return engines.get(DEFAULT_ENGINE);
+        }
+        return engine;
+    }
+}
@@ -7,12 +7,14 @@ import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.DispatchHistoryDTO;
 import com.silverithm.vehicleplacementsystem.dto.DispatchHistoryDetailDTO;
 import com.silverithm.vehicleplacementsystem.entity.DispatchHistory;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.repository.DispatchHistoryRepository;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cglib.core.Local;
@@ -37,7 +39,8 @@ public class DispatchHistoryService {
         this.objectMapper = objectMapper;
     }
 
-    public void saveDispatchResult(List<AssignmentResponseDTO> result, String username) throws JsonProcessingException {
+    public void saveDispatchResult(List<AssignmentResponseDTO> result, String username, Long seed)
+            throws JsonProcessingException {
 
         if (result == null || result.isEmpty()) {
             log.warn("배차 결과가 비어있습니다. 사용자: {}", username);
@@ -48,11 +51,44 @@ public class DispatchHistoryService {
                 objectMapper.writeValueAsString(result),
                 (int) result.stream().map(AssignmentResponseDTO::employeeId).distinct().count(),
                 result.stream().mapToInt(r -> r.assignmentElders().size()).sum(), result.get(0).dispatchType(),
-                result.stream().mapToInt(AssignmentResponseDTO::time).sum(), username);
+                result.stream().mapToInt(AssignmentResponseDTO::time).sum(), username, seed);
 
         repository.save(dispatchHistory);
     }
 
+    /**
+     * 사용자의 같은 배차 유형 직전 결과. 이력이 없거나 읽지 못하면 비어 있다.
+     */
+    public Optional<List<AssignmentResponseDTO>> findLatestResult(String username, DispatchType dispatchType) {
+        return repository.findFirstByUsernameAndDispatchTypeOrderByCreatedAtDesc(username, dispatchType)
+                .flatMap(history -> {
+                    try {
+                        return Optional.of(objectMapper.readValue(history.getDispatchResult(),
+                                new TypeReference<List<AssignmentResponseDTO>>() {
+                                }));
+                    } catch (JsonProcessingException e) {
+                        log.warn("배차 이력 {} 결과를 읽지 못했습니다: {}", history.getId(), e.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    /**
+     * 요청자 본인의 배차 이력 결과. 이력이 없거나 다른 사용자의 것이면 예외를 던진다.
+     */
+    public List<AssignmentResponseDTO> getOwnedResult(Long historyId, String username)
+            throws JsonProcessingException {
+        DispatchHistory history = repository.findById(historyId)
+                .orElseThrow(() -> new CustomException("기록을 찾을 수 없습니다", HttpStatus.BAD_REQUEST));
+
+        if (!history.getUsername().equals(username)) {
+            throw new CustomException("이 기록에 접근할 권한이 없습니다", HttpStatus.FORBIDDEN);
+        }
+
+        return objectMapper.readValue(history.getDispatchResult(), new TypeReference<List<AssignmentResponseDTO>>() {
+        });
+    }
+
     public Page<DispatchHistoryDTO> getDispatchHistories(@AuthenticationPrincipal UserDetails userDetails,
                                                          Pageable pageable) {
 
@@ -78,7 +114,7 @@ public class DispatchHistoryService {
                 new TypeReference<List<AssignmentResponseDTO>>() {
                 }
         );
-        return new DispatchHistoryDetailDTO(history.getId(), history.getCreatedAt(), assignments);
+        return new DispatchHistoryDetailDTO(history.getId(), history.getCreatedAt(), assignments, history.getSeed());
     }
 
     public ResponseEntity<Long> deleteHistory(Long id, UserDetails userDetails) {
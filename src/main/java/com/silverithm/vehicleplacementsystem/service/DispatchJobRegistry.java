@@ -0,0 +1,143 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
+import com.silverithm.vehicleplacementsystem.entity.DispatchJob;
+import com.silverithm.vehicleplacementsystem.entity.DispatchJob.Status;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 큐에 넣은 배차 작업 목록. 사용자가 작업을 취소하거나 같은 사용자가 같은 배차 유형으로 새 요청을 보내 이전 작업을 대신하면 작업을 취소로
+ * 표시한다. GeneticAlgorithmV5 는 세대 사이마다 {@link #isCancelled(String)} 를 보고 멈춘다.
+ *
+ * 하루 배차 횟수는 작업이 아직 이 인스턴스의 대기열에 있어 워커에 가지 않았을 때만 돌려준다. 이미 브로커로 넘어간 작업은
+ * 워커에 취소를 알리고 횟수는 그대로 둔다 — 워커는 그 작업을 이미 돌리고 있으니 돌려주면 다시 요청해 제한을 넘길 수 있다.
+ *
+ * 작업 목록은 이 인스턴스 메모리에만 있다. 재시작 전에 넣은 작업의 결과는 모르는 작업으로 보고 그대로 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DispatchJobRegistry {
+
+    public static final String CANCELLED_BY_USER = "USER";
+    public static final String CANCELLED_BY_SUPERSEDE = "SUPERSEDED";
+
+    private static final long FINISHED_RETENTION_MILLIS = 10L * 60 * 1000;
+    private static final long MAX_AGE_MILLIS = 60L * 1000 * 60 * 5;
+
+    private final Map<String, DispatchJob> jobs = new ConcurrentHashMap<>();
+    // 사용자·배차 유형별 아직 끝나지 않은 마지막 작업
+    private final Map<ActiveKey, String> activeJobs = new ConcurrentHashMap<>();
+
+    private final RedisUtils redisUtils;
+    private final DispatchProgressPublisher dispatchProgressPublisher;
+    private final DispatchScheduler dispatchScheduler;
+    private final DispatchCancelSender dispatchCancelSender;
+
+    /**
+     * 새 작업을 등록한다. 같은 사용자의 같은 배차 유형 작업이 끝나지 않았으면 새 요청이 대신하므로 취소한다 — 출근·퇴근
+     * 배차처럼 유형이 다르면 둘 다 둔다. seed 는 워커에 보낸 시드로,
+     * 결과가 오면 {@link #seedOf(String)} 로 꺼내 배차 이력에 남긴다 — 워커가 응답에 시드를 돌려준다는 보장이 없다.
+     */
+    public void register(String jobId, String userName, DispatchType dispatchType, Long seed) {
+        DispatchJob job = new DispatchJob(jobId, userName, dispatchType, System.currentTimeMillis(), seed);
+        jobs.put(jobId, job);
+
+        String previousJobId = activeJobs.put(ActiveKey.of(job), jobId);
+        DispatchJob previous = previousJobId == null ? null : jobs.get(previousJobId);
+        if (previous != null && cancel(previous, CANCELLED_BY_SUPERSEDE)) {
+            log.info("배차 작업 {} 이(가) 새 요청 {} 으로 대체되어 취소되었습니다.", previousJobId, jobId);
+        }
+    }
+
+    /** 사용자가 자기 작업을 취소한다. 이미 결과가 왔거나 실패한 작업이면 CONFLICT. */
+    public void cancel(String jobId, String userName) {
+        DispatchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new CustomException("배차 작업을 찾을 수 없습니다", HttpStatus.NOT_FOUND);
+        }
+        if (!job.getUserName().equals(userName)) {
+            throw new CustomException("다른 사용자의 배차 작업입니다", HttpStatus.FORBIDDEN);
+        }
+        if (!cancel(job, CANCELLED_BY_USER)) {
+            throw new CustomException("이미 끝난 배차 작업입니다", HttpStatus.CONFLICT);
+        }
+        log.info("배차 작업 {} 이(가) 사용자 요청으로 취소되었습니다.", jobId);
+    }
+
+    /** 큐에 넣을 때 정한 시드. 모르는 작업(재시작 전에 넣은 작업 등)이면 null. */
+    public Long seedOf(String jobId) {
+        DispatchJob job = jobId == null ? null : jobs.get(jobId);
+        return job == null ? null : job.getSeed();
+    }
+
+    public boolean isCancelled(String jobId) {
+        DispatchJob job = jobId == null ? null : jobs.get(jobId);
+        return job != null && job.isCancelled();
+    }
+
+    /**
+     * 결과가 왔을 때 부른다. 취소된 작업이면 false — 결과를 저장하지 않는다.
+     */
+    public boolean complete(String jobId) {
+        return finish(jobId, Status.COMPLETED);
+    }
+
+    /**
+     * 실패했을 때 부른다. 취소된 작업이면 false — 하루 배차 횟수는 취소할 때 정리했다.
+     */
+    public boolean fail(String jobId) {
+        return finish(jobId, Status.FAILED);
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictFinishedJobs() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.getStatus() == Status.QUEUED
+                ? now - job.getCreatedAt() > MAX_AGE_MILLIS
+                : now - job.getFinishedAt() > FINISHED_RETENTION_MILLIS);
+        activeJobs.values().removeIf(jobId -> !jobs.containsKey(jobId));
+    }
+
+    private boolean finish(String jobId, Status status) {
+        DispatchJob job = jobs.get(jobId);
+        if (job == null) {
+            return true;
+        }
+        activeJobs.remove(ActiveKey.of(job), jobId);
+        return job.finish(status);
+    }
+
+    private boolean cancel(DispatchJob job, String reason) {
+        if (!job.finish(Status.CANCELLED)) {
+            return false;
+        }
+        activeJobs.remove(ActiveKey.of(job), job.getJobId());
+        // 아직 브로커에 넣지 않았으면 대기열에서 빼고 횟수를 돌려준다. 이미 넘어갔으면 워커에 멈추라고 알리고 슬롯을 바로
+        // 돌려받는다 — 멈춘 워커가 응답을 보낸다는 보장이 없어, 기다리면 기관 슬롯 하나가 in-flight 시간 제한까지 묶인다.
+        // 뒤늦게 응답이 와도 release 는 모르는 작업으로 보고 넘어간다.
+        if (dispatchScheduler.withdraw(job.getJobId())) {
+            redisUtils.decrementDailyRequestCount(job.getUserName());
+        } else {
+            dispatchCancelSender.send(job.getJobId(), reason);
+            dispatchScheduler.release(job.getJobId());
+        }
+        dispatchProgressPublisher.cancel(job.getJobId(), reason);
+        return true;
+    }
+
+    private record ActiveKey(String userName, DispatchType dispatchType) {
+
+        static ActiveKey of(DispatchJob job) {
+            return new ActiveKey(job.getUserName(), job.getDispatchType());
+        }
+    }
+}
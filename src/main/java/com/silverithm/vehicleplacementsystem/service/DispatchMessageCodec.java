@@ -0,0 +1,122 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배차 요청·응답 메시지 본문 인코딩.
+ *
+ * 본문 형식은 content-type 으로 고른다 — application/json(기존) 또는 application/cbor. 보낼 때는
+ * {@code dispatch.message.content-type} 형식으로 쓰고, 받을 수 있는 형식을 {@link #ACCEPT_HEADER} 에 실어 워커가
+ * 응답 형식을 고르게 한다. 받을 때는 메시지의 content-type 을 따르므로 워커를 나눠 배포하는 동안에도 두 형식이 섞여 올 수
+ * 있다. {@code dispatch.message.compression-enabled} 이면 {@code compression-min-bytes} 이상인 본문을 gzip 으로 줄이고
+ * content-encoding 에 표시한다.
+ *
+ * 본문 스키마가 바뀌면 {@link #FORMAT_VERSION} 을 올린다. 지원하는 것보다 높은 버전의 메시지는 읽지 않는다.
+ */
+@Component
+public class DispatchMessageCodec {
+
+    public static final String JSON = MessageProperties.CONTENT_TYPE_JSON;
+    public static final String CBOR = "application/cbor";
+    public static final String GZIP = "gzip";
+
+    public static final String FORMAT_VERSION_HEADER = "formatVersion";
+    public static final String ACCEPT_HEADER = "acceptContentTypes";
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String ACCEPTED_CONTENT_TYPES = CBOR + "," + JSON;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final String contentType;
+    private final boolean compressionEnabled;
+    private final int compressionMinBytes;
+    private final int maxBodyBytes;
+
+    public DispatchMessageCodec(ObjectMapper objectMapper,
+                                @Value("${dispatch.message.content-type:application/json}") String contentType,
+                                @Value("${dispatch.message.compression-enabled:false}") boolean compressionEnabled,
+                                @Value("${dispatch.message.compression-min-bytes:8192}") int compressionMinBytes,
+                                @Value("${dispatch.message.max-body-bytes:67108864}") int maxBodyBytes) {
+        if (!JSON.equals(contentType) && !CBOR.equals(contentType)) {
+            throw new IllegalArgumentException("지원하지 않는 배차 메시지 형식입니다: " + contentType);
+        }
+        this.jsonMapper = objectMapper;
+        // Spring 이 구성한 모듈·설정(JavaTimeModule 등)을 그대로 쓴다
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.contentType = contentType;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionMinBytes = compressionMinBytes;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /** payload 를 설정한 형식으로 써서 properties 와 묶는다. properties 의 content-type·encoding 은 덮어쓴다. */
+    public Message encode(Object payload, MessageProperties properties) throws JsonProcessingException {
+        byte[] body = mapperFor(contentType).writeValueAsBytes(payload);
+
+        properties.setContentType(contentType);
+        properties.setHeader(FORMAT_VERSION_HEADER, FORMAT_VERSION);
+        properties.setHeader(ACCEPT_HEADER, ACCEPTED_CONTENT_TYPES);
+        if (compressionEnabled && body.length >= compressionMinBytes) {
+            body = gzip(body);
+            properties.setContentEncoding(GZIP);
+        }
+        properties.setContentLength(body.length);
+        return new Message(body, properties);
+    }
+
+    /**
+     * 메시지의 content-type·content-encoding 에 맞춰 본문을 읽는다. content-type 이 없으면 기존 JSON 으로 본다.
+     */
+    public <T> T decode(Message message, TypeReference<T> type) throws IOException {
+        MessageProperties properties = message.getMessageProperties();
+        Object version = properties.getHeader(FORMAT_VERSION_HEADER);
+        if (version != null && Integer.parseInt(version.toString()) > FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 배차 메시지 버전입니다: " + version);
+        }
+
+        ObjectMapper mapper = mapperFor(properties.getContentType());
+        if (!GZIP.equalsIgnoreCase(properties.getContentEncoding())) {
+            return mapper.readValue(message.getBody(), type);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(message.getBody()))) {
+            // 압축을 풀면 브로커의 본문 크기 제한이 듣지 않으므로 여기서 한 번 더 막는다
+            byte[] body = in.readNBytes(maxBodyBytes + 1);
+            if (body.length > maxBodyBytes) {
+                throw new IOException("압축을 푼 배차 메시지가 너무 큽니다: " + maxBodyBytes + " bytes 초과");
+            }
+            return mapper.readValue(body, type);
+        }
+    }
+
+    private ObjectMapper mapperFor(String contentType) {
+        if (contentType != null && contentType.startsWith(CBOR)) {
+            return cborMapper;
+        }
+        return jsonMapper;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,106 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 배차 작업 하나의 SSE 이벤트 기록과 구독자 목록.
+ *
+ * 진행률은 GA 스레드가 {@link #offerProgress(int)} 로 값만 덮어쓰고, 발행 주기마다 {@link #collectProgress()} 가 바뀐
+ * 값이 있을 때만 이벤트로 만든다. 진행률 이벤트는 마지막 하나만 남기고, 종료·결과·오류 이벤트는 모두 남긴다. 그래서
+ * Last-Event-ID 로 다시 붙은 클라이언트도 최신 진행률과 놓친 종료 이벤트를 빠짐없이 받는다.
+ */
+class DispatchProgressChannel {
+
+    record Event(long id, String name, Object data) {
+    }
+
+    static class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile long lastSentId;
+
+        Subscriber(SseEmitter emitter, long lastSentId) {
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+        }
+    }
+
+    @Getter
+    private final String userName;
+    @Getter
+    private final long openedAt;
+    private final List<Event> events = new ArrayList<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private long lastEventId;
+    private volatile int pendingPercent = -1;
+    private int publishedPercent = -1;
+    // 결과나 오류를 남긴 시각. 0 이면 아직 진행 중
+    @Getter
+    private volatile long finishedAt;
+
+    DispatchProgressChannel(String userName, long openedAt) {
+        this.userName = userName;
+        this.openedAt = openedAt;
+    }
+
+    /** GA 스레드에서 부른다. 값만 덮어쓰고 전송은 발행 주기에 맡긴다. */
+    void offerProgress(int percent) {
+        pendingPercent = percent;
+    }
+
+    /** 마지막 발행 뒤 진행률이 바뀌었으면 진행률 이벤트를 새로 남긴다. 이전 진행률 이벤트는 지운다. */
+    synchronized void collectProgress() {
+        int percent = pendingPercent;
+        if (percent == publishedPercent) {
+            return;
+        }
+        publishedPercent = percent;
+        events.removeIf(event -> DispatchProgressPublisher.PROGRESS_EVENT.equals(event.name()));
+        events.add(new Event(++lastEventId, DispatchProgressPublisher.PROGRESS_EVENT, percent));
+    }
+
+    synchronized void append(String name, Object data, boolean terminal) {
+        // 종료 이벤트 앞에 아직 내보내지 않은 진행률이 있으면 먼저 남겨 순서를 지킨다
+        collectProgress();
+        events.add(new Event(++lastEventId, name, data));
+        if (terminal) {
+            finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    synchronized List<Event> eventsAfter(long eventId) {
+        List<Event> after = new ArrayList<>();
+        for (Event event : events) {
+            if (event.id() > eventId) {
+                after.add(event);
+            }
+        }
+        return after;
+    }
+
+    synchronized long lastEventId() {
+        return lastEventId;
+    }
+
+    boolean isFinished() {
+        return finishedAt > 0;
+    }
+
+    List<Subscriber> subscribers() {
+        return subscribers;
+    }
+
+    void addSubscriber(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void removeSubscriber(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+}
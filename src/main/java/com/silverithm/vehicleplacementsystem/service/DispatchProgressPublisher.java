@@ -0,0 +1,210 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressChannel.Event;
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressChannel.Subscriber;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 배차 작업(jobId)별 SSE 진행률 채널.
+ *
+ * GA 는 세대마다 {@link #progress(String, int)} 로 값만 남기고 바로 돌아간다. 발행은 정해진 주기({@code
+ * dispatch.progress.flush-interval-ms}, 기본 250ms)마다 모아서 하고, 소켓 쓰기는 sseSenderExecutor 에서 구독자별로
+ * 한 번에 하나만 돈다. 느린 클라이언트는 앞선 전송이 끝날 때까지 건너뛰고 다음 주기에 최신 값만 받으므로 GA 스레드나
+ * 다른 구독자를 붙잡지 않는다. 발행 주기는 이 클래스가 가진 전용 스레드가 돈다 — Spring 기본 스케줄러는 스레드가 하나라
+ * 뉴스 수집·감사 로그 정리 같은 긴 작업 뒤에 줄 서면 진행률이 몇 초씩 멈춘다.
+ *
+ * 이벤트 아이디는 작업별 순번이다. 다시 붙은 클라이언트가 Last-Event-ID 를 보내면 그 뒤 이벤트만 이어서 보낸다.
+ * 끝난 작업의 기록은 {@link #FINISHED_RETENTION_MILLIS} 동안 남겨 결과를 놓친 클라이언트가 다시 받을 수 있게 한다.
+ */
+@Slf4j
+@Service
+public class DispatchProgressPublisher {
+
+    public static final String PROGRESS_EVENT = "progress";
+    public static final String STOP_EVENT = "stop";
+    public static final String RESULT_EVENT = "dispatch";
+    public static final String ERROR_EVENT = "error";
+    public static final String CANCELLED_EVENT = "cancelled";
+
+    private static final long EMITTER_TIMEOUT = 60L * 1000 * 60 * 5;
+    private static final long FINISHED_RETENTION_MILLIS = 10L * 60 * 1000;
+
+    private final Map<String, DispatchProgressChannel> channels = new ConcurrentHashMap<>();
+    private final Executor sseSenderExecutor;
+    private final long flushIntervalMillis;
+    private ScheduledExecutorService flusher;
+
+    public DispatchProgressPublisher(@Qualifier("sseSenderExecutor") Executor sseSenderExecutor,
+                                     @Value("${dispatch.progress.flush-interval-ms:250}") long flushIntervalMillis) {
+        this.sseSenderExecutor = sseSenderExecutor;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-progress-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+    }
+
+    /** 배차 요청을 큐에 넣을 때 작업 채널을 연다. 구독은 연 사용자만 할 수 있다. */
+    public void open(String jobId, String userName) {
+        channels.putIfAbsent(jobId, new DispatchProgressChannel(userName, System.currentTimeMillis()));
+    }
+
+    /** 진행률(0~100). 열리지 않은 작업이면 버린다 — 벤치마크처럼 jobId 없이 돌리는 경우. */
+    public void progress(String jobId, int percent) {
+        DispatchProgressChannel channel = channel(jobId);
+        if (channel != null) {
+            channel.offerProgress(percent);
+        }
+    }
+
+    public void stop(String jobId, StopReason stopReason, int generations) {
+        append(jobId, STOP_EVENT, Map.of(
+                "reason", stopReason.name(),
+                "description", stopReason.getDescription(),
+                "generations", generations), false);
+    }
+
+    public void complete(String jobId, List<AssignmentResponseDTO> result) {
+        append(jobId, RESULT_EVENT, result, true);
+    }
+
+    public void fail(String jobId) {
+        append(jobId, ERROR_EVENT, "dispatch error", true);
+    }
+
+    /** @param reason 취소 사유 ({@link DispatchJobRegistry#CANCELLED_BY_USER} 등) */
+    public void cancel(String jobId, String reason) {
+        append(jobId, CANCELLED_EVENT, Map.of("reason", reason), true);
+    }
+
+    /**
+     * 작업 진행률 스트림을 구독한다. lastEventId 가 있으면 그 뒤 이벤트부터, 없으면 남아 있는 이벤트 전체를 보낸다.
+     */
+    public SseEmitter subscribe(String jobId, String userName, Long lastEventId) {
+        DispatchProgressChannel channel = channel(jobId);
+        if (channel == null) {
+            throw new CustomException("배차 작업을 찾을 수 없습니다", HttpStatus.NOT_FOUND);
+        }
+        if (!channel.getUserName().equals(userName)) {
+            throw new CustomException("다른 사용자의 배차 작업입니다", HttpStatus.FORBIDDEN);
+        }
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? 0 : lastEventId);
+        emitter.onCompletion(() -> channel.removeSubscriber(subscriber));
+        emitter.onTimeout(() -> channel.removeSubscriber(subscriber));
+        emitter.onError(error -> channel.removeSubscriber(subscriber));
+        channel.addSubscriber(subscriber);
+
+        deliver(channel, subscriber);
+        return emitter;
+    }
+
+    // 한 번 던지면 scheduleAtFixedRate 가 다음 주기를 돌리지 않는다
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("배차 진행률 발행 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public void flush() {
+        long now = System.currentTimeMillis();
+        channels.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+
+        for (DispatchProgressChannel channel : channels.values()) {
+            channel.collectProgress();
+            for (Subscriber subscriber : channel.subscribers()) {
+                if (subscriber.lastSentId < channel.lastEventId()) {
+                    deliver(channel, subscriber);
+                }
+            }
+        }
+    }
+
+    private void append(String jobId, String name, Object data, boolean terminal) {
+        DispatchProgressChannel channel = channel(jobId);
+        if (channel != null) {
+            channel.append(name, data, terminal);
+        }
+    }
+
+    private DispatchProgressChannel channel(String jobId) {
+        return jobId == null ? null : channels.get(jobId);
+    }
+
+    private void deliver(DispatchProgressChannel channel, Subscriber subscriber) {
+        // 앞선 전송이 아직 끝나지 않은 구독자는 건너뛴다 — 다음 주기에 그동안 쌓인 최신 이벤트를 받는다
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sseSenderExecutor.execute(() -> send(channel, subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void send(DispatchProgressChannel channel, Subscriber subscriber) {
+        try {
+            for (Event event : channel.eventsAfter(subscriber.lastSentId)) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.id()))
+                        .name(event.name())
+                        .data(event.data()));
+                subscriber.lastSentId = event.id();
+            }
+            if (channel.isFinished() && subscriber.lastSentId >= channel.lastEventId()) {
+                channel.removeSubscriber(subscriber);
+                subscriber.emitter.complete();
+            }
+        } catch (Exception e) {
+            log.debug("progress event send failed, dropping subscriber : " + e.getMessage());
+            channel.removeSubscriber(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private boolean isExpired(DispatchProgressChannel channel, long now) {
+        if (channel.isFinished()) {
+            return now - channel.getFinishedAt() > FINISHED_RETENTION_MILLIS;
+        }
+        // 결과가 끝내 오지 않은 작업 — 구독 타임아웃이 지나면 정리한다
+        return now - channel.getOpenedAt() > EMITTER_TIMEOUT;
+    }
+}
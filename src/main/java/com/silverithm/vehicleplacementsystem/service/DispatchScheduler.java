@@ -0,0 +1,315 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.SubscriptionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 배차 요청을 RabbitMQ 에 넣기 전에 기관별로 줄 세우는 공정 큐.
+ *
+ * 외부 GA 워커는 dispatch.queue.temp 를 FIFO 로 꺼내므로, 큐에 먼저 쌓인 대형 기관의 작업이 작은 기관의 요청을 막는다.
+ * 그래서 브로커에는 {@code dispatch.scheduler.max-in-flight} 개까지만 넣고 나머지는 여기서 기다리게 한다. 다음에 보낼
+ * 작업은 가중 공정 큐잉(WFQ)으로 고른다 — 작업마다 비용(어르신 수)을 구독 등급 가중치로 나눈 만큼 기관의 가상 시간이
+ * 늘고, 가상 종료 시각이 가장 이른 작업이 먼저 나간다. 한 기관이 동시에 브로커에 올릴 수 있는 작업 수는
+ * {@code dispatch.scheduler.max-in-flight-per-company} 로 묶는다.
+ *
+ * 슬롯은 결과·실패 응답이 왔을 때 {@link #release(String)} 로 돌려받는다. 응답이 끝내 오지 않은 작업은
+ * {@code dispatch.scheduler.in-flight-timeout-ms} 가 지나면 정리한다. 대기열은 이 인스턴스 메모리에만 있어서, 종료할 때
+ * 남은 작업은 {@link #shutdown()} 이 브로커로 넘긴다.
+ */
+@Slf4j
+@Service
+public class DispatchScheduler {
+
+    private static final int MIN_COST = 1;
+
+    private static final Map<SubscriptionType, Integer> TIER_WEIGHTS = Map.of(
+            SubscriptionType.ENTERPRISE, 4,
+            SubscriptionType.BASIC, 2,
+            SubscriptionType.FREE, 1);
+
+    private final int maxInFlight;
+    private final int maxInFlightPerCompany;
+    private final long inFlightTimeoutMillis;
+
+    // 아래 상태는 모두 this 로 잠근다
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private final Map<String, Ticket> pending = new HashMap<>();
+    private final Map<String, Ticket> inFlight = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private boolean closed;
+
+    private final Map<SubscriptionType, AtomicInteger> pendingByTier = new EnumMap<>(SubscriptionType.class);
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final Map<SubscriptionType, Timer> waitTimers = new EnumMap<>(SubscriptionType.class);
+
+    public DispatchScheduler(MeterRegistry meterRegistry,
+                             @Value("${dispatch.scheduler.max-in-flight:8}") int maxInFlight,
+                             @Value("${dispatch.scheduler.max-in-flight-per-company:2}") int maxInFlightPerCompany,
+                             @Value("${dispatch.scheduler.in-flight-timeout-ms:1800000}") long inFlightTimeoutMillis) {
+        this.maxInFlight = maxInFlight;
+        this.maxInFlightPerCompany = maxInFlightPerCompany;
+        this.inFlightTimeoutMillis = inFlightTimeoutMillis;
+
+        for (SubscriptionType tier : SubscriptionType.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            pendingByTier.put(tier, depth);
+            Gauge.builder("dispatch_scheduler_pending", depth, AtomicInteger::get)
+                    .tag("tier", tier.name())
+                    .description("브로커에 넣기를 기다리는 배차 작업 수")
+                    .register(meterRegistry);
+            waitTimers.put(tier, Timer.builder("dispatch_scheduler_wait")
+                    .tag("tier", tier.name())
+                    .description("배차 요청부터 브로커에 넣기까지 기다린 시간")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        Gauge.builder("dispatch_scheduler_in_flight", inFlightCount, AtomicInteger::get)
+                .description("브로커에 넣고 응답을 기다리는 배차 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업을 대기열에 넣는다. 자리가 있으면 호출한 스레드에서 바로 publish 를 돌린다.
+     *
+     * @param company   공정 분배 단위 (기관 아이디, 기관이 없으면 사용자)
+     * @param cost      작업 크기 — 어르신 수
+     * @param publish   브로커에 넣는 작업. 던지면 슬롯을 돌려받고 onFailure 를 부른다.
+     * @param onFailure publish 가 실패했을 때 부른다. 이미 요청 스레드를 떠났을 수 있으므로 스스로 실패를 처리해야 한다.
+     */
+    public void submit(String jobId, String company, SubscriptionType tier, int cost, Runnable publish,
+                       Consumer<Exception> onFailure) {
+        boolean queued;
+        synchronized (this) {
+            queued = !closed;
+            if (queued) {
+                Tenant tenant = tenants.computeIfAbsent(company, Tenant::new);
+                Ticket ticket = new Ticket(jobId, tenant, tier == null ? SubscriptionType.FREE : tier,
+                        Math.max(MIN_COST, cost), publish, onFailure);
+                // 쉬고 있던 기관은 현재 가상 시간에서 다시 시작한다 — 쉬는 동안 몫을 쌓아 두지 못한다
+                ticket.sequence = sequence++;
+                ticket.finishTag = Math.max(tenant.lastFinishTag, virtualTime)
+                        + (double) ticket.cost / weight(ticket.tier);
+                tenant.lastFinishTag = ticket.finishTag;
+                tenant.queue.addLast(ticket);
+                pending.put(jobId, ticket);
+                pendingByTier.get(ticket.tier).incrementAndGet();
+            }
+        }
+        if (!queued) {
+            // 종료 중에 들어온 요청은 줄 세우지 않고 바로 넘긴다 — 대기열을 비울 곳이 없다
+            publishDirectly(jobId, publish, onFailure);
+            return;
+        }
+        drain();
+    }
+
+    /** 결과나 실패 응답이 왔을 때 부른다. 모르는 작업이면 무시한다. */
+    public void release(String jobId) {
+        if (releaseSlot(jobId)) {
+            drain();
+        }
+    }
+
+    /**
+     * 아직 브로커에 넣지 않은 작업을 대기열에서 뺀다. 이미 넣은 작업은 응답이 올 때까지 슬롯을 그대로 잡고 있는다.
+     *
+     * @return 대기열에서 뺐으면 true
+     */
+    public synchronized boolean withdraw(String jobId) {
+        Ticket ticket = pending.remove(jobId);
+        if (ticket == null) {
+            return false;
+        }
+        ticket.tenant.queue.remove(ticket);
+        pendingByTier.get(ticket.tier).decrementAndGet();
+        removeIfIdle(ticket.tenant);
+        return true;
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void reclaimStaleSlots() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<Ticket> iterator = inFlight.values().iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                if (now - ticket.admittedAt > inFlightTimeoutMillis) {
+                    log.warn("배차 작업 {} 의 응답이 오지 않아 슬롯을 돌려받습니다.", ticket.jobId);
+                    iterator.remove();
+                    finishInFlight(ticket);
+                }
+            }
+        }
+        drain();
+    }
+
+    /**
+     * 종료할 때 대기열에 남은 작업을 차례대로 브로커에 넣는다. 이미 202 로 받아 하루 배차 횟수를 쓴 요청이라 버리면 결과 없이
+     * 횟수만 잃는다. 동시 실행 한도는 지키지 않는다 — 워커가 큐에서 차례로 꺼낸다. 넣지 못한 작업은 onFailure 로 실패 처리해
+     * 횟수를 돌려준다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        List<Ticket> remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = new ArrayList<>(pending.values());
+            remaining.sort(Comparator.comparingDouble((Ticket ticket) -> ticket.finishTag)
+                    .thenComparingLong(ticket -> ticket.sequence));
+            pending.clear();
+            for (Ticket ticket : remaining) {
+                ticket.tenant.queue.remove(ticket);
+                pendingByTier.get(ticket.tier).decrementAndGet();
+                removeIfIdle(ticket.tenant);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            log.info("종료 전에 대기 중인 배차 작업 {}건을 브로커에 넣습니다.", remaining.size());
+        }
+        for (Ticket ticket : remaining) {
+            publishDirectly(ticket.jobId, ticket.publish, ticket.onFailure);
+        }
+    }
+
+    private void publishDirectly(String jobId, Runnable publish, Consumer<Exception> onFailure) {
+        try {
+            publish.run();
+        } catch (Exception e) {
+            log.error("배차 작업 {} 을(를) 브로커에 넣지 못했습니다: {}", jobId, e.getMessage(), e);
+            onFailure.accept(e);
+        }
+    }
+
+    private void drain() {
+        List<Ticket> admitted;
+        while (!(admitted = admit()).isEmpty()) {
+            // 브로커 쓰기는 잠금 밖에서 한다. 실패한 작업의 슬롯은 다음 바퀴에서 다른 작업이 받는다.
+            for (Ticket ticket : admitted) {
+                waitTimers.get(ticket.tier).record(System.nanoTime() - ticket.enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    ticket.publish.run();
+                } catch (Exception e) {
+                    log.error("배차 작업 {} 을(를) 브로커에 넣지 못했습니다: {}", ticket.jobId, e.getMessage(), e);
+                    releaseSlot(ticket.jobId);
+                    ticket.onFailure.accept(e);
+                }
+            }
+        }
+    }
+
+    private synchronized List<Ticket> admit() {
+        List<Ticket> admitted = new ArrayList<>();
+        Ticket next;
+        while (inFlight.size() < maxInFlight && (next = pollNext()) != null) {
+            next.admittedAt = System.currentTimeMillis();
+            inFlight.put(next.jobId, next);
+            inFlightCount.incrementAndGet();
+            admitted.add(next);
+        }
+        return admitted;
+    }
+
+    private synchronized boolean releaseSlot(String jobId) {
+        Ticket ticket = inFlight.remove(jobId);
+        if (ticket == null) {
+            return false;
+        }
+        finishInFlight(ticket);
+        return true;
+    }
+
+    // 기관별 대기열 맨 앞 작업 중 가상 종료 시각이 가장 이른 것(같으면 먼저 들어온 것). 동시 실행 한도에 닿은 기관은 건너뛴다.
+    private Ticket pollNext() {
+        Ticket best = null;
+        for (Tenant tenant : tenants.values()) {
+            Ticket head = tenant.queue.peekFirst();
+            if (head == null || tenant.inFlight >= maxInFlightPerCompany) {
+                continue;
+            }
+            if (best == null || head.finishTag < best.finishTag
+                    || (head.finishTag == best.finishTag && head.sequence < best.sequence)) {
+                best = head;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        best.tenant.queue.pollFirst();
+        best.tenant.inFlight++;
+        pending.remove(best.jobId);
+        pendingByTier.get(best.tier).decrementAndGet();
+        virtualTime = Math.max(virtualTime, best.finishTag - (double) best.cost / weight(best.tier));
+        return best;
+    }
+
+    private void finishInFlight(Ticket ticket) {
+        inFlightCount.decrementAndGet();
+        ticket.tenant.inFlight--;
+        removeIfIdle(ticket.tenant);
+    }
+
+    private void removeIfIdle(Tenant tenant) {
+        if (tenant.queue.isEmpty() && tenant.inFlight == 0) {
+            tenants.remove(tenant.company);
+        }
+    }
+
+    private static int weight(SubscriptionType tier) {
+        return TIER_WEIGHTS.getOrDefault(tier, 1);
+    }
+
+    private static final class Tenant {
+
+        private final String company;
+        private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        private int inFlight;
+        private double lastFinishTag;
+
+        private Tenant(String company) {
+            this.company = company;
+        }
+    }
+
+    private static final class Ticket {
+
+        private final String jobId;
+        private final Tenant tenant;
+        private final SubscriptionType tier;
+        private final int cost;
+        private final Runnable publish;
+        private final Consumer<Exception> onFailure;
+        private final long enqueuedAt = System.nanoTime();
+        private long sequence;
+        private double finishTag;
+        private long admittedAt;
+
+        private Ticket(String jobId, Tenant tenant, SubscriptionType tier, int cost, Runnable publish,
+                       Consumer<Exception> onFailure) {
+            this.jobId = jobId;
+            this.tenant = tenant;
+            this.tier = tier;
+            this.cost = cost;
+            this.publish = publish;
+            this.onFailure = onFailure;
+        }
+    }
+}
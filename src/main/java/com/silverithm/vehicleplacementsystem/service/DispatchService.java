@@ -1,50 +1,27 @@
 package com.silverithm.vehicleplacementsystem.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
-import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
 import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
-import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
-import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
-import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
-import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
-import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
-import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
-import com.silverithm.vehicleplacementsystem.dto.Location;
-import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
 import com.silverithm.vehicleplacementsystem.entity.AppUser;
-import com.silverithm.vehicleplacementsystem.entity.Chromosome;
-import com.silverithm.vehicleplacementsystem.entity.DispatchType;
-import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
+import com.silverithm.vehicleplacementsystem.entity.SubscriptionType;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
-import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
 import com.silverithm.vehicleplacementsystem.repository.UserRepository;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
-import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import java.util.ArrayList;
 import java.util.List;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import com.silverithm.vehicleplacementsystem.util.PrivacyMask;
 
 @Service
@@ -55,19 +32,14 @@ public class DispatchService {
     private static final int MAX_DISPATCH_LIMIT = 5;
     private static final String RATE_LIMIT_KEY_PREFIX = "rate_limit:";
 
-    private final LinkDistanceRepository linkDistanceRepository;
-    private final SSEService sseService;
-    private final DispatchHistoryService dispatchHistoryService;
+    private final DispatchEngineRegistry dispatchEngineRegistry;
     private final UserRepository userRepository;
-
-    private String key;
-    private String kakaoKey;
-
-    @Value("${osrm.server.url}")
-    private String osrmServerUrl;
+    private final DispatchJobRegistry dispatchJobRegistry;
+    private final DispatchScheduler dispatchScheduler;
+    private final DispatchProgressPublisher dispatchProgressPublisher;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private DispatchMessageCodec dispatchMessageCodec;
 
     @Autowired
     private RabbitTemplate rabbitTemplate;
@@ -78,393 +50,99 @@ public class DispatchService {
     @Autowired
     private RedisUtils redisUtils;
 
-    public DispatchService(@Value("${tmap.key}") String key, @Value("${kakao.key}") String kakaoKey,
-                           LinkDistanceRepository linkDistanceRepository,
-                           SSEService sseService, DispatchHistoryService dispatchHistoryService,
-                           UserRepository userRepository
-    ) {
-        this.linkDistanceRepository = linkDistanceRepository;
-        this.sseService = sseService;
-        this.key = key;
-        this.kakaoKey = kakaoKey;
-        this.dispatchHistoryService = dispatchHistoryService;
+    public DispatchService(DispatchEngineRegistry dispatchEngineRegistry, UserRepository userRepository,
+                           DispatchJobRegistry dispatchJobRegistry, DispatchScheduler dispatchScheduler,
+                           DispatchProgressPublisher dispatchProgressPublisher) {
+        this.dispatchEngineRegistry = dispatchEngineRegistry;
         this.userRepository = userRepository;
+        this.dispatchJobRegistry = dispatchJobRegistry;
+        this.dispatchScheduler = dispatchScheduler;
+        this.dispatchProgressPublisher = dispatchProgressPublisher;
     }
 
-    public KakaoMapApiResponseDTO getDistanceTotalTimeWithTmapApi(Location startAddress,
-                                                                  Location destAddress) throws NullPointerException {
-
-        String distanceString = "0";
-        String durationString = "0";
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoKey);
-
-            // HTTP 엔터티 생성 (헤더 포함)
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // 파라미터 설정
-            String origin = startAddress.getLongitude() + "," + startAddress.getLatitude();
-            String destination = destAddress.getLongitude() + "," + destAddress.getLatitude();
-            String waypoints = "";
-            String priority = "DISTANCE";
-            String carFuel = "GASOLINE";
-            boolean carHipass = false;
-            boolean alternatives = false;
-            boolean roadDetails = false;
-
-            // URL에 파라미터 추가
-            String url = "https://apis-navi.kakaomobility.com/v1/directions" + "?origin=" + origin + "&destination="
-                    + destination
-                    + "&waypoints=" + waypoints + "&priority=" + priority + "&car_fuel=" + carFuel
-                    + "&car_hipass=" + carHipass + "&alternatives=" + alternatives + "&road_details=" + roadDetails;
-
-            // GET 요청 보내기
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // result_code가 104이면 0 반환
-            if (response.getBody().contains("\"result_code\":104")) {
-                return new KakaoMapApiResponseDTO(0, 0); // 출발지와 도착지가 너무 가까운 경우 0 반환
-            }
-
-            distanceString = response.getBody().split("\"duration\":")[1].split("}")[0].trim();
-            durationString = response.getBody().split("\"distance\":")[1].split(",")[0].trim();
-
-        } catch (NullPointerException e) {
-            throw new NullPointerException("[ERROR] KAKAOMAP API 요청에 실패하였습니다.");
-        }
-
-        log.info("Tmap API distance :  " + distanceString);
-
-        return new KakaoMapApiResponseDTO(Integer.parseInt(durationString),
-                Integer.parseInt(distanceString)); // 문자열을 정수형으로 변환
-
-    }
-
-    public OsrmApiResponseDTO getDistanceTotalTimeWithOsrmApi(Location startAddress,
-                                                              Location destAddress) throws NullPointerException {
-        String distanceString = "0";
-        String durationString = "0";
-
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-
-            String coordinates = startAddress.getLongitude() + "," + startAddress.getLatitude() + ";"
-                    + destAddress.getLongitude() + "," + destAddress.getLatitude();
-
-            // table 대신 route 서비스 사용
-            String url = osrmServerUrl + "/route/v1/driving/" + coordinates;
-
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response.getBody());
-
-            if (!"Ok".equals(root.get("code").asText())) {
-                throw new RuntimeException("OSRM API returned non-OK status: " + root.get("code").asText());
-            }
-
-            JsonNode routesNode = root.get("routes");
-
-            if (routesNode != null && routesNode.size() > 0) {
-                JsonNode firstRoute = routesNode.get(0);
-
-                // 전체 경로의 distance와 duration 추출
-                double distance = firstRoute.get("distance").asDouble();
-                double duration = firstRoute.get("duration").asDouble();
-
-                durationString = String.valueOf((int) duration);  // 초 단위
-                distanceString = String.valueOf((int) distance);  // 미터 단위
-
-                log.info("Parsed values - Distance: {} meters, Duration: {} seconds", distance, duration);
-            } else {
-                log.warn("No routes found in OSRM response: {}", response.getBody());
-                throw new RuntimeException("No routes found in OSRM response");
-            }
-
-        } catch (Exception e) {
-            log.error("OSRM API 요청 실패 - Error: {}", e.getMessage(), e);
-            throw new NullPointerException("[ERROR] OSRM API 요청에 실패하였습니다. - " + e.getMessage());
-        }
-
-        log.info("OSRM API distance and duration : " + distanceString + " " + durationString);
-
-        return new OsrmApiResponseDTO(Integer.parseInt(distanceString),
-                Integer.parseInt(durationString));
-    }
-
+    /** GeneticAlgorithm(1세대)으로 배차한다. 거리 행렬과 풀이는 "ga-v1" 엔진이 맡는다. */
     public List<AssignmentResponseDTO> getOptimizedAssignments(RequestDispatchDTO requestDispatchDTO)
             throws Exception {
-
-        List<EmployeeDTO> employees = requestDispatchDTO.employees();
-        List<ElderlyDTO> elderlys = requestDispatchDTO.elderlys();
-        List<CoupleRequestDTO> couples = requestDispatchDTO.couples();
-        CompanyDTO company = requestDispatchDTO.company();
-        List<FixedAssignmentsDTO> fixedAssignments = requestDispatchDTO.fixedAssignments();
-
-        sseService.notify(requestDispatchDTO.userName(), 5);
-
-        // 거리 행렬 계산
-        Map<String, Map<String, Integer>> distanceMatrix = calculateDistanceMatrix(employees, elderlys, company,
-                requestDispatchDTO.dispatchType());
-        sseService.notify(requestDispatchDTO.userName(), 15);
-
-        // 유전 알고리즘 실행
-        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(employees, elderlys,
-                couples,
-                fixedAssignments,
-                sseService);
-        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
-
-        List<Chromosome> chromosomes = geneticAlgorithm.run();
-        // 최적의 솔루션 추출
-        Chromosome bestChromosome = chromosomes.get(0);
-
-        List<Double> departureTimes = bestChromosome.getDepartureTimes();
-        sseService.notify(requestDispatchDTO.userName(), 95);
-
-        List<AssignmentResponseDTO> assignmentResponseDTOS = createResult(
-                employees, elderlys, bestChromosome, departureTimes, requestDispatchDTO.dispatchType());
-
-        log.info("done : " + bestChromosome.getGenes().toString() + " " + bestChromosome.getFitness() + " "
-                + bestChromosome.getDepartureTimes());
-
-        log.info(assignmentResponseDTOS.toString());
-
-        sseService.notify(requestDispatchDTO.userName(), 100);
-
-        return assignmentResponseDTOS;
-    }
-
-    private List<AssignmentResponseDTO> createResult(List<EmployeeDTO> employees,
-                                                     List<ElderlyDTO> elderlys, Chromosome bestChromosome,
-                                                     List<Double> departureTimes, DispatchType dispatchType) {
-        List<AssignmentResponseDTO> assignmentResponseDTOS = new ArrayList<>();
-
-        for (int i = 0; i < employees.size(); i++) {
-            List<AssignmentElderRequest> assignmentElders = new ArrayList<>();
-
-            for (int j = 0; j < bestChromosome.getGenes().get(i).size(); j++) {
-                assignmentElders.add(
-                        new AssignmentElderRequest(elderlys.get(bestChromosome.getGenes().get(i).get(j)).id(),
-                                elderlys.get(bestChromosome.getGenes().get(i).get(j)).homeAddress(),
-                                elderlys.get(bestChromosome.getGenes().get(i).get(j)).name()));
-            }
-            assignmentResponseDTOS.add(
-                    new AssignmentResponseDTO(dispatchType, employees.get(i).id(), employees.get(i).homeAddress(),
-                            employees.get(i).workplace(),
-                            employees.get(i).name(),
-                            (int) (departureTimes.get(i) - 0), assignmentElders, employees.get(i).isDriver()));
-        }
-        return assignmentResponseDTOS;
+        return dispatchEngineRegistry.get("ga-v1").dispatch(requestDispatchDTO);
     }
 
-    private Map<String, Map<String, Integer>> calculateDistanceMatrix(List<EmployeeDTO> employees,
-                                                                      List<ElderlyDTO> elderlys,
-                                                                      CompanyDTO company, DispatchType dispatchType) {
-        Map<String, Map<String, Integer>> distanceMatrix = new HashMap<>();
-
-        distanceMatrix.put("Company", new HashMap<>());
-
-        for (EmployeeDTO employee : employees) {
-            distanceMatrix.put("Employee_" + employee.id(), new HashMap<>());
-        }
-
-        for (ElderlyDTO elderly : elderlys) {
-            distanceMatrix.put("Elderly_" + elderly.id(), new HashMap<>());
-        }
-
-        for (int i = 0; i < elderlys.size(); i++) {
-
-            String startNodeId = "Company";
-            String destinationNodeId = "Elderly_" + elderlys.get(i).id();
-
-            Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-                    startNodeId, destinationNodeId);
-
-            if (linkDistance.isPresent()) {
-
-                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-                }
-
-                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-                }
-
-            } else {
-                OsrmApiResponseDTO osrmApiResponseDTO = getDistanceTotalTimeWithOsrmApi(company.companyAddress(),
-                        elderlys.get(i).homeAddress());
-
-                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.distance());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.distance());
-                }
-
-                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.duration());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.duration());
-                }
-
-                linkDistanceRepository.save(
-                        new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-                                osrmApiResponseDTO.distance()));
-                linkDistanceRepository.save(
-                        new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-                                osrmApiResponseDTO.distance()));
-            }
-
-
-        }
-
-        for (int i = 0; i < elderlys.size(); i++) {
-            for (int j = 0; j < elderlys.size(); j++) {
-                if (i == j) {
-                    continue;
-                }
-
-                String startNodeId = "Elderly_" + elderlys.get(i).id();
-                String destinationNodeId = "Elderly_" + elderlys.get(j).id();
-
-                Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-                        startNodeId, destinationNodeId);
-
-                if (linkDistance.isPresent()) {
-
-                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-                    }
-
-                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-                    }
-
-                } else {
-                    OsrmApiResponseDTO osrmApiResponseDTO = getDistanceTotalTimeWithOsrmApi(
-                            elderlys.get(i).homeAddress(),
-                            elderlys.get(j).homeAddress());
-
-                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.distance());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.distance());
-                    }
-
-                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.duration());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.duration());
-                    }
-
-                    linkDistanceRepository.save(
-                            new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-                                    osrmApiResponseDTO.distance()));
-                    linkDistanceRepository.save(
-                            new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-                                    osrmApiResponseDTO.distance()));
-                }
-
-            }
-
-        }
-
-        for (int i = 0; i < employees.size(); i++) {
-            for (int j = 0; j < elderlys.size(); j++) {
-
-                String startNodeId = "Employee_" + employees.get(i).id();
-                String destinationNodeId = "Elderly_" + elderlys.get(j).id();
-
-                Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-                        startNodeId, destinationNodeId);
-
-                if (linkDistance.isPresent()) {
-
-                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-                    }
-
-                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-                    }
-
-                } else {
-
-                    OsrmApiResponseDTO osrmApiResponseDTO = getDistanceTotalTimeWithOsrmApi(
-                            employees.get(i).homeAddress(),
-                            elderlys.get(j).homeAddress());
-
-                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.distance());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.distance());
-                    }
-
-                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                        distanceMatrix.get(startNodeId).put(destinationNodeId, osrmApiResponseDTO.duration());
-                        distanceMatrix.get(destinationNodeId).put(startNodeId, osrmApiResponseDTO.duration());
-                    }
-
-                    linkDistanceRepository.save(
-                            new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-                                    osrmApiResponseDTO.distance()));
-                    linkDistanceRepository.save(
-                            new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-                                    osrmApiResponseDTO.distance()));
-                }
-            }
-
-        }
-
-        return distanceMatrix;
-    }
-
-
     public String requestDispatchWithRabbitMQ(RequestDispatchDTO requestDispatchDTO, UserDetails userDetails,
                                               String jobId)
             throws JsonProcessingException, CustomException {
 
-        if (isLimitExceeded(userDetails)) {
+        AppUser user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다", HttpStatus.UNPROCESSABLE_ENTITY));
+
+        if (isLimitExceeded(user)) {
             log.info("Daily request limit exceeded for user: {}", PrivacyMask.email(userDetails.getUsername()));
             throw new CustomException("배차 요청이 일일 제한을 초과했습니다.", HttpStatus.SERVICE_UNAVAILABLE);
         }
 
-        return sendMessage(requestDispatchDTO, userDetails, jobId);
+        // 시드가 없으면 여기서 정해 실어 보낸다 — 배차 이력에 남겨 같은 결과를 다시 재현할 수 있게 한다.
+        if (requestDispatchDTO.seed() == null) {
+            requestDispatchDTO = requestDispatchDTO.withSeed(ThreadLocalRandom.current().nextLong());
+        }
+
+        // 본문은 여기서 만든다 — 직렬화 오류는 대기열에 넣기 전에 요청 스레드로 돌려준다
+        Message message = buildMessage(requestDispatchDTO, userDetails, jobId);
+
+        // 요청이 받아들여진 뒤에 등록한다 — 같은 사용자의 같은 유형 이전 작업은 이 요청이 대신하므로 여기서 취소된다.
+        // 시드도 여기 남긴다. 워커 응답에는 시드가 없을 수 있다.
+        dispatchJobRegistry.register(jobId, userDetails.getUsername(), requestDispatchDTO.dispatchType(),
+                requestDispatchDTO.seed());
+        dispatchScheduler.submit(jobId, fairShareKey(user), subscriptionTier(user),
+                requestDispatchDTO.elderlys() == null ? 0 : requestDispatchDTO.elderlys().size(),
+                () -> sendMessage(message, jobId),
+                e -> failQueuedJob(jobId, userDetails.getUsername()));
+        return jobId;
     }
 
-    private String sendMessage(RequestDispatchDTO requestDispatchDTO, UserDetails userDetails, String jobId)
+    private Message buildMessage(RequestDispatchDTO requestDispatchDTO, UserDetails userDetails, String jobId)
             throws JsonProcessingException {
 
-        Message message = MessageBuilder
-                .withBody(objectMapper.writeValueAsBytes(requestDispatchDTO))
+        // 작업 아이디를 본문에도 실어 GA 진행률이 이 작업의 SSE 스트림으로 가게 한다
+        requestDispatchDTO = requestDispatchDTO.withJobId(jobId);
+
+        MessageProperties properties = MessagePropertiesBuilder.newInstance()
                 .setHeader("jobId", jobId)
                 .setHeader("username", userDetails.getUsername())
+                .setHeader("seed", requestDispatchDTO.seed())
                 .build();
+        return dispatchMessageCodec.encode(requestDispatchDTO, properties);
+    }
+
+    private void sendMessage(Message message, String jobId) {
+        log.info("Sending message to RabbitMQ queue '{}'. JobId: {}, Content type: {}, Message size: {} bytes",
+                dispatchQueue.getName(), jobId, message.getMessageProperties().getContentType(),
+                message.getBody().length);
+        rabbitTemplate.convertAndSend(dispatchQueue.getName(), message);
+        log.info("Dispatch request successfully sent to RabbitMQ: Queue={}, JobId={}", dispatchQueue.getName(), jobId);
+    }
 
-        log.info("Sending message to RabbitMQ queue '{}'. JobId: {}, Username: {}, Message size: {} bytes", 
-                dispatchQueue.getName(), jobId, userDetails.getUsername(), message.getBody().length);
-        try {
-            rabbitTemplate.convertAndSend(dispatchQueue.getName(), message);
-            log.info("Dispatch request successfully sent to RabbitMQ: Queue={}, JobId={}, Message content={}", 
-                    dispatchQueue.getName(), jobId, objectMapper.writeValueAsString(requestDispatchDTO));
-            return jobId;
-        } catch (Exception e) {
-            log.error("Failed to send message to RabbitMQ: Queue={}, JobId={}, Error={}", 
-                    dispatchQueue.getName(), jobId, e.getMessage(), e);
-            throw e;
+    // 대기열에서 기다리다 브로커에 넣지 못한 작업. 요청 스레드를 이미 떠났을 수 있으므로 SSE 로 알린다.
+    private void failQueuedJob(String jobId, String username) {
+        if (dispatchJobRegistry.fail(jobId)) {
+            redisUtils.decrementDailyRequestCount(username);
+            dispatchProgressPublisher.fail(jobId);
         }
     }
 
-    public Boolean isLimitExceeded(UserDetails userDetails) {
+    // 공정 분배 단위는 기관이다. 기관이 없는 사용자는 혼자 한 단위가 된다.
+    private String fairShareKey(AppUser user) {
+        if (user.getCompany() != null) {
+            return "company:" + user.getCompany().getId();
+        }
+        return "user:" + user.getId();
+    }
 
-        AppUser user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다", HttpStatus.UNPROCESSABLE_ENTITY));
+    private SubscriptionType subscriptionTier(AppUser user) {
+        if (!user.isActiveSubscription()) {
+            return SubscriptionType.FREE;
+        }
+        return user.getSubscription().getPlanName();
+    }
 
+    private boolean isLimitExceeded(AppUser user) {
         if (user.isActiveSubscription()) {
             return false;
         }
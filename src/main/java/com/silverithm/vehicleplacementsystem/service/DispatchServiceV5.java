@@ -1,369 +1,190 @@
 package com.silverithm.vehicleplacementsystem.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
-import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
 import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
 import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
-import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
-import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
-import com.silverithm.vehicleplacementsystem.dto.Location;
-import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.IncrementalDispatchDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
-import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV4;
+import com.silverithm.vehicleplacementsystem.entity.Company;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
-import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
-import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.Elderly;
+import com.silverithm.vehicleplacementsystem.entity.Employee;
+import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import com.silverithm.vehicleplacementsystem.entity.RouteLocalSearch;
+import com.silverithm.vehicleplacementsystem.entity.RouteRepair;
+import com.silverithm.vehicleplacementsystem.entity.RouteScorer;
+import com.silverithm.vehicleplacementsystem.entity.WarmStartRoutes;
+import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import com.silverithm.vehicleplacementsystem.repository.ElderRepository;
+import com.silverithm.vehicleplacementsystem.repository.EmployeeRepository;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 @Slf4j
-@EnableCaching
+@RequiredArgsConstructor
 public class DispatchServiceV5 {
 
+    // 부분 재배차는 바로 응답해야 하므로 국소 탐색을 몇 바퀴만 돈다
+    private static final int REPAIR_LOCAL_SEARCH_PASSES = 10;
 
-    private final LinkDistanceRepository linkDistanceRepository;
-    private final SSEService sseService;
+    private final DispatchEngineRegistry dispatchEngineRegistry;
+    private final DistanceMatrixProvider distanceMatrixProvider;
     private final DispatchHistoryService dispatchHistoryService;
+    private final CallerCompanyResolver callerCompanyResolver;
+    private final EmployeeRepository employeeRepository;
+    private final ElderRepository elderRepository;
 
-    private String key;
-    private String kakaoKey;
-
-    @Value("${osrm.server.url}")
-    private String osrmServerUrl;
-
-
-    public DispatchServiceV5(@Value("${tmap.key}") String key, @Value("${kakao.key}") String kakaoKey,
-                             LinkDistanceRepository linkDistanceRepository,
-                             SSEService sseService, DispatchHistoryService dispatchHistoryService
-    ) {
-        this.linkDistanceRepository = linkDistanceRepository;
-        this.sseService = sseService;
-        this.key = key;
-        this.kakaoKey = kakaoKey;
-        this.dispatchHistoryService = dispatchHistoryService;
+    /** 요청자 소속 기관의 배차 설정에서 고른 엔진(기본 {@link DispatchEngineRegistry#DEFAULT_ENGINE})으로 배차한다. */
+    public List<AssignmentResponseDTO> getOptimizedAssignments(RequestDispatchDTO requestDispatchDTO) throws Exception {
+        DispatchEngine engine = dispatchEngineRegistry.forUser(requestDispatchDTO.userName());
+        log.info("dispatch engine : " + engine.name());
+        return engine.dispatch(requestDispatchDTO);
     }
 
-    public KakaoMapApiResponseDTO getDistanceTotalTimeWithTmapApi(Location startAddress,
-                                                                  Location destAddress) throws NullPointerException {
-
-        String distanceString = "0";
-        String durationString = "0";
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoKey);
-
-            // HTTP 엔터티 생성 (헤더 포함)
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // 파라미터 설정
-            String origin = startAddress.getLongitude() + "," + startAddress.getLatitude();
-            String destination = destAddress.getLongitude() + "," + destAddress.getLatitude();
-            String waypoints = "";
-            String priority = "DISTANCE";
-            String carFuel = "GASOLINE";
-            boolean carHipass = false;
-            boolean alternatives = false;
-            boolean roadDetails = false;
-
-            // URL에 파라미터 추가
-            String url = "https://apis-navi.kakaomobility.com/v1/directions" + "?origin=" + origin + "&destination="
-                    + destination
-                    + "&waypoints=" + waypoints + "&priority=" + priority + "&car_fuel=" + carFuel
-                    + "&car_hipass=" + carHipass + "&alternatives=" + alternatives + "&road_details=" + roadDetails;
-
-            // GET 요청 보내기
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // result_code가 104이면 0 반환
-            if (response.getBody().contains("\"result_code\":104")) {
-                return new KakaoMapApiResponseDTO(0, 0); // 출발지와 도착지가 너무 가까운 경우 0 반환
-            }
-
-            distanceString = response.getBody().split("\"duration\":")[1].split("}")[0].trim();
-            durationString = response.getBody().split("\"distance\":")[1].split(",")[0].trim();
-
-        } catch (NullPointerException e) {
-            throw new NullPointerException("[ERROR] KAKAOMAP API 요청에 실패하였습니다.");
+    /**
+     * 저장된 배차 이력에 바뀐 인원만 반영한다. GA 를 돌리지 않고, 이력의 경로를 그대로 두고 빠진 사람은 지우고 새 어르신은
+     * 출발 시간이 가장 적게 늘어나는 자리에 넣은 뒤 국소 탐색을 몇 바퀴만 돈다. 결과는 돌려주기만 하고 배차 이력으로
+     * 저장하지 않는다 — 시드로 다시 만들 수 있는 결과가 아니기 때문이다.
+     *
+     * 인원 정보(정원·앞좌석·주소)는 요청자 소속 기관의 직원·어르신에서 읽는다. 좌표가 없는 사람이 있거나, 바뀐 인원을 넣을
+     * 자리가 없거나 제약조건을 지킬 수 없으면 CONFLICT — 이때는 전체 배차를 다시 요청해야 한다.
+     */
+    public List<AssignmentResponseDTO> repairAssignments(Long historyId, IncrementalDispatchDTO request,
+                                                         String userName) throws JsonProcessingException {
+        long startTime = System.currentTimeMillis();
+
+        List<AssignmentResponseDTO> previous = dispatchHistoryService.getOwnedResult(historyId, userName);
+        if (previous.isEmpty()) {
+            throw new CustomException("배차 결과가 비어 있는 기록입니다", HttpStatus.BAD_REQUEST);
         }
-
-        log.info("Tmap API distance :  " + distanceString);
-
-        return new KakaoMapApiResponseDTO(Integer.parseInt(durationString),
-                Integer.parseInt(distanceString)); // 문자열을 정수형으로 변환
-
-    }
-
-    public OsrmApiResponseDTO getDistanceTotalTimeWithOsrmApi(Location startAddress,
-                                                              Location destAddress) throws NullPointerException {
-        String distanceString = "0";
-        String durationString = "0";
-
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-
-            String coordinates = startAddress.getLongitude() + "," + startAddress.getLatitude() + ";"
-                    + destAddress.getLongitude() + "," + destAddress.getLatitude();
-
-            // table 대신 route 서비스 사용
-            String url = osrmServerUrl + "/route/v1/driving/" + coordinates;
-
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response.getBody());
-
-            if (!"Ok".equals(root.get("code").asText())) {
-                throw new RuntimeException("OSRM API returned non-OK status: " + root.get("code").asText());
-            }
-
-            JsonNode routesNode = root.get("routes");
-
-            if (routesNode != null && routesNode.size() > 0) {
-                JsonNode firstRoute = routesNode.get(0);
-
-                // 전체 경로의 distance와 duration 추출
-                double distance = firstRoute.get("distance").asDouble();
-                double duration = firstRoute.get("duration").asDouble();
-
-                durationString = String.valueOf((int) duration);  // 초 단위
-                distanceString = String.valueOf((int) distance);  // 미터 단위
-
-            } else {
-                log.warn("No routes found in OSRM response: {}", response.getBody());
-                throw new RuntimeException("No routes found in OSRM response");
+        DispatchType dispatchType = previous.get(0).dispatchType();
+        Company company = callerCompanyResolver.resolveCallerCompany(userName)
+                .orElseThrow(() -> new CustomException("소속 기관을 찾을 수 없습니다", HttpStatus.FORBIDDEN));
+
+        // 이력의 인원에서 제외할 사람을 빼고 추가할 사람을 더한 명단 — 순서는 이력 순서를 따른다
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        Set<Long> elderlyIds = new LinkedHashSet<>();
+        for (AssignmentResponseDTO assignment : previous) {
+            employeeIds.add(assignment.employeeId());
+            if (assignment.assignmentElders() != null) {
+                assignment.assignmentElders().forEach(elder -> elderlyIds.add(elder.id()));
             }
-
-        } catch (Exception e) {
-            log.error("OSRM API 요청 실패 - Error: {}", e.getMessage(), e);
-            throw new NullPointerException("[ERROR] OSRM API 요청에 실패하였습니다. - " + e.getMessage());
         }
-
-        log.info("OSRM API distance and duration : " + distanceString + " " + durationString);
-
-        return new OsrmApiResponseDTO(Integer.parseInt(distanceString),
-                Integer.parseInt(durationString));
-    }
-
-    public List<AssignmentResponseDTO> getOptimizedAssignments(RequestDispatchDTO requestDispatchDTO) throws Exception {
-
-        List<EmployeeDTO> employees = requestDispatchDTO.employees();
-        List<ElderlyDTO> elderlys = requestDispatchDTO.elderlys();
-        List<CoupleRequestDTO> couples = requestDispatchDTO.couples();
-        CompanyDTO company = requestDispatchDTO.company();
-        List<FixedAssignmentsDTO> fixedAssignments = requestDispatchDTO.fixedAssignments();
-
-        sseService.notify(requestDispatchDTO.userName(), 5);
-
-        // 거리 행렬 계산
-        Map<String, Map<String, Integer>> distanceMatrix = calculateDistanceMatrix(employees, elderlys, company,
-                requestDispatchDTO.dispatchType());
-        sseService.notify(requestDispatchDTO.userName(), 15);
-
-        // 유전 알고리즘 실행
-        GeneticAlgorithmV5 geneticAlgorithm = new GeneticAlgorithmV5(employees, elderlys,
-                couples,
-                fixedAssignments,
-                sseService);
-        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
-
-        List<ChromosomeV3> chromosomes = geneticAlgorithm.run();
-        // 최적의 솔루션 추출
-        ChromosomeV3 bestChromosome = chromosomes.get(0);
-
-        List<Double> departureTimes = bestChromosome.getDepartureTimes();
-        sseService.notify(requestDispatchDTO.userName(), 95);
-
-        List<AssignmentResponseDTO> assignmentResponseDTOS = createResult(
-                employees, elderlys, bestChromosome, departureTimes, requestDispatchDTO.dispatchType());
-
-        log.info("done : " + bestChromosome.getGenes().toString() + " " + bestChromosome.getFitness() + " "
-                + bestChromosome.getDepartureTimes());
-
-        log.info(assignmentResponseDTOS.toString());
-
-        sseService.notify(requestDispatchDTO.userName(), 100);
-
-        return assignmentResponseDTOS;
-    }
-
-    private List<AssignmentResponseDTO> createResult(List<EmployeeDTO> employees,
-                                                     List<ElderlyDTO> elderlys, ChromosomeV3 bestChromosome,
-                                                     List<Double> departureTimes, DispatchType dispatchType) {
-        List<AssignmentResponseDTO> assignmentResponseDTOS = new ArrayList<>();
-
-        for (int i = 0; i < employees.size(); i++) {
-            List<AssignmentElderRequest> assignmentElders = new ArrayList<>();
-
-            for (int j = 0; j < bestChromosome.getGenes()[i].length; j++) {
-                assignmentElders.add(
-                        new AssignmentElderRequest(elderlys.get(bestChromosome.getGenes()[i][j]).id(),
-                                elderlys.get(bestChromosome.getGenes()[i][j]).homeAddress(),
-                                elderlys.get(bestChromosome.getGenes()[i][j]).name()));
-            }
-            assignmentResponseDTOS.add(
-                    new AssignmentResponseDTO(dispatchType, employees.get(i).id(), employees.get(i).homeAddress(),
-                            employees.get(i).workplace(),
-                            employees.get(i).name(),
-                            (int) (departureTimes.get(i) - 0), assignmentElders, employees.get(i).isDriver()));
+        request.removedEmployeeIds().forEach(employeeIds::remove);
+        employeeIds.addAll(request.addedEmployeeIds());
+        request.removedElderlyIds().forEach(elderlyIds::remove);
+        elderlyIds.addAll(request.addedElderlyIds());
+
+        List<EmployeeDTO> employees = loadEmployees(company, employeeIds, request.addedEmployeeIds());
+        List<ElderlyDTO> elderlys = loadElderlys(company, elderlyIds, request.addedElderlyIds());
+        if (employees.isEmpty()) {
+            throw new CustomException("배차할 직원이 없습니다", HttpStatus.BAD_REQUEST);
         }
-        return assignmentResponseDTOS;
-    }
-
-    private static final String COMPANY_PREFIX = "Company";
-    private static final String EMPLOYEE_PREFIX = "Employee_";
-    private static final String ELDERLY_PREFIX = "Elderly_";
-
-    private Map<String, Map<String, Integer>> calculateDistanceMatrix(List<EmployeeDTO> employees,
-                                                                      List<ElderlyDTO> elderlys,
-                                                                      CompanyDTO company,
-                                                                      DispatchType dispatchType) {
-        Map<String, Map<String, Integer>> distanceMatrix = initializeDistanceMatrix(employees, elderlys);
-        StringBuilder idBuilder = new StringBuilder(32); // 적절한 초기 용량 설정
-
-        // Company to Elderly connections
-        for (ElderlyDTO elderly : elderlys) {
-            String destinationNodeId = buildElderlyId(idBuilder, elderly.id().toString());
-            processConnection(COMPANY_PREFIX, destinationNodeId, company.companyAddress(),
-                    elderly.homeAddress(), distanceMatrix, dispatchType);
+        requireCoordinates(company, employees, elderlys);
+
+        DistanceMatrix distanceMatrix = distanceMatrixProvider.provide(employees, elderlys,
+                new CompanyDTO(company.getCompanyAddress()), dispatchType);
+        RouteScorer routeScorer = new RouteScorer(distanceMatrix, dispatchType, employees);
+        DispatchConstraints constraints = new DispatchConstraints(elderlys, employees.size(), request.couples(),
+                new FixedAssignmentsV2(request.fixedAssignments(), employees, elderlys));
+
+        WarmStartRoutes baseRoutes = new WarmStartRoutes(previous, employees, elderlys);
+        ChromosomeV4 repaired = new RouteRepair(routeScorer, constraints).repair(baseRoutes, elderlys.size());
+        if (repaired == null) {
+            throw new CustomException("기존 배차에 바뀐 인원을 반영할 수 없습니다. 전체 배차를 다시 요청해 주세요.",
+                    HttpStatus.CONFLICT);
         }
 
-        // Elderly to Elderly connections
-        for (int i = 0; i < elderlys.size(); i++) {
-            for (int j = 0; j < elderlys.size(); j++) {
-                if (i == j) {
-                    continue;
-                }
-
-                ElderlyDTO elderly1 = elderlys.get(i);
-                ElderlyDTO elderly2 = elderlys.get(j);
+        ChromosomeV4 improved = new ChromosomeV4(elderlys.size(), employees.size());
+        new RouteLocalSearch(routeScorer, constraints, employees, REPAIR_LOCAL_SEARCH_PASSES)
+                .improve(repaired, improved);
 
-                String startNodeId = buildElderlyId(idBuilder, elderly1.id().toString());
-                String destinationNodeId = buildElderlyId(idBuilder, elderly2.id().toString());
-
-                processConnection(startNodeId, destinationNodeId, elderly1.homeAddress(),
-                        elderly2.homeAddress(), distanceMatrix, dispatchType);
-            }
+        List<Double> departureTimes = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            departureTimes.add(routeScorer.departureTime(i, improved.getGenes(), improved.vehicleStart(i),
+                    improved.vehicleEnd(i)));
         }
 
-        // Employee to Elderly connections
-        for (EmployeeDTO employee : employees) {
-            String startNodeId = buildEmployeeId(idBuilder, employee.id().toString());
+        List<AssignmentResponseDTO> assignmentResponseDTOS = GeneticAlgorithmV5Solver.createResult(employees,
+                elderlys, improved, departureTimes, dispatchType);
 
-            for (ElderlyDTO elderly : elderlys) {
-                String destinationNodeId = buildElderlyId(idBuilder, elderly.id().toString());
+        log.info("repair done : history " + historyId + ", carried over " + baseRoutes.carriedOverCount()
+                + ", inserted " + baseRoutes.missingElderlys().length + ", "
+                + (System.currentTimeMillis() - startTime) + "ms");
 
-                processConnection(startNodeId, destinationNodeId, employee.homeAddress(),
-                        elderly.homeAddress(), distanceMatrix, dispatchType);
-            }
-        }
-
-        return distanceMatrix;
+        return assignmentResponseDTOS;
     }
 
-    private Map<String, Map<String, Integer>> initializeDistanceMatrix(List<EmployeeDTO> employees,
-                                                                       List<ElderlyDTO> elderlys) {
-        int expectedSize = 1 + employees.size() + elderlys.size(); // Company + Employees + Elderlies
-        Map<String, Map<String, Integer>> distanceMatrix = new HashMap<>(expectedSize);
-        StringBuilder idBuilder = new StringBuilder(32);
-
-        distanceMatrix.put(COMPANY_PREFIX, new HashMap<>());
-
-        for (EmployeeDTO employee : employees) {
-            distanceMatrix.put(buildEmployeeId(idBuilder, employee.id().toString()), new HashMap<>());
+    // 주소 좌표 변환을 없앤 뒤 등록·수정된 인원은 좌표가 비어 있다. 거리 행렬을 만들 수 없으니 미리 막는다.
+    private void requireCoordinates(Company company, List<EmployeeDTO> employees, List<ElderlyDTO> elderlys) {
+        if (company.getCompanyAddress() == null) {
+            throw new CustomException("기관 주소의 좌표가 없어 재배차할 수 없습니다", HttpStatus.CONFLICT);
         }
-
-        for (ElderlyDTO elderly : elderlys) {
-            distanceMatrix.put(buildElderlyId(idBuilder, elderly.id().toString()), new HashMap<>());
+        List<Long> employeeIds = employees.stream()
+                .filter(employee -> employee.homeAddress() == null)
+                .map(EmployeeDTO::id)
+                .toList();
+        List<Long> elderlyIds = elderlys.stream()
+                .filter(elderly -> elderly.homeAddress() == null)
+                .map(ElderlyDTO::id)
+                .toList();
+        if (!employeeIds.isEmpty() || !elderlyIds.isEmpty()) {
+            throw new CustomException("주소 좌표가 없는 인원이 있어 재배차할 수 없습니다. 직원: " + employeeIds
+                    + ", 어르신: " + elderlyIds, HttpStatus.CONFLICT);
         }
-
-        return distanceMatrix;
-    }
-
-    private String buildEmployeeId(StringBuilder builder, String id) {
-        builder.setLength(0); // clear builder
-        return builder.append(EMPLOYEE_PREFIX).append(id).toString();
-    }
-
-    private String buildElderlyId(StringBuilder builder, String id) {
-        builder.setLength(0); // clear builder
-        return builder.append(ELDERLY_PREFIX).append(id).toString();
     }
 
-    private record Distance(int duration, int distance) {
-    }
-
-    private Distance getDistance(String startNodeId, String endNodeId, Location startAddress, Location endAddress) {
-        Optional<LinkDistance> linkDistance = linkDistanceRepository
-                .findNodeByStartNodeIdAndDestinationNodeId(startNodeId, endNodeId);
-
-        if (linkDistance.isPresent()) {
-            return new Distance(
-                    linkDistance.get().getTotalTime(),
-                    linkDistance.get().getTotalDistance()
-            );
+    // 이력에 있던 인원은 그사이 삭제됐으면 빼고, 새로 추가한 인원은 기관에 없으면 요청 오류로 본다
+    private List<EmployeeDTO> loadEmployees(Company company, Set<Long> employeeIds, List<Long> addedEmployeeIds) {
+        Map<Long, Employee> companyEmployees = employeeRepository.findAllInCompanyScope(company.getId()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<EmployeeDTO> employees = new ArrayList<>(employeeIds.size());
+        for (Long id : employeeIds) {
+            Employee employee = companyEmployees.get(id);
+            if (employee == null) {
+                if (addedEmployeeIds.contains(id)) {
+                    throw new CustomException("기관에 없는 직원입니다: " + id, HttpStatus.BAD_REQUEST);
+                }
+                continue;
+            }
+            employees.add(new EmployeeDTO(employee.getId(), employee.getName(), employee.getHomeAddressName(),
+                    company.getAddressName(), employee.getHomeAddress(), company.getCompanyAddress(),
+                    employee.getMaximumCapacity(), employee.getIsDriver()));
         }
-
-        OsrmApiResponseDTO response = getDistanceTotalTimeWithOsrmApi(startAddress, endAddress);
-
-        // Save both directions
-        LinkDistance link = new LinkDistance(startNodeId, endNodeId,
-                response.duration(), response.distance());
-        linkDistanceRepository.save(link);
-        linkDistanceRepository.save(new LinkDistance(endNodeId, startNodeId,
-                response.duration(), response.distance()));
-
-        return new Distance(response.duration(), response.distance());
-    }
-
-    private void processConnection(
-            String startNodeId,
-            String endNodeId,
-            Location startAddress,
-            Location endAddress,
-            Map<String, Map<String, Integer>> distanceMatrix,
-            DispatchType dispatchType
-    ) {
-        Distance distance = getDistance(startNodeId, endNodeId, startAddress, endAddress);
-        updateDistanceMatrix(startNodeId, endNodeId, distance, distanceMatrix, dispatchType);
+        return employees;
     }
 
-    private void updateDistanceMatrix(
-            String start,
-            String end,
-            Distance distance,
-            Map<String, Map<String, Integer>> distanceMatrix,
-            DispatchType dispatchType
-    ) {
-        int value = switch (dispatchType) {
-            case DISTANCE_IN, DISTANCE_OUT -> distance.distance();
-            case DURATION_IN, DURATION_OUT -> distance.duration();
-        };
+    private List<ElderlyDTO> loadElderlys(Company company, Set<Long> elderlyIds, List<Long> addedElderlyIds) {
+        Map<Long, Elderly> companyElderlys = elderRepository.findAllInCompanyScope(company.getId()).stream()
+                .collect(Collectors.toMap(Elderly::getId, Function.identity()));
 
-        distanceMatrix.get(start).put(end, value);
-        distanceMatrix.get(end).put(start, value);
+        List<ElderlyDTO> elderlys = new ArrayList<>(elderlyIds.size());
+        for (Long id : elderlyIds) {
+            Elderly elderly = companyElderlys.get(id);
+            if (elderly == null) {
+                if (addedElderlyIds.contains(id)) {
+                    throw new CustomException("기관에 없는 어르신입니다: " + id, HttpStatus.BAD_REQUEST);
+                }
+                continue;
+            }
+            elderlys.add(ElderlyDTO.from(elderly));
+        }
+        return elderlys;
     }
-
-
 }
-
-
@@ -0,0 +1,18 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.util.List;
+
+/**
+ * 이미 만든 거리 행렬로 배차 요청을 푼다. 외부 API 를 부르지 않으므로 같은 행렬로 여러 풀이를 나란히 비교할 수 있다.
+ */
+public interface DispatchSolver {
+
+    /** 이 풀이로 만든 엔진의 이름 */
+    String name();
+
+    List<AssignmentResponseDTO> solve(RequestDispatchDTO requestDispatchDTO, DistanceMatrix distanceMatrix)
+            throws Exception;
+}
@@ -0,0 +1,18 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.util.List;
+
+/**
+ * 회사·직원·어르신 사이 거리 행렬을 만든다. 노드 순번은 {@link DistanceMatrix} 를 따르고, 값은 배차 유형에 맞춰
+ * 거리(DISTANCE_*) 나 소요시간(DURATION_*) 이다.
+ */
+public interface DistanceMatrixProvider {
+
+    DistanceMatrix provide(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                           DispatchType dispatchType);
+}
@@ -12,6 +12,7 @@ import com.silverithm.vehicleplacementsystem.dto.Location;
 import com.silverithm.vehicleplacementsystem.entity.AppUser;
 import com.silverithm.vehicleplacementsystem.entity.Company;
 import com.silverithm.vehicleplacementsystem.entity.Elderly;
+import com.silverithm.vehicleplacementsystem.entity.PiiBlindIndex;
 import com.silverithm.vehicleplacementsystem.entity.Subscription;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.repository.CompanyRepository;
@@ -19,13 +20,20 @@ import com.silverithm.vehicleplacementsystem.repository.ElderRepository;
 import com.silverithm.vehicleplacementsystem.repository.SubscriptionRepository;
 import com.silverithm.vehicleplacementsystem.repository.UserRepository;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -55,6 +63,12 @@ public class ElderService {
     @Autowired
     private ResourceScopeGuard resourceScopeGuard;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PiiBlindIndex piiBlindIndex;
+
     public void addElder(Long userId, AddElderRequest addElderRequest) throws Exception {
 
         Location homeAddress = null; // 좌표 미사용 — 주소 좌표 변환 기능 제거 (배차 서비스 종료)
@@ -90,8 +104,12 @@ public class ElderService {
         Elderly elderly = elderRepository.findById(id).orElseThrow();
         resourceScopeGuard.requireSameCompany(elderly.getCompany(),
                 elderly.getUser() != null ? elderly.getUser().getCompany() : null);
+        boolean addressChanged = !Objects.equals(elderly.getHomeAddressName(), elderUpdateRequestDTO.homeAddress());
         elderly.update(elderUpdateRequestDTO.name(), elderUpdateRequestDTO.homeAddress(), updatedHomeAddress,
                 elderUpdateRequestDTO.requiredFrontSeat());
+        if (addressChanged) {
+            eventPublisher.publishEvent(LinkDistanceCacheService.AddressChanged.elderly(id));
+        }
     }
 
     @Transactional
@@ -127,6 +145,70 @@ public class ElderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 기관 어르신 이름순 한 페이지.
+     *
+     * <p>이름 첫 글자(name_sort_key)별 인원수로 이 페이지가 걸치는 글자만 골라 그 행만 읽고 복호화해 정렬한다.
+     * 글자끼리의 순서는 첫 글자가 정하므로 전체를 정렬해 자른 것과 결과가 같다.
+     * 아직 색인되지 않은 행이 있으면 예전처럼 전체를 읽는다.
+     */
+    public Page<ElderlyDTO> getEldersByCompany(Long companyId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<Object[]> counts = new ArrayList<>(elderRepository.countByCompanyIdGroupByNameSortKey(companyId));
+        if (counts.stream().anyMatch(row -> row[0] == null)) {
+            List<ElderlyDTO> elders = getEldersByCompany(companyId);
+            return new PageImpl<>(slice(elders, pageable.getOffset(), size), pageable, elders.size());
+        }
+        counts.sort(Comparator.comparing(row -> (String) row[0]));
+
+        long offset = pageable.getOffset();
+        List<String> sortKeys = new ArrayList<>();
+        long before = 0;   // 고른 첫 글자들보다 앞서는 어르신 수
+        long total = 0;
+        for (Object[] row : counts) {
+            long count = ((Number) row[1]).longValue();
+            if (total + count > offset && total < offset + size) {
+                if (sortKeys.isEmpty()) {
+                    before = total;
+                }
+                sortKeys.add((String) row[0]);
+            }
+            total += count;
+        }
+        if (sortKeys.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<ElderlyDTO> window = elderRepository.findByCompanyIdAndNameSortKeyIn(companyId, sortKeys)
+                .stream()
+                .map(ElderlyDTO::from)
+                .sorted(Comparator.comparing(ElderlyDTO::name))
+                .collect(Collectors.toList());
+        return new PageImpl<>(slice(window, offset - before, size), pageable, total);
+    }
+
+    /** 이름 앞부분으로 찾는다. 블라인드 인덱스로 후보만 읽고 복호화한 이름으로 한 번 더 거른다. */
+    public List<ElderlyDTO> searchEldersByName(Long companyId, String query) {
+        String token = piiBlindIndex.prefixToken(query);
+        if (token == null) {
+            return List.of();
+        }
+        String normalized = PiiBlindIndex.normalize(query);
+        return elderRepository.findByCompanyIdAndNamePrefixToken(companyId, token)
+                .stream()
+                .map(ElderlyDTO::from)
+                .filter(elder -> PiiBlindIndex.normalize(elder.name()).startsWith(normalized))
+                .sorted(Comparator.comparing(ElderlyDTO::name))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> slice(List<T> sorted, long from, int size) {
+        if (from >= sorted.size()) {
+            return List.of();
+        }
+        return sorted.subList((int) from, (int) Math.min(sorted.size(), from + size));
+    }
+
     public long getElderCountByCompany(Long companyId) {
         return elderRepository.countByCompanyId(companyId);
     }
@@ -191,7 +273,11 @@ public class ElderService {
 
         if (request.homeAddress() != null && !request.homeAddress().isBlank()) {
             Location updatedHomeAddress = null; // 좌표 미사용 — 주소 좌표 변환 기능 제거 (배차 서비스 종료)
+            boolean addressChanged = !Objects.equals(elderly.getHomeAddressName(), request.homeAddress());
             elderly.update(request.name(), request.homeAddress(), updatedHomeAddress, request.requiredFrontSeat());
+            if (addressChanged) {
+                eventPublisher.publishEvent(LinkDistanceCacheService.AddressChanged.elderly(id));
+            }
         } else {
             elderly.updateName(request.name());
             elderly.update(request.requiredFrontSeat());
@@ -11,6 +11,7 @@ import com.silverithm.vehicleplacementsystem.entity.Elderly;
 import com.silverithm.vehicleplacementsystem.entity.Employee;
 import com.silverithm.vehicleplacementsystem.entity.Subscription;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import com.silverithm.vehicleplacementsystem.jwt.CarevPrincipal;
 import com.silverithm.vehicleplacementsystem.repository.CompanyRepository;
 import com.silverithm.vehicleplacementsystem.repository.ElderRepository;
 import com.silverithm.vehicleplacementsystem.repository.EmployeeRepository;
@@ -19,6 +20,7 @@ import com.silverithm.vehicleplacementsystem.repository.UserRepository;
 import jakarta.transaction.TransactionScoped;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Row;
@@ -26,6 +28,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -53,6 +56,11 @@ public class EmployeeService {
 
     @Autowired
     private ResourceScopeGuard resourceScopeGuard;
+    @Autowired
+    private CallerCompanyResolver callerCompanyResolver;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public void addEmployee(Long userId, AddEmployeeRequest addEmployeeRequest) throws Exception {
 
@@ -98,9 +106,22 @@ public class EmployeeService {
         resourceScopeGuard.requireSameCompany(employee.getCompany(),
                 employee.getUser() != null ? employee.getUser().getCompany() : null);
 
+        boolean homeAddressChanged = !Objects.equals(employee.getHomeAddressName(),
+                employeeUpdateRequestDTO.homeAddress());
+        boolean workPlaceChanged = !Objects.equals(employee.getCompany().getAddressName(),
+                employeeUpdateRequestDTO.workPlace());
+
         employee.update(employeeUpdateRequestDTO.homeAddress(), employeeUpdateRequestDTO.workPlace(),
                 employeeUpdateRequestDTO.name(), updatedHomeAddress,
                 updatedWorkPlace, employeeUpdateRequestDTO.maxCapacity(), employeeUpdateRequestDTO.isDriver());
+
+        if (homeAddressChanged) {
+            eventPublisher.publishEvent(LinkDistanceCacheService.AddressChanged.employee(id));
+        }
+        if (workPlaceChanged) {
+            eventPublisher.publishEvent(
+                    LinkDistanceCacheService.AddressChanged.company(employee.getCompany().getId()));
+        }
     }
 
 
@@ -123,6 +144,7 @@ public class EmployeeService {
         }
 
         user.addCompany(company);
+        callerCompanyResolver.evict(CarevPrincipal.TYPE_ADMIN, user.getId(), user.getEmail());
     }
 
     @Transactional
@@ -5,20 +5,30 @@ import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
 import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
 import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
 import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV4;
+import com.silverithm.vehicleplacementsystem.entity.ConvergenceController;
+import com.silverithm.vehicleplacementsystem.entity.ConvergencePolicy;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
-import com.silverithm.vehicleplacementsystem.entity.DistanceScore;
-import com.silverithm.vehicleplacementsystem.entity.DurationScore;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
 import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import com.silverithm.vehicleplacementsystem.entity.RouteLocalSearch;
+import com.silverithm.vehicleplacementsystem.entity.RouteRepair;
+import com.silverithm.vehicleplacementsystem.entity.RouteScorer;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.entity.WarmStartRoutes;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.stereotype.Service;
@@ -29,90 +39,195 @@ import org.springframework.stereotype.Service;
 public class GeneticAlgorithmV5 {
 
 
-    private static final Random rand = new Random();
-
     private static final int MAX_ITERATIONS = 300;
     private static final int POPULATION_SIZE = 20000;
     private static final double MUTATION_RATE = 0.9;
     private static final double CROSSOVER_RATE = 0.7;
+    // 병렬 세대 처리 단위. 청크 경계와 청크별 난수 스트림이 시드로만 정해지므로 스레드 수와 무관하게 같은 결과가 나온다.
     private static final int BATCH_SIZE = 200;
+    // 직전 배차로 시작할 때 초기 해 중 직전 배차에서 만든 해의 비율과, 그 해들을 흔드는 최대 자리 바꿈 수
+    private static final double WARM_START_RATIO = 0.1;
+    private static final int WARM_START_MAX_SWAPS = 3;
+    private static final Comparator<ChromosomeV4> BY_FITNESS_DESC =
+            (c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness());
 
     private final List<EmployeeDTO> employees;
     private final List<ElderlyDTO> elderlys;
     private final List<CoupleRequestDTO> couples;
     private final FixedAssignmentsV2 fixedAssignments;
-    private Map<String, Map<String, Integer>> distanceMatrix;
-    private DispatchType dispatchType;
-    private String userName;
-
-    private final SSEService sseService;
+    private final DispatchConstraints constraints;
+    private RouteScorer routeScorer;
+    private String jobId;
+    private SplittableRandom random;
+    private ConvergencePolicy convergencePolicy = ConvergencePolicy.DEFAULT;
+    private WarmStartRoutes warmStartRoutes;
+    private BooleanSupplier cancellation = () -> false;
+    @Getter
+    private StopReason stopReason;
+    @Getter
+    private int generations;
+
+    // 세대 버퍼. 실행 시작에 한 번 만들고, 세대마다 내용만 덮어쓴 뒤 population 과 nextPopulation 을 맞바꾼다.
+    private ChromosomeV4[] population;
+    private ChromosomeV4[] nextPopulation;
+    private ChromosomeV4[] offspring;
+    private ChromosomeV4[] mutated;
+    private ChromosomeV4[] candidates;
+    private int populationSize;
+    // 중복 제거용 open addressing 표(후보 순번, 빈 칸은 -1)와 상위 선택용 적합도 작업 배열
+    private int[] dedupSlots;
+    private double[] fitnessScratch;
+
+    private final DispatchProgressPublisher progressPublisher;
+    private final ForkJoinPool workerPool;
 
     public GeneticAlgorithmV5(List<EmployeeDTO> employees,
                               List<ElderlyDTO> elderly,
                               List<CoupleRequestDTO> couples,
                               List<FixedAssignmentsDTO> fixedAssignments,
-                              SSEService sseService
+                              DispatchProgressPublisher progressPublisher,
+                              ForkJoinPool workerPool
     ) {
         this.employees = employees;
         this.elderlys = elderly;
         this.couples = couples;
         this.fixedAssignments = generateFixedAssignmentMap(fixedAssignments, elderlys, employees);
-        this.sseService = sseService;
+        this.constraints = new DispatchConstraints(elderlys, employees.size(), couples, this.fixedAssignments);
+        this.progressPublisher = progressPublisher;
+        this.workerPool = workerPool;
+    }
+
+    /**
+     * @param jobId 진행률을 보낼 배차 작업 아이디 ({@link DispatchProgressPublisher}). null 이면 보내지 않는다.
+     */
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
+                           String jobId, long seed, ConvergencePolicy convergencePolicy) {
+        this.routeScorer = new RouteScorer(distanceMatrix, dispatchType, employees);
+        this.jobId = jobId;
+        this.random = new SplittableRandom(seed);
+        this.convergencePolicy = convergencePolicy;
     }
 
-    public void initialize(Map<String, Map<String, Integer>> distanceMatrix, DispatchType dispatchType,
-                           String userName) {
-        this.distanceMatrix = distanceMatrix;
-        this.dispatchType = dispatchType;
-        this.userName = userName;
+
+    /**
+     * 직전 배차 결과로 초기 해 일부를 채운다. initialize 뒤 run 전에 부른다.
+     */
+    public void warmStart(WarmStartRoutes warmStartRoutes) {
+        this.warmStartRoutes = warmStartRoutes;
     }
 
+    /**
+     * 세대 사이마다 확인할 취소 조건. true 가 되면 그 세대에서 멈추고 run 은 CancellationException 을 던진다.
+     */
+    public void cancelWhen(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
 
-    public List<ChromosomeV3> run() throws Exception {
-        // 초기 솔루션 생성
-        List<ChromosomeV3> chromosomes;
+    public List<ChromosomeV4> run() throws Exception {
         try {
+            allocateBuffers();
 
-            chromosomes = generateInitialPopulation(fixedAssignments);
-            sseService.notify(userName, 20);
+            // 초기 솔루션 생성
+            generateInitialPopulation(fixedAssignments);
+            progressPublisher.progress(jobId, 20);
 
-            for (int i = 0; i < MAX_ITERATIONS; i++) {
+            ConvergenceController convergence = new ConvergenceController(convergencePolicy, MAX_ITERATIONS);
 
-                sseService.notify(userName, String.format("%.1f", 20 + ((i / (double) MAX_ITERATIONS) * 60)));
+            for (int i = 0; ; i++) {
+
+                // 취소된 작업이면 다음 세대를 돌지 않는다
+                if (cancellation.getAsBoolean()) {
+                    stopReason = StopReason.CANCELLED;
+                    generations = i;
+                    break;
+                }
+
+                // 값만 남기고 바로 돌아온다 — 전송은 발행 주기마다 모아서 GA 스레드 밖에서 한다
+                progressPublisher.progress(jobId, 20 + i * 60 / MAX_ITERATIONS);
 
                 // 평가
-                evaluatePopulation(chromosomes);
-                // 선택
-                List<ChromosomeV3> selectedChromosomes = selectChromosomes(chromosomes);
+                double bestFitness = evaluatePopulation();
+                // 종료 판단 — 방금 평가한 세대에서 멈춰야 반환하는 해의 적합도가 실제 값이다
+                stopReason = convergence.check(i, bestFitness);
+                if (stopReason != null) {
+                    generations = i + 1;
+                    break;
+                }
+                // 선택 — combinePopulations 가 이미 상위 POPULATION_SIZE 개만 남겼으므로 현재 세대 전체가 부모다
                 // 교차
-                List<ChromosomeV3> offspringChromosomes = crossover(selectedChromosomes);
+                int offspringCount = crossover();
                 // 돌연변이
-                List<ChromosomeV3> mutatedChromosomes = mutate(offspringChromosomes);
+                mutate(offspringCount);
                 // 다음 세대 생성
-                chromosomes = combinePopulations(selectedChromosomes, offspringChromosomes, mutatedChromosomes);
-//                log.info(chromosomes.get(0).getFitness() + " " + chromosomes.get(0).getGenes());
+                combinePopulations(offspringCount);
 
             }
 
+            log.info("[GA] {} 세대에서 종료 - {} (최고 적합도 {})", generations, stopReason, convergence.getBestFitness());
+            if (stopReason != StopReason.CANCELLED) {
+                progressPublisher.stop(jobId, stopReason, generations);
+                progressPublisher.progress(jobId, 80);
+            }
 
         } catch (Exception e) {
             e.printStackTrace();
             throw new Exception("genetic algorithm run exception : " + e);
         }
-        // 반복
 
-        Collections.sort(chromosomes, (c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()));
+        if (stopReason == StopReason.CANCELLED) {
+            throw new CancellationException("배차 작업이 취소되었습니다. jobId=" + jobId);
+        }
+
+        if (populationSize == 0) {
+            throw new Exception("[ERROR] 제약조건(부부·앞좌석·고정 배정)을 모두 지키는 배차를 찾지 못했습니다.");
+        }
+
+        Arrays.sort(population, 0, populationSize, BY_FITNESS_DESC);
         // 최적의 솔루션 추출
-        return chromosomes;
+        return Arrays.asList(population).subList(0, populationSize);
 
     }
 
-    private List<ChromosomeV3> selectChromosomes(List<ChromosomeV3> chromosomes) {
-        if (chromosomes.size() < POPULATION_SIZE) {
-            return chromosomes;
+    /**
+     * 적합도 상위 topK 개 해를 국소 탐색({@link RouteLocalSearch})으로 다듬고 가장 나은 해를 돌려준다.
+     * 유효한 해가 없으면 ranked 의 첫 번째 해를 그대로 돌려준다.
+     *
+     * @param ranked run() 결과 — 적합도 내림차순
+     */
+    public ChromosomeV4 refine(List<ChromosomeV4> ranked, int topK) {
+        RouteLocalSearch localSearch = new RouteLocalSearch(routeScorer, constraints, employees);
+        ChromosomeV4 best = ranked.get(0);
+
+        for (int i = 0; i < Math.min(topK, ranked.size()) && ranked.get(i).getFitness() > 0; i++) {
+            ChromosomeV4 refined = new ChromosomeV4(elderlys.size(), employees.size());
+            localSearch.improve(ranked.get(i), refined);
+            refined.setFitness(calculateFitness(refined));
+
+            if (refined.getFitness() > best.getFitness()) {
+                best = refined;
+            }
         }
 
-        return chromosomes.subList(0, POPULATION_SIZE);
+        log.info("[GA] 국소 탐색 - 적합도 {} → {}", ranked.get(0).getFitness(), best.getFitness());
+        return best;
+    }
+
+    private void allocateBuffers() {
+        population = newBuffer(POPULATION_SIZE);
+        nextPopulation = newBuffer(POPULATION_SIZE);
+        offspring = newBuffer(POPULATION_SIZE);
+        mutated = newBuffer(POPULATION_SIZE);
+        candidates = new ChromosomeV4[POPULATION_SIZE * 3];
+        dedupSlots = new int[Integer.highestOneBit(POPULATION_SIZE * 3) << 2];
+        fitnessScratch = new double[POPULATION_SIZE * 3];
+    }
+
+    private ChromosomeV4[] newBuffer(int size) {
+        ChromosomeV4[] buffer = new ChromosomeV4[size];
+        for (int i = 0; i < size; i++) {
+            buffer[i] = new ChromosomeV4(elderlys.size(), employees.size());
+        }
+        return buffer;
     }
 
     private FixedAssignmentsV2 generateFixedAssignmentMap(List<FixedAssignmentsDTO> fixedAssignmentDtos,
@@ -122,354 +237,232 @@ public class GeneticAlgorithmV5 {
         return fixedAssignments;
     }
 
-    private List<ChromosomeV3> generateInitialPopulation(FixedAssignmentsV2 fixedAssignments) throws Exception {
-
-        List<ChromosomeV3> chromosomes = new ArrayList<>();
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments()));
-        }
-        return chromosomes;
+    private void generateInitialPopulation(FixedAssignmentsV2 fixedAssignments) throws Exception {
+        ChromosomeV4 warmStart = buildWarmStartChromosome();
+        int warmStartCount = warmStart == null ? 0 : (int) (POPULATION_SIZE * WARM_START_RATIO);
+
+        forEachChunk(POPULATION_SIZE, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                if (i < warmStartCount) {
+                    // 첫 해는 직전 배차 그대로, 나머지는 몇 자리씩 바꿔 다양성을 둔다
+                    population[i].copyFrom(warmStart);
+                    if (i > 0) {
+                        perturb(population[i], chunkRandom);
+                    }
+                    continue;
+                }
+                population[i].copyFrom(new ChromosomeV3(couples, employees, elderlys,
+                        fixedAssignments.getFixedAssignments(), chunkRandom));
+            }
+        });
+        populationSize = POPULATION_SIZE;
     }
 
-    private void evaluatePopulation(List<ChromosomeV3> chromosomes) {
-        for (ChromosomeV3 chromosome : chromosomes) {
-            chromosome.setFitness(calculateFitness(chromosome));
+    /**
+     * 직전 배차 경로에 새로 들어온 어르신을 출발 시간이 가장 적게 늘어나는 자리에 차례로 끼운다.
+     * 자리가 없거나 오늘 제약조건을 지키지 못하면 null — 이때는 모두 무작위 초기 해로 시작한다.
+     */
+    private ChromosomeV4 buildWarmStartChromosome() {
+        if (warmStartRoutes == null) {
+            return null;
         }
-    }
-
-    public double calculateFitness(ChromosomeV3 chromosome) {
-        double fitness = 0.0;
 
-        if (!isValidChromosome(chromosome)) {
-            return 0.0;
+        ChromosomeV4 chromosome = new RouteRepair(routeScorer, constraints).repair(warmStartRoutes, elderlys.size());
+        if (chromosome == null) {
+            log.info("[GA] 직전 배차에 새 어르신을 넣을 자리가 없거나 오늘 제약조건을 지키지 않아 무작위 초기 해로 시작합니다.");
+            return null;
         }
 
-        fitness += calculateFitnessForDepartureTimes(chromosome);
-        fitness += addFitnessForProximity(chromosome);
-
-        return fitness;
+        log.info("[GA] 직전 배차로 시작 - 이어받은 어르신 {}명, 새로 넣은 어르신 {}명",
+                warmStartRoutes.carriedOverCount(), warmStartRoutes.missingElderlys().length);
+        return chromosome;
     }
 
-    private boolean isValidChromosome(ChromosomeV3 chromosome) {
-        // 모든 제약조건 검사
-        return evaluateFrontSeatAssignments(chromosome) &&
-                evaluateFixedAssignments(chromosome) &&
-                evaluateCoupleAssignments(chromosome);
-    }
-
-    private boolean evaluateCoupleAssignments(ChromosomeV3 chromosome) {
-        // Elderly ID를 인덱스로 매핑하는 맵 생성
-        Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
-        for (int i = 0; i < elderlys.size(); i++) {
-            elderlyIdToIndex.put(elderlys.get(i).id(), i);
+    private void perturb(ChromosomeV4 chromosome, SplittableRandom random) {
+        int assignedEnd = chromosome.vehicleEnd(chromosome.vehicleCount() - 1);
+        if (assignedEnd < 2) {
+            return;
         }
 
-        // 각 부부 어르신에 대해 평가
-        for (CoupleRequestDTO couple : couples) {
-            long elderly1Id = couple.elderId1();
-            long elderly2Id = couple.elderId2();
-
-            // 실제 ID를 인덱스로 변환
-            Integer elderly1Index = elderlyIdToIndex.get(elderly1Id);
-            Integer elderly2Index = elderlyIdToIndex.get(elderly2Id);
-
-            if (elderly1Index == null || elderly2Index == null) {
-                // 인덱스 변환 실패시 다음 부부로 건너뛰기
-                continue;
-            }
-
-            boolean found = false;
-
-            // 부부가 같은 차량에 배정되었는지 확인
-            for (int[] gene : chromosome.getGenes()) {
-                if (Arrays.stream(gene).boxed().filter(e -> e == elderly1Index).count() >= 1
-                        && Arrays.stream(gene).boxed().filter(e -> e == elderly2Index).count() >= 1) {
-                    found = true;
-                    break;
-                }
-            }
-
-            // 부부가 다른 차량에 배정된 경우
-            if (!found) {
-                return false;
-            }
+        int swaps = 1 + random.nextInt(WARM_START_MAX_SWAPS);
+        int[] genes = chromosome.getGenes();
+        for (int swap = 0; swap < swaps; swap++) {
+            int position1 = random.nextInt(assignedEnd);
+            int position2 = random.nextInt(assignedEnd);
+            int tempElderly = genes[position1];
+            chromosome.setGene(position1, genes[position2]);
+            chromosome.setGene(position2, tempElderly);
         }
-        return true; // 모든 부부가 같은 차량에 배정됨
     }
 
-    private double calculateFitnessForDepartureTimes(ChromosomeV3 chromosome) {
-        double fitness;
-        List<Double> departureTimes = calculateDepartureTimes(chromosome);
-        chromosome.setDepartureTimes(departureTimes);
-        double totalDepartureTime = departureTimes.stream().mapToDouble(Double::doubleValue).sum();
+    private double evaluatePopulation() throws Exception {
+        forEachChunk(populationSize, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                ChromosomeV4 chromosome = population[i];
+                chromosome.setFitness(calculateFitness(chromosome));
+            }
+        });
 
-        if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-            fitness = 10000000 / ((totalDepartureTime + 1.0));
-            return fitness;
+        double bestFitness = 0.0;
+        for (int i = 0; i < populationSize; i++) {
+            bestFitness = Math.max(bestFitness, population[i].getFitness());
         }
-
-        fitness = 10000000 / ((totalDepartureTime + 1.0) / 1000);
-//        log.info("total departure time : " + totalDepartureTime + ", fitness : " + fitness);
-        return fitness;
+        return bestFitness;
     }
 
-    private double addFitnessForProximity(ChromosomeV3 chromosome) {
-
-        double fitness = 0.0;
-
-        if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    int elderlyIndex1 = chromosome.getGenes()[i][j];
-                    int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
-                    fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id());
-                }
-                fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
-            }
+    /**
+     * [0, size) 구간을 BATCH_SIZE 청크로 나눠 workerPool에서 병렬 실행한다.
+     *
+     * 청크별 난수 스트림은 호출 스레드에서 청크 순서대로 split 하므로, 실행 순서가 달라도 같은 시드면 같은 결과가 나온다.
+     * 각 청크는 자기 구간의 결과 슬롯에만 쓴다.
+     */
+    private void forEachChunk(int size, ChunkTask task) throws Exception {
+        int chunkCount = (size + BATCH_SIZE - 1) / BATCH_SIZE;
+        List<Callable<Void>> tasks = new ArrayList<>(chunkCount);
+
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = chunk * BATCH_SIZE;
+            int to = Math.min(size, from + BATCH_SIZE);
+            SplittableRandom chunkRandom = random.split();
+            tasks.add(() -> {
+                task.run(from, to, chunkRandom);
+                return null;
+            });
         }
 
-        if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    int elderlyIndex1 = chromosome.getGenes()[i][j];
-                    int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
-
-                    if (calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id()) == 10000) {
-                        fitness += 10000;
-                    } else {
-
-                        fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                                "Elderly_" + elderlys.get(elderlyIndex1).id());
-                    }
-
-                }
-                fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
+        for (Future<Void> future : workerPool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
             }
         }
-
-        return fitness;
-    }
-
-    private boolean evaluateFixedAssignments(ChromosomeV3 chromosome) {
-        return fixedAssignments.evaluateFitness(chromosome);
     }
 
-    private boolean evaluateFrontSeatAssignments(ChromosomeV3 chromosome) {
-        for (int i = 0; i < employees.size(); i++) {
-            boolean frontSeatAssigned = false;
-            for (int j = 0; j < chromosome.getGenes()[i].length; j++) {
-                if (elderlys.get(j).requiredFrontSeat()) {
-                    if (frontSeatAssigned) {
-                        return false;
-                    }
-                    frontSeatAssigned = true;
-                }
-            }
-        }
-        return true;
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int from, int to, SplittableRandom chunkRandom) throws Exception;
     }
 
-    private double addFitnessForDispatchTypes(ChromosomeV3 chromosome, double fitness, int i) {
-        if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
-            if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(), "Company");
-            }
+    public double calculateFitness(ChromosomeV4 chromosome) {
+        double fitness = 0.0;
 
-            if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                                chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(),
-                        "Employee_" + employees.get(i).id());
-            }
+        if (!isValidChromosome(chromosome)) {
+            return 0.0;
         }
 
-        if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
-            if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Company",
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-            }
-            if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-            }
-            fitness += calculateFitnessForFromAndTo(
-                    "Elderly_" + elderlys.get(chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1])
-                            .id(), "Company");
-        }
+        fitness += calculateFitnessForDepartureTimes(chromosome);
+        fitness += addFitnessForProximity(chromosome);
+
         return fitness;
     }
 
-    private double calculateFitnessForFromAndTo(String from, String to) {
-
-        double score = 0;
-
-        if (dispatchType == DispatchType.DURATION_OUT || dispatchType == DispatchType.DURATION_IN) {
-            score = DurationScore.getScore(distanceMatrix.get(from).get(to));
-        }
+    private boolean isValidChromosome(ChromosomeV4 chromosome) {
+        // 모든 제약조건 검사
+        return constraints.isSatisfied(chromosome);
+    }
 
-        if (dispatchType == DispatchType.DISTANCE_OUT || dispatchType == DispatchType.DISTANCE_IN) {
-            score = DistanceScore.getScore(distanceMatrix.get(from).get(to));
+    private double calculateFitnessForDepartureTimes(ChromosomeV4 chromosome) {
+        double totalDepartureTime = 0.0;
+        double[] departureTimes = chromosome.getDepartureTimes();
+        for (int i = 0; i < chromosome.vehicleCount(); i++) {
+            departureTimes[i] = calculateDepartureTime(chromosome, i);
+            totalDepartureTime += departureTimes[i];
         }
 
-        return score;
+        return routeScorer.departureFitness(totalDepartureTime);
     }
 
-    public List<Double> calculateDepartureTimes(ChromosomeV3 chromosome) {
-
-        List<Double> departureTimes = new ArrayList<>();
-
-        if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                double departureTime = 0.0;
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    String company = "Company";
-
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-
-                    if (j == 0) {
-                        departureTime += distanceMatrix.get(company)
-                                .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                    }
-
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
-                }
-
-                departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                        .get("Employee_" + employees.get(i).id());
-
-                if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Company");
-                }
-
-                if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Employee_" + employees.get(i).id());
-                }
-
-                departureTimes.add(departureTime);
-            }
+    private double addFitnessForProximity(ChromosomeV4 chromosome) {
+        double fitness = 0.0;
+        for (int i = 0; i < chromosome.vehicleCount(); i++) {
+            fitness += routeScorer.proximity(i, chromosome.getGenes(), chromosome.vehicleStart(i),
+                    chromosome.vehicleEnd(i));
         }
+        return fitness;
+    }
 
-        if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                String company = "Company";
-                double departureTime = 0.0;
-
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-                    if (j == 0) {
-                        departureTime += distanceMatrix.get("Employee_" + employees.get(i).id())
-                                .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                    }
-
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
-                }
-
-                if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Company")
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                }
-
-                if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Employee_" + employees.get(i).id())
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                }
+    /**
+     * 차량별 출발 시간(거리) 목록. 적합도 계산 중에도 염색체의 departureTimes 에 채우지만, 결과는 최종 해에서 다시 계산해 만든다.
+     */
+    public List<Double> calculateDepartureTimes(ChromosomeV4 chromosome) {
 
-                departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id()).get(company);
+        List<Double> departureTimes = new ArrayList<>(chromosome.vehicleCount());
 
-                departureTimes.add(departureTime);
-            }
+        for (int i = 0; i < chromosome.vehicleCount(); i++) {
+            departureTimes.add(calculateDepartureTime(chromosome, i));
         }
 
         return departureTimes;
     }
 
+    private double calculateDepartureTime(ChromosomeV4 chromosome, int i) {
+        return routeScorer.departureTime(i, chromosome.getGenes(), chromosome.vehicleStart(i),
+                chromosome.vehicleEnd(i));
+    }
 
-    private List<ChromosomeV3> crossover(List<ChromosomeV3> selectedChromosomes) {
-        List<ChromosomeV3> offspring = new ArrayList<>(selectedChromosomes.size());
-
-        for (int i = 0; i < selectedChromosomes.size(); i += 2) {
-            ChromosomeV3 parent1 = ChromosomeV3.copy(selectedChromosomes.get(i));
-            ChromosomeV3 parent2 = ChromosomeV3.copy(selectedChromosomes.get(i + 1));
-            // Crossover 확률에 따라 진행
-            if (rand.nextDouble() < CROSSOVER_RATE) {
-                offspring.addAll(multiPointCrossover(parent1, parent2));
-                continue;
-            }
 
-            if (rand.nextDouble() >= CROSSOVER_RATE) {
-                offspring.add(parent1);
-                offspring.add(parent2);
-                continue;
+    /**
+     * 현재 세대를 두 개씩 짝지어 offspring 버퍼에 자식을 쓴다. 교차하지 않는 쌍은 부모를 그대로 옮긴다.
+     *
+     * @return 만든 자식 수
+     */
+    private int crossover() throws Exception {
+        int pairCount = populationSize / 2;
+
+        forEachChunk(pairCount, (from, to, chunkRandom) -> {
+            // 중복 배정 보정용 작업 배열 — 청크마다 한 번만 만든다
+            boolean[] used = new boolean[elderlys.size()];
+            int[] unusedIndices = new int[elderlys.size()];
+
+            for (int pair = from; pair < to; pair++) {
+                int i = pair * 2;
+                ChromosomeV4 parent1 = population[i];
+                ChromosomeV4 parent2 = population[i + 1];
+                offspring[i].copyFrom(parent1);
+                offspring[i + 1].copyFrom(parent2);
+                // Crossover 확률에 따라 진행
+                if (chunkRandom.nextDouble() < CROSSOVER_RATE) {
+                    multiPointCrossover(parent1, parent2, offspring[i], offspring[i + 1], chunkRandom, used,
+                            unusedIndices);
+                }
             }
+        });
 
-        }
-
-        return offspring;
+        return pairCount * 2;
     }
 
 
-    private List<ChromosomeV3> multiPointCrossover(ChromosomeV3 parent1, ChromosomeV3 parent2) {
-        int[] crossoverPoints = createSortedRandomCrossoverPoints(parent1);
-
-        ChromosomeV3 child1 = ChromosomeV3.copy(parent1);
-        ChromosomeV3 child2 = ChromosomeV3.copy(parent2);
-
-        swapGeneticSegments(parent1, parent2, crossoverPoints, child1, child2);
+    // 교차와 중복 배정 보정은 src/jmh 벤치마크가 직접 부르므로 패키지 범위로 둔다
+    void multiPointCrossover(ChromosomeV4 parent1, ChromosomeV4 parent2, ChromosomeV4 child1,
+                             ChromosomeV4 child2, SplittableRandom random, boolean[] used,
+                             int[] unusedIndices) {
+        int crossoverPoint1 = random.nextInt(parent1.vehicleCount());
+        int crossoverPoint2 = random.nextInt(parent1.vehicleCount());
 
-        fixDuplicateAssignments(child1, elderlys);
-        fixDuplicateAssignments(child2, elderlys);
+        // 두 교차점 사이 차량만 부모를 맞바꾼다 (앞 구간은 각자 부모 그대로)
+        swapGeneticSegments(parent1, parent2, Math.min(crossoverPoint1, crossoverPoint2),
+                Math.max(crossoverPoint1, crossoverPoint2), child1, child2);
 
-        return Arrays.asList(child1, child2);
+        fixDuplicateAssignments(child1, used, unusedIndices);
+        fixDuplicateAssignments(child2, used, unusedIndices);
     }
 
-    private int[] createSortedRandomCrossoverPoints(ChromosomeV3 parent1) {
-        int[] crossoverPoints = new int[2];
-        for (int i = 0; i < crossoverPoints.length; i++) {
-            crossoverPoints[i] = rand.nextInt(parent1.getGenes().length);
-        }
-        Arrays.sort(crossoverPoints);
-        return crossoverPoints;
-    }
-
-    private void swapGeneticSegments(ChromosomeV3 parent1, ChromosomeV3 parent2, int[] crossoverPoints,
-                                     ChromosomeV3 child1,
-                                     ChromosomeV3 child2) {
-        for (int i = 0; i < crossoverPoints.length; i++) {
-            int start = i == 0 ? 0 : crossoverPoints[i - 1];
-            int end = crossoverPoints[i];
-            for (int j = start; j < end; j++) {
-                int[] parent1Gene = parent1.getGenes()[j];
-                int[] parent2Gene = parent2.getGenes()[j];
-                int minLength = Math.min(parent1Gene.length, parent2Gene.length);
-                for (int k = 0; k < minLength; k++) {
-                    if (i % 2 == 0) {
-                        child1.getGenes()[j][k] = parent1Gene[k];
-                        child2.getGenes()[j][k] = parent2Gene[k];
-                        continue;
-                    }
-                    if (i % 2 != 0) {
-                        child1.getGenes()[j][k] = parent2Gene[k];
-                        child2.getGenes()[j][k] = parent1Gene[k];
-                        continue;
-                    }
-                }
+    private void swapGeneticSegments(ChromosomeV4 parent1, ChromosomeV4 parent2, int start, int end,
+                                     ChromosomeV4 child1, ChromosomeV4 child2) {
+        for (int j = start; j < end; j++) {
+            int minLength = Math.min(parent1.vehicleSize(j), parent2.vehicleSize(j));
+            int parent1Start = parent1.vehicleStart(j);
+            int parent2Start = parent2.vehicleStart(j);
+            for (int k = 0; k < minLength; k++) {
+                child1.setGene(child1.vehicleStart(j) + k, parent2.getGenes()[parent2Start + k]);
+                child2.setGene(child2.vehicleStart(j) + k, parent1.getGenes()[parent1Start + k]);
             }
         }
-
     }
 
-    private int indexOf(int[] array, int value) {
-        for (int i = 0; i < array.length; i++) {
+    private int indexOf(int[] array, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
             if (array[i] == value) {
                 return i;
             }
@@ -478,20 +471,21 @@ public class GeneticAlgorithmV5 {
     }
 
 
-    private void fixDuplicateAssignments(ChromosomeV3 child, List<ElderlyDTO> elderlys) {
+    void fixDuplicateAssignments(ChromosomeV4 child, boolean[] used, int[] unusedIndices) {
         int totalElderly = elderlys.size();
-        // 1. 빠른 조회를 위한 boolean 배열 사용
-        boolean[] used = new boolean[totalElderly];
-        // 2. 미사용 어르신 인덱스 추적
-        List<Integer> unusedIndices = new ArrayList<>(totalElderly);
+        int[] genes = child.getGenes();
+        Arrays.fill(used, false);
 
         // 첫 번째 패스: 사용된 어르신 체크
-        for (int[] gene : child.getGenes()) {
-            for (int elderlyId : gene) {
+        for (int vehicle = 0; vehicle < child.vehicleCount(); vehicle++) {
+            int start = child.vehicleStart(vehicle);
+            int end = child.vehicleEnd(vehicle);
+            for (int p = start; p < end; p++) {
+                int elderlyId = genes[p];
                 if (elderlyId >= 0 && elderlyId < totalElderly) {
                     if (used[elderlyId]) {
                         // 중복된 경우 나중에 재할당하기 위해 -1로 마킹
-                        gene[indexOf(gene, elderlyId)] = -1;
+                        child.setGene(indexOf(genes, start, end, elderlyId), -1);
                     } else {
                         used[elderlyId] = true;
                     }
@@ -500,70 +494,187 @@ public class GeneticAlgorithmV5 {
         }
 
         // 미사용 어르신 인덱스 수집
+        int unusedCount = 0;
         for (int i = 0; i < totalElderly; i++) {
             if (!used[i]) {
-                unusedIndices.add(i);
+                unusedIndices[unusedCount++] = i;
             }
         }
 
         // 중복 제거된 위치에 미사용 어르신 할당
         int unusedIndex = 0;
-        for (int[] gene : child.getGenes()) {
-            for (int i = 0; i < gene.length; i++) {
-                if (gene[i] == -1) {
-                    gene[i] = unusedIndices.get(unusedIndex++);
-                }
+        int assignedEnd = child.vehicleEnd(child.vehicleCount() - 1);
+        for (int p = 0; p < assignedEnd; p++) {
+            if (genes[p] == -1) {
+                child.setGene(p, unusedIndices[unusedIndex++]);
             }
         }
     }
 
-    private List<ChromosomeV3> mutate(List<ChromosomeV3> offspringChromosomes) throws Exception {
-        List<ChromosomeV3> mutatedChromosomes = new ArrayList<>();
-
-        for (ChromosomeV3 chromosome : offspringChromosomes) {
-            // 염색체 깊은 복사
-            ChromosomeV3 newChromosome = ChromosomeV3.copy(chromosome);
+    private void mutate(int offspringCount) throws Exception {
+        forEachChunk(offspringCount, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                ChromosomeV4 newChromosome = mutated[i];
+                newChromosome.copyFrom(offspring[i]);
+
+                if (chunkRandom.nextDouble() < MUTATION_RATE) {
+                    int mutationPoint1 = chunkRandom.nextInt(newChromosome.vehicleCount());
+                    int mutationPoint3 = chunkRandom.nextInt(newChromosome.vehicleCount());
+
+                    if (newChromosome.vehicleSize(mutationPoint1) > 0
+                            && newChromosome.vehicleSize(mutationPoint3) > 0) {
+                        int mutationPoint2 = newChromosome.vehicleStart(mutationPoint1)
+                                + chunkRandom.nextInt(newChromosome.vehicleSize(mutationPoint1));
+                        int mutationPoint4 = newChromosome.vehicleStart(mutationPoint3)
+                                + chunkRandom.nextInt(newChromosome.vehicleSize(mutationPoint3));
+
+                        // 염색
+                        int[] genes = newChromosome.getGenes();
+                        int tempElderly = genes[mutationPoint4];
+                        newChromosome.setGene(mutationPoint4, genes[mutationPoint2]);
+                        newChromosome.setGene(mutationPoint2, tempElderly);
+                    }
+                }
+            }
+        });
+    }
 
-            if (rand.nextDouble() < MUTATION_RATE) {
-                int mutationPoint1 = rand.nextInt(newChromosome.getGenes().length);
-                int[] employeeAssignment = newChromosome.getGenes()[mutationPoint1];
-                int mutationPoint2 = rand.nextInt(employeeAssignment.length);
+    /**
+     * 현재 세대·자식·변이 중 유효한 해에서 같은 배치를 하나만 남기고, 적합도 상위 POPULATION_SIZE 개를 nextPopulation 에
+     * 옮긴 뒤 두 버퍼를 맞바꾼다. 적합도가 같으면 현재 세대, 자식, 변이 순서가 앞선다.
+     */
+    private void combinePopulations(int offspringCount) {
+        int candidateCount = 0;
 
-                int mutationPoint3 = rand.nextInt(newChromosome.getGenes().length);
-                int[] employeeAssignment2 = newChromosome.getGenes()[mutationPoint3];
-                int mutationPoint4 = rand.nextInt(employeeAssignment2.length);
+        for (int i = 0; i < populationSize; i++) {
+            if (population[i].getFitness() > 0) {  // 유효한 해결책만 필터링
+                candidates[candidateCount++] = population[i];
+            }
+        }
+        for (int i = 0; i < offspringCount; i++) {
+            if (offspring[i].getFitness() > 0) {
+                candidates[candidateCount++] = offspring[i];
+            }
+        }
+        for (int i = 0; i < offspringCount; i++) {
+            if (mutated[i].getFitness() > 0) {
+                candidates[candidateCount++] = mutated[i];
+            }
+        }
 
-                // 염색
-                int tempElderly = employeeAssignment2[mutationPoint4];
+        candidateCount = removeDuplicates(candidateCount);
+        int nextSize = Math.min(candidateCount, POPULATION_SIZE);
+        if (candidateCount > nextSize) {
+            selectTop(candidateCount, nextSize);
+        }
 
-                employeeAssignment2[mutationPoint4] = employeeAssignment[mutationPoint2];
-                employeeAssignment[mutationPoint2] = tempElderly;
+        // 남은 nextSize 개만 정렬한다
+        Arrays.sort(candidates, 0, nextSize, BY_FITNESS_DESC);
+        for (int i = 0; i < nextSize; i++) {
+            nextPopulation[i].copyFrom(candidates[i]);
+        }
 
+        ChromosomeV4[] previous = population;
+        population = nextPopulation;
+        nextPopulation = previous;
+        populationSize = nextSize;
+    }
 
+    /**
+     * 배치 hash 로 candidates 앞쪽 count 개에서 중복을 지우고 앞으로 당긴다. 같은 배치가 여럿이면 적합도가 높은 쪽,
+     * 같으면 먼저 나온 쪽을 남긴다. 자식은 부모의 적합도를 물려받은 채 들어오므로 배치가 같아도 적합도가 다를 수 있다.
+     *
+     * @return 중복을 지운 뒤 후보 수
+     */
+    private int removeDuplicates(int count) {
+        Arrays.fill(dedupSlots, -1);
+        int mask = dedupSlots.length - 1;
+        int uniqueCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            ChromosomeV4 candidate = candidates[i];
+            int slot = (int) (candidate.getHash() ^ (candidate.getHash() >>> 32)) & mask;
+
+            while (true) {
+                int kept = dedupSlots[slot];
+                if (kept == -1) {
+                    dedupSlots[slot] = uniqueCount;
+                    candidates[uniqueCount++] = candidate;
+                    break;
+                }
+                if (candidates[kept].sameLayout(candidate)) {
+                    if (candidate.getFitness() > candidates[kept].getFitness()) {
+                        candidates[kept] = candidate;
+                    }
+                    break;
+                }
+                slot = (slot + 1) & mask;
             }
+        }
+
+        return uniqueCount;
+    }
+
+    /**
+     * 전체 정렬 없이 적합도 상위 k 개를 candidates 앞쪽으로 모은다. k 번째 적합도를 quickselect 로 찾은 뒤, 그보다 큰
+     * 해와 같은 해 중 앞선 것을 원래 순서대로 남긴다 — 이어지는 안정 정렬과 합치면 전체를 정렬한 것과 같은 결과다.
+     */
+    private void selectTop(int count, int k) {
+        for (int i = 0; i < count; i++) {
+            fitnessScratch[i] = candidates[i].getFitness();
+        }
+        double threshold = kthLargest(fitnessScratch, count, k);
 
-            mutatedChromosomes.add(newChromosome); // 변이된 염색체를 리스트에 추가
+        int greater = 0;
+        for (int i = 0; i < count; i++) {
+            if (candidates[i].getFitness() > threshold) {
+                greater++;
+            }
         }
 
-        return mutatedChromosomes; // 변이된 새로운 염색체 리스트 반환
+        int equalQuota = k - greater;
+        int selected = 0;
+        for (int i = 0; i < count; i++) {
+            double fitness = candidates[i].getFitness();
+            if (fitness > threshold || (fitness == threshold && equalQuota-- > 0)) {
+                candidates[selected++] = candidates[i];
+            }
+        }
     }
 
-    private List<ChromosomeV3> combinePopulations(List<ChromosomeV3> chromosomes,
-                                                  List<ChromosomeV3> offspringChromosomes,
-                                                  List<ChromosomeV3> mutatedChromosomes) {
-        List<ChromosomeV3> combinedChromosomes = new ArrayList<>(POPULATION_SIZE);
-        Set<String> uniqueGenes = new HashSet<>();
-
-        // 1. 모든 염색체를 하나의 스트림으로 처리
-        Stream.of(chromosomes, offspringChromosomes, mutatedChromosomes)
-                .flatMap(List::stream)
-                .filter(c -> c.getFitness() > 0)  // 유효한 해결책만 필터링
-                .filter(c -> uniqueGenes.add(c.getGenes().toString()))  // 중복 제거
-                .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))  // 적합도 기준 정렬
-                .limit(POPULATION_SIZE)  // 상위 N개만 선택
-                .forEach(combinedChromosomes::add);
-
-        return combinedChromosomes;
+    // values 앞쪽 count 개 중 k 번째로 큰 값. values 의 순서는 바뀐다.
+    private static double kthLargest(double[] values, int count, int k) {
+        int left = 0;
+        int right = count - 1;
+        int target = k - 1;
+
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] > pivot) {
+                    i++;
+                }
+                while (values[j] < pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double temp = values[i];
+                    values[i++] = values[j];
+                    values[j--] = temp;
+                }
+            }
+            if (target <= j) {
+                right = j;
+            } else if (target >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+
+        return values[target];
     }
 
 
@@ -0,0 +1,162 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV4;
+import com.silverithm.vehicleplacementsystem.entity.ConvergencePolicy;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.WarmStartRoutes;
+import com.silverithm.vehicleplacementsystem.repository.DispatchSettingRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * GeneticAlgorithmV5 풀이. 직전 배차로 초기 해를 채우는 warm start, 기관별 조기 종료 규칙, 상위 해 국소 탐색을 포함한다.
+ */
+@Service
+@Slf4j
+public class GeneticAlgorithmV5Solver implements DispatchSolver {
+
+    public static final String NAME = "ga-v5";
+
+    // GA 결과 중 국소 탐색으로 다듬어 볼 상위 해 수
+    private static final int LOCAL_SEARCH_TOP_K = 5;
+
+    private final DispatchProgressPublisher progressPublisher;
+    private final DispatchHistoryService dispatchHistoryService;
+    private final ForkJoinPool geneticAlgorithmWorkerPool;
+    private final CallerCompanyResolver callerCompanyResolver;
+    private final DispatchSettingRepository dispatchSettingRepository;
+    private final DispatchJobRegistry dispatchJobRegistry;
+    private final ObjectMapper objectMapper;
+
+    public GeneticAlgorithmV5Solver(DispatchProgressPublisher progressPublisher,
+                                    DispatchHistoryService dispatchHistoryService,
+                                    @Qualifier("geneticAlgorithmWorkerPool") ForkJoinPool geneticAlgorithmWorkerPool,
+                                    CallerCompanyResolver callerCompanyResolver,
+                                    DispatchSettingRepository dispatchSettingRepository,
+                                    DispatchJobRegistry dispatchJobRegistry,
+                                    ObjectMapper objectMapper) {
+        this.progressPublisher = progressPublisher;
+        this.dispatchHistoryService = dispatchHistoryService;
+        this.geneticAlgorithmWorkerPool = geneticAlgorithmWorkerPool;
+        this.callerCompanyResolver = callerCompanyResolver;
+        this.dispatchSettingRepository = dispatchSettingRepository;
+        this.dispatchJobRegistry = dispatchJobRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<AssignmentResponseDTO> solve(RequestDispatchDTO requestDispatchDTO, DistanceMatrix distanceMatrix)
+            throws Exception {
+
+        List<EmployeeDTO> employees = requestDispatchDTO.employees();
+        List<ElderlyDTO> elderlys = requestDispatchDTO.elderlys();
+
+        // 유전 알고리즘 실행
+        GeneticAlgorithmV5 geneticAlgorithm = new GeneticAlgorithmV5(employees, elderlys,
+                requestDispatchDTO.couples(),
+                requestDispatchDTO.fixedAssignments(),
+                progressPublisher,
+                geneticAlgorithmWorkerPool);
+        long seed = requestDispatchDTO.seed() != null ? requestDispatchDTO.seed()
+                : ThreadLocalRandom.current().nextLong();
+        log.info("genetic algorithm seed : " + seed);
+        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(), requestDispatchDTO.jobId(),
+                seed, loadConvergencePolicy(requestDispatchDTO.userName()));
+        geneticAlgorithm.cancelWhen(() -> dispatchJobRegistry.isCancelled(requestDispatchDTO.jobId()));
+        if (requestDispatchDTO.useWarmStart()) {
+            dispatchHistoryService.findLatestResult(requestDispatchDTO.userName(), requestDispatchDTO.dispatchType())
+                    .ifPresent(previous -> geneticAlgorithm.warmStart(new WarmStartRoutes(previous, employees,
+                            elderlys)));
+        }
+
+        List<ChromosomeV4> chromosomes = geneticAlgorithm.run();
+        log.info("genetic algorithm stopped : " + geneticAlgorithm.getStopReason() + " after "
+                + geneticAlgorithm.getGenerations() + " generations");
+        // 최적의 솔루션 추출 — 상위 해들의 경로를 국소 탐색으로 다듬은 뒤 가장 나은 해
+        ChromosomeV4 bestChromosome = geneticAlgorithm.refine(chromosomes, LOCAL_SEARCH_TOP_K);
+
+        List<Double> departureTimes = geneticAlgorithm.calculateDepartureTimes(bestChromosome);
+        progressPublisher.progress(requestDispatchDTO.jobId(), 95);
+
+        List<AssignmentResponseDTO> assignmentResponseDTOS = createResult(
+                employees, elderlys, bestChromosome, departureTimes, requestDispatchDTO.dispatchType());
+
+        log.info("done : " + bestChromosome.toVehicleString() + " " + bestChromosome.getFitness() + " "
+                + departureTimes);
+
+        log.info(assignmentResponseDTOS.toString());
+
+        progressPublisher.progress(requestDispatchDTO.jobId(), 100);
+
+        return assignmentResponseDTOS;
+    }
+
+    /**
+     * 회사 배차 설정의 "convergence" 항목에서 조기 종료 규칙을 읽는다. 항목이 없거나 읽지 못하면 기본값을 쓴다.
+     *
+     * { "stagnationGenerations": 50, "targetFitness": 0, "timeBudgetSeconds": 0 } — 0은 해당 규칙을 끈다.
+     */
+    private ConvergencePolicy loadConvergencePolicy(String userName) {
+        Optional<JsonNode> convergence = callerCompanyResolver.resolveCompanyId(userName)
+                .flatMap(dispatchSettingRepository::findByCompanyId)
+                .map(setting -> {
+                    try {
+                        return objectMapper.readTree(setting.getSettingsJson()).path("convergence");
+                    } catch (Exception e) {
+                        log.warn("dispatch settings parse failed, using default convergence policy : " + e.getMessage());
+                        return null;
+                    }
+                })
+                .filter(JsonNode::isObject);
+
+        if (convergence.isEmpty()) {
+            return ConvergencePolicy.DEFAULT;
+        }
+
+        JsonNode node = convergence.get();
+        return new ConvergencePolicy(
+                node.path("stagnationGenerations").asInt(ConvergencePolicy.DEFAULT_STAGNATION_GENERATIONS),
+                node.path("targetFitness").asDouble(0),
+                node.path("timeBudgetSeconds").asLong(0) * 1000);
+    }
+
+    static List<AssignmentResponseDTO> createResult(List<EmployeeDTO> employees,
+                                                    List<ElderlyDTO> elderlys, ChromosomeV4 bestChromosome,
+                                                    List<Double> departureTimes, DispatchType dispatchType) {
+        List<AssignmentResponseDTO> assignmentResponseDTOS = new ArrayList<>();
+
+        for (int i = 0; i < employees.size(); i++) {
+            List<AssignmentElderRequest> assignmentElders = new ArrayList<>();
+
+            for (int j = 0; j < bestChromosome.vehicleSize(i); j++) {
+                ElderlyDTO elderly = elderlys.get(bestChromosome.gene(i, j));
+                assignmentElders.add(new AssignmentElderRequest(elderly.id(), elderly.homeAddress(), elderly.name()));
+            }
+            assignmentResponseDTOS.add(
+                    new AssignmentResponseDTO(dispatchType, employees.get(i).id(), employees.get(i).homeAddress(),
+                            employees.get(i).workplace(),
+                            employees.get(i).name(),
+                            (int) (departureTimes.get(i) - 0), assignmentElders, employees.get(i).isDriver()));
+        }
+        return assignmentResponseDTOS;
+    }
+}
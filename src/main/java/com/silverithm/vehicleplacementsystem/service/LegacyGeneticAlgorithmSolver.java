@@ -0,0 +1,155 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.Chromosome;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV2;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GeneticAlgorithm ~ GeneticAlgorithmV4 풀이. 이전 세대 GA 는 "Company", "Employee_{id}", "Elderly_{id}" 를 키로 하는
+ * 맵 행렬을 받으므로 {@link DistanceMatrix} 를 그 모양으로 옮겨 넘긴다. 벤치마크에서 새 풀이와 비교하려고 남겨 둔다.
+ */
+@Slf4j
+public class LegacyGeneticAlgorithmSolver implements DispatchSolver {
+
+    public enum Generation {
+        V1("ga-v1"), V2("ga-v2"), V3("ga-v3"), V4("ga-v4");
+
+        private final String engineName;
+
+        Generation(String engineName) {
+            this.engineName = engineName;
+        }
+    }
+
+    private final Generation generation;
+    private final SSEService sseService;
+
+    public LegacyGeneticAlgorithmSolver(Generation generation, SSEService sseService) {
+        this.generation = generation;
+        this.sseService = sseService;
+    }
+
+    @Override
+    public String name() {
+        return generation.engineName;
+    }
+
+    @Override
+    public List<AssignmentResponseDTO> solve(RequestDispatchDTO requestDispatchDTO, DistanceMatrix distanceMatrix)
+            throws Exception {
+        List<EmployeeDTO> employees = requestDispatchDTO.employees();
+        List<ElderlyDTO> elderlys = requestDispatchDTO.elderlys();
+        Map<String, Map<String, Integer>> nodeMatrix = toNodeMatrix(distanceMatrix, employees, elderlys);
+
+        int[][] genes;
+        List<Double> departureTimes;
+        switch (generation) {
+            case V1 -> {
+                GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(employees, elderlys,
+                        requestDispatchDTO.couples(), requestDispatchDTO.fixedAssignments(), sseService);
+                geneticAlgorithm.initialize(nodeMatrix, requestDispatchDTO.dispatchType(),
+                        requestDispatchDTO.userName());
+                Chromosome best = geneticAlgorithm.run().get(0);
+                genes = best.getGenes().stream()
+                        .map(vehicle -> vehicle.stream().mapToInt(Integer::intValue).toArray())
+                        .toArray(int[][]::new);
+                departureTimes = best.getDepartureTimes();
+            }
+            case V2 -> {
+                GeneticAlgorithmV2 geneticAlgorithm = new GeneticAlgorithmV2(employees, elderlys,
+                        requestDispatchDTO.couples(), requestDispatchDTO.fixedAssignments(), sseService);
+                geneticAlgorithm.initialize(nodeMatrix, requestDispatchDTO.dispatchType(),
+                        requestDispatchDTO.userName());
+                ChromosomeV2 best = geneticAlgorithm.run()[0];
+                genes = best.getGenes();
+                departureTimes = new ArrayList<>();
+                for (double departureTime : best.getDepartureTimes()) {
+                    departureTimes.add(departureTime);
+                }
+            }
+            case V3 -> {
+                GeneticAlgorithmV3 geneticAlgorithm = new GeneticAlgorithmV3(employees, elderlys,
+                        requestDispatchDTO.couples(), requestDispatchDTO.fixedAssignments(), sseService);
+                geneticAlgorithm.initialize(nodeMatrix, requestDispatchDTO.dispatchType(),
+                        requestDispatchDTO.userName());
+                ChromosomeV3 best = geneticAlgorithm.run().get(0);
+                genes = best.getGenes();
+                departureTimes = best.getDepartureTimes();
+            }
+            default -> {
+                GeneticAlgorithmV4 geneticAlgorithm = new GeneticAlgorithmV4(employees, elderlys,
+                        requestDispatchDTO.couples(), requestDispatchDTO.fixedAssignments(), sseService);
+                geneticAlgorithm.initialize(nodeMatrix, requestDispatchDTO.dispatchType(),
+                        requestDispatchDTO.userName());
+                ChromosomeV3 best = geneticAlgorithm.run().get(0);
+                genes = best.getGenes();
+                departureTimes = best.getDepartureTimes();
+            }
+        }
+        sseService.notify(requestDispatchDTO.userName(), 95);
+
+        List<AssignmentResponseDTO> assignmentResponseDTOS = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            List<AssignmentElderRequest> assignmentElders = new ArrayList<>();
+            for (int elderlyIndex : genes[i]) {
+                ElderlyDTO elderly = elderlys.get(elderlyIndex);
+                assignmentElders.add(new AssignmentElderRequest(elderly.id(), elderly.homeAddress(), elderly.name()));
+            }
+            assignmentResponseDTOS.add(
+                    new AssignmentResponseDTO(requestDispatchDTO.dispatchType(), employees.get(i).id(),
+                            employees.get(i).homeAddress(), employees.get(i).workplace(), employees.get(i).name(),
+                            (int) (departureTimes.get(i) - 0), assignmentElders, employees.get(i).isDriver()));
+        }
+
+        log.info(name() + " done : " + assignmentResponseDTOS);
+
+        sseService.notify(requestDispatchDTO.userName(), 100);
+        if (generation == Generation.V3) {
+            sseService.notifyResult(requestDispatchDTO.userName(), assignmentResponseDTOS);
+        }
+
+        return assignmentResponseDTOS;
+    }
+
+    // 이전 세대 GA 가 읽는 간선(회사·직원 → 어르신, 어르신 ↔ 어르신)만 양방향으로 옮긴다
+    private Map<String, Map<String, Integer>> toNodeMatrix(DistanceMatrix distanceMatrix, List<EmployeeDTO> employees,
+                                                           List<ElderlyDTO> elderlys) {
+        String[] nodeIds = new String[distanceMatrix.getSize()];
+        nodeIds[DistanceMatrix.COMPANY] = LinkDistanceCacheService.COMPANY_NODE_ID;
+        for (int i = 0; i < employees.size(); i++) {
+            nodeIds[distanceMatrix.employeeNode(i)] = LinkDistanceCacheService.EMPLOYEE_NODE_PREFIX
+                    + employees.get(i).id();
+        }
+        for (int i = 0; i < elderlys.size(); i++) {
+            nodeIds[distanceMatrix.elderlyNode(i)] = LinkDistanceCacheService.ELDERLY_NODE_PREFIX
+                    + elderlys.get(i).id();
+        }
+
+        Map<String, Map<String, Integer>> nodeMatrix = new HashMap<>();
+        for (String nodeId : nodeIds) {
+            nodeMatrix.put(nodeId, new HashMap<>());
+        }
+        for (int i = 0; i < elderlys.size(); i++) {
+            int elderlyNode = distanceMatrix.elderlyNode(i);
+            for (int from = 0; from < distanceMatrix.getSize(); from++) {
+                if (from == elderlyNode) {
+                    continue;
+                }
+                nodeMatrix.get(nodeIds[from]).put(nodeIds[elderlyNode], distanceMatrix.get(from, elderlyNode));
+                nodeMatrix.get(nodeIds[elderlyNode]).put(nodeIds[from], distanceMatrix.get(elderlyNode, from));
+            }
+        }
+        return nodeMatrix;
+    }
+}
@@ -0,0 +1,350 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.silverithm.vehicleplacementsystem.config.CacheConfig;
+import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
+import com.silverithm.vehicleplacementsystem.repository.ElderRepository;
+import com.silverithm.vehicleplacementsystem.repository.EmployeeRepository;
+import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 배차 노드 쌍 거리·소요시간의 2단 캐시.
+ *
+ * 1차는 인스턴스 안의 Caffeine({@link CacheConfig#LINK_DISTANCE_CACHE}), 2차는 블루·그린 인스턴스가 함께 보는 Redis 해시,
+ * 둘 다 없으면 link_distance 테이블에서 읽어 위 단계를 채운다. 센터 주소는 거의 바뀌지 않으므로 대부분의 배차가 MySQL 을 거치지 않는다.
+ *
+ * Redis 는 출발 노드마다 해시 하나(link-distance:{출발 노드 id})를 두고 필드를 도착 노드 id, 값을 "소요시간,거리" 로 저장한다.
+ * 간선은 항상 양방향으로 저장되므로 노드 하나를 무효화할 때 그 노드 해시의 필드가 곧 역방향 해시 목록이다.
+ *
+ * 주소 변경은 {@link AddressChanged} 이벤트로 받아 커밋 뒤에 무효화한다.
+ */
+@Slf4j
+@Service
+public class LinkDistanceCacheService {
+
+    public static final String COMPANY_NODE_ID = "Company";
+    public static final String EMPLOYEE_NODE_PREFIX = "Employee_";
+    public static final String ELDERLY_NODE_PREFIX = "Elderly_";
+
+    private static final String REDIS_KEY_PREFIX = "link-distance:";
+    private static final Duration REDIS_TTL = Duration.ofDays(30);
+    private static final int WARM_UP_SIZE = 100000;
+
+    private final Cache<Object, Object> localCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkDistanceRepository linkDistanceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ElderRepository elderRepository;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public LinkDistanceCacheService(@Qualifier("caffeineCacheManager") CacheManager caffeineCacheManager,
+                                    StringRedisTemplate stringRedisTemplate,
+                                    LinkDistanceRepository linkDistanceRepository,
+                                    EmployeeRepository employeeRepository,
+                                    ElderRepository elderRepository,
+                                    MeterRegistry meterRegistry) {
+        this.localCache = ((CaffeineCache) caffeineCacheManager.getCache(CacheConfig.LINK_DISTANCE_CACHE))
+                .getNativeCache();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.linkDistanceRepository = linkDistanceRepository;
+        this.employeeRepository = employeeRepository;
+        this.elderRepository = elderRepository;
+        // 1차(Caffeine) 적중률은 recordStats 로 cache.gets 에 자동 노출된다
+        this.redisHits = Counter.builder("link_distance_cache_redis")
+                .tag("result", "hit")
+                .description("Redis 2차 거리 캐시 적중")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("link_distance_cache_redis")
+                .tag("result", "miss")
+                .description("Redis 2차 거리 캐시 미적중")
+                .register(meterRegistry);
+    }
+
+    public static String linkKey(String startNodeId, String destinationNodeId) {
+        return startNodeId + "_" + destinationNodeId;
+    }
+
+    /**
+     * 요청한 (출발, 도착) 쌍 중 저장된 간선을 찾는다. startNodeIds[i] → destinationNodeIds[i] 가 한 쌍이다.
+     *
+     * @return linkKey 로 찾을 수 있는 저장된 간선. 없는 쌍은 빠진다.
+     */
+    public Map<String, LinkDistance> findAll(String[] startNodeIds, String[] destinationNodeIds) {
+        Map<String, LinkDistance> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+
+        // 1차 — Caffeine
+        for (int i = 0; i < startNodeIds.length; i++) {
+            String key = linkKey(startNodeIds[i], destinationNodeIds[i]);
+            Object cached = localCache.getIfPresent(key);
+            if (cached != null) {
+                found.put(key, (LinkDistance) cached);
+            } else {
+                misses.add(i);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        // 2차 — Redis
+        List<Integer> redisMissed = findInRedis(startNodeIds, destinationNodeIds, misses, found);
+
+        if (redisMissed.isEmpty()) {
+            return found;
+        }
+
+        // 마지막 — MySQL, 남은 쌍의 노드 집합으로 한 번 조회
+        Set<String> nodeIds = new LinkedHashSet<>();
+        for (int i : redisMissed) {
+            nodeIds.add(startNodeIds[i]);
+            nodeIds.add(destinationNodeIds[i]);
+        }
+
+        List<LinkDistance> loaded = new ArrayList<>();
+        Set<String> wanted = new HashSet<>();
+        for (int i : redisMissed) {
+            wanted.add(linkKey(startNodeIds[i], destinationNodeIds[i]));
+        }
+        for (LinkDistance linkDistance : linkDistanceRepository.findAllBetweenNodeIds(nodeIds)) {
+            String key = linkKey(linkDistance.getStartNodeId(), linkDistance.getDestinationNodeId());
+            if (wanted.contains(key)) {
+                found.put(key, linkDistance);
+                loaded.add(linkDistance);
+            }
+        }
+
+        putAll(loaded);
+        return found;
+    }
+
+    private List<Integer> findInRedis(String[] startNodeIds, String[] destinationNodeIds, List<Integer> misses,
+                                      Map<String, LinkDistance> found) {
+        // 출발 노드별로 HMGET 한 번씩, 파이프라인 한 번에 보낸다
+        Map<String, List<Integer>> byStart = new LinkedHashMap<>();
+        for (int i : misses) {
+            byStart.computeIfAbsent(startNodeIds[i], k -> new ArrayList<>()).add(i);
+        }
+
+        List<Object> replies;
+        try {
+            replies = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (Map.Entry<String, List<Integer>> entry : byStart.entrySet()) {
+                        List<Object> fields = new ArrayList<>(entry.getValue().size());
+                        for (int i : entry.getValue()) {
+                            fields.add(destinationNodeIds[i]);
+                        }
+                        operations.opsForHash().multiGet(REDIS_KEY_PREFIX + entry.getKey(), fields);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("[LinkDistanceCache] Redis 조회 실패, DB 로 진행 : {}", e.getMessage());
+            return misses;
+        }
+
+        List<Integer> missed = new ArrayList<>();
+        List<LinkDistance> hits = new ArrayList<>();
+        int reply = 0;
+        for (Map.Entry<String, List<Integer>> entry : byStart.entrySet()) {
+            List<?> values = (List<?>) replies.get(reply++);
+            for (int k = 0; k < entry.getValue().size(); k++) {
+                int i = entry.getValue().get(k);
+                Object value = values.get(k);
+                if (value == null) {
+                    missed.add(i);
+                    continue;
+                }
+                String[] parts = value.toString().split(",");
+                LinkDistance linkDistance = new LinkDistance(startNodeIds[i], destinationNodeIds[i],
+                        Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                found.put(linkKey(startNodeIds[i], destinationNodeIds[i]), linkDistance);
+                hits.add(linkDistance);
+            }
+        }
+
+        redisHits.increment(hits.size());
+        redisMisses.increment(missed.size());
+        for (LinkDistance linkDistance : hits) {
+            localCache.put(linkKey(linkDistance.getStartNodeId(), linkDistance.getDestinationNodeId()),
+                    linkDistance);
+        }
+        return missed;
+    }
+
+    /** 새로 받았거나 DB 에서 읽은 간선을 두 캐시에 모두 올린다. */
+    public void putAll(Collection<LinkDistance> linkDistances) {
+        if (linkDistances.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<String, String>> byStart = new LinkedHashMap<>();
+        for (LinkDistance linkDistance : linkDistances) {
+            localCache.put(linkKey(linkDistance.getStartNodeId(), linkDistance.getDestinationNodeId()),
+                    linkDistance);
+            byStart.computeIfAbsent(linkDistance.getStartNodeId(), k -> new HashMap<>())
+                    .put(linkDistance.getDestinationNodeId(),
+                            linkDistance.getTotalTime() + "," + linkDistance.getTotalDistance());
+        }
+
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (Map.Entry<String, Map<String, String>> entry : byStart.entrySet()) {
+                        operations.opsForHash().putAll(REDIS_KEY_PREFIX + entry.getKey(), entry.getValue());
+                        operations.expire(REDIS_KEY_PREFIX + entry.getKey(), REDIS_TTL);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("[LinkDistanceCache] Redis 저장 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 주소가 바뀌었다는 이벤트. 서비스는 트랜잭션 안에서 발행만 하고, 간선은 커밋된 뒤
+     * {@link #onAddressChanged(AddressChanged)} 가 지운다 — 롤백된 변경으로 캐시를 비우지 않고, 수정 트랜잭션이 삭제 잠금을
+     * 함께 들고 있지 않게 한다.
+     */
+    public record AddressChanged(String nodeId, Long companyId) {
+
+        public static AddressChanged elderly(Long elderlyId) {
+            return new AddressChanged(ELDERLY_NODE_PREFIX + elderlyId, null);
+        }
+
+        public static AddressChanged employee(Long employeeId) {
+            return new AddressChanged(EMPLOYEE_NODE_PREFIX + employeeId, null);
+        }
+
+        public static AddressChanged company(Long companyId) {
+            return new AddressChanged(COMPANY_NODE_ID, companyId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAddressChanged(AddressChanged event) {
+        if (event.companyId() != null) {
+            invalidateCompany(event.companyId());
+        } else {
+            invalidateNode(event.nodeId());
+        }
+    }
+
+    /**
+     * 주소가 바뀐 노드의 간선을 DB·Redis·Caffeine 에서 모두 지운다. 다음 배차에서 새 주소로 다시 받는다.
+     */
+    private void invalidateNode(String nodeId) {
+        // 이웃은 DB 와 Redis 양쪽에서 모은다 — Caffeine 에서 지울 키를 정확히 알아야 캐시 전체를 훑지 않는다
+        Set<String> neighbours = new LinkedHashSet<>(linkDistanceRepository.findDestinationNodeIds(nodeId));
+        try {
+            stringRedisTemplate.opsForHash().keys(REDIS_KEY_PREFIX + nodeId)
+                    .forEach(neighbour -> neighbours.add(neighbour.toString()));
+        } catch (Exception e) {
+            log.warn("[LinkDistanceCache] Redis 이웃 조회 실패 - {} : {}", nodeId, e.getMessage());
+        }
+
+        long deleted = linkDistanceRepository.deleteAllByNodeId(nodeId);
+        evict(nodeId, neighbours, true);
+        log.info("[LinkDistanceCache] {} 주소 변경으로 간선 {}건 무효화", nodeId, deleted);
+    }
+
+    /**
+     * 기관 주소가 바뀌었을 때 그 기관 직원·어르신과 기관 노드 사이의 간선만 지운다. 기관 노드 id 는 모든 기관이 함께 쓰지만
+     * 직원·어르신 id 는 기관마다 다르므로, 이 기관 인원과 이어진 간선이 곧 이 기관 주소로 받은 간선이다.
+     */
+    private void invalidateCompany(Long companyId) {
+        Set<String> members = new LinkedHashSet<>();
+        employeeRepository.findIdsInCompanyScope(companyId).forEach(id -> members.add(EMPLOYEE_NODE_PREFIX + id));
+        elderRepository.findIdsInCompanyScope(companyId).forEach(id -> members.add(ELDERLY_NODE_PREFIX + id));
+        if (members.isEmpty()) {
+            return;
+        }
+
+        long deleted = linkDistanceRepository.deleteAllBetween(COMPANY_NODE_ID, members);
+        evict(COMPANY_NODE_ID, members, false);
+        log.info("[LinkDistanceCache] 기관 {} 주소 변경으로 간선 {}건 무효화", companyId, deleted);
+    }
+
+    // nodeId 와 neighbours 사이 간선을 양방향으로 Caffeine·Redis 에서 지운다. dropNodeHash 면 nodeId 해시를 통째로 지운다.
+    private void evict(String nodeId, Set<String> neighbours, boolean dropNodeHash) {
+        List<String> keys = new ArrayList<>(neighbours.size() * 2);
+        for (String neighbour : neighbours) {
+            keys.add(linkKey(nodeId, neighbour));
+            keys.add(linkKey(neighbour, nodeId));
+        }
+        localCache.invalidateAll(keys);
+
+        try {
+            String redisKey = REDIS_KEY_PREFIX + nodeId;
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (String neighbour : neighbours) {
+                        operations.opsForHash().delete(REDIS_KEY_PREFIX + neighbour, nodeId);
+                    }
+                    if (dropNodeHash) {
+                        operations.delete(redisKey);
+                    } else if (!neighbours.isEmpty()) {
+                        operations.opsForHash().delete(redisKey, neighbours.toArray());
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("[LinkDistanceCache] Redis 무효화 실패 - {} : {}", nodeId, e.getMessage());
+        }
+    }
+
+    /** 서버 기동 직후: 최근 저장된 간선으로 1차 캐시를 채운다 (실패해도 기동에는 영향 없음) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<LinkDistance> recent = linkDistanceRepository.findRecent(WARM_UP_SIZE);
+            for (LinkDistance linkDistance : recent) {
+                localCache.put(linkKey(linkDistance.getStartNodeId(), linkDistance.getDestinationNodeId()),
+                        linkDistance);
+            }
+            log.info("[LinkDistanceCache] 최근 간선 {}건으로 캐시 예열", recent.size());
+        } catch (Exception e) {
+            log.error("[LinkDistanceCache] 캐시 예열 실패 (서비스 기동에는 영향 없음)", e);
+        }
+    }
+}
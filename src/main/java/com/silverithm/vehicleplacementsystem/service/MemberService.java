@@ -6,6 +6,7 @@ import com.silverithm.vehicleplacementsystem.entity.Company;
 import com.silverithm.vehicleplacementsystem.entity.Member;
 import com.silverithm.vehicleplacementsystem.entity.MemberJoinRequest;
 import com.silverithm.vehicleplacementsystem.entity.Notification;
+import com.silverithm.vehicleplacementsystem.entity.PiiBlindIndex;
 import com.silverithm.vehicleplacementsystem.entity.Position;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.jwt.CarevPrincipal;
@@ -63,6 +64,8 @@ public class MemberService {
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
     private final ChatService chatService;
+    private final CallerCompanyResolver callerCompanyResolver;
+    private final PiiBlindIndex piiBlindIndex;
 
     /**
      * JWT 인증된 사용자로부터 adminId를 결정한다.
@@ -476,6 +479,18 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    /** 이름이 정확히 일치하는 회사 회원 — 이름은 암호화 컬럼이라 블라인드 인덱스로 찾는다 */
+    public List<MemberDTO> getMembersByCompanyAndName(Long companyId, String name) {
+        String nameBidx = piiBlindIndex.exact(name);
+        if (nameBidx == null) {
+            return List.of();
+        }
+
+        return memberRepository.findByCompanyIdAndNameBidx(companyId, nameBidx).stream()
+                .map(MemberDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
     public List<MemberDTO> getMembersByRole(String role) {
         log.info("[Member Service] 역할별 회원 조회: role={}", role);
 
@@ -569,6 +584,7 @@ public class MemberService {
         }
         if (updateDTO.getRole() != null) {
             member.setRole(Member.Role.valueOf(updateDTO.getRole().toUpperCase()));
+            callerCompanyResolver.evict(CarevPrincipal.TYPE_MEMBER, member.getId(), member.getUsername());
         }
         if (updateDTO.getStatus() != null) {
             member.setStatus(Member.MemberStatus.valueOf(updateDTO.getStatus().toUpperCase()));
@@ -604,6 +620,7 @@ public class MemberService {
         chatService.handleMemberDeleted(String.valueOf(member.getId()), member.getName());
 
         memberRepository.delete(member);
+        callerCompanyResolver.evict(CarevPrincipal.TYPE_MEMBER, member.getId(), member.getUsername());
 
         log.info("[Member Service] 회원 삭제 완료: id={}", id);
     }
@@ -1019,6 +1036,7 @@ public class MemberService {
         }
 
         member.updateRole(newRole);
+        callerCompanyResolver.evict(CarevPrincipal.TYPE_MEMBER, member.getId(), username);
     }
 
     @Transactional
@@ -0,0 +1,131 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import java.net.URI;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * OSRM table 서비스로 출발지 × 도착지 거리·소요시간 행렬을 한 번에 받아온다.
+ *
+ * 쌍마다 /route 를 부르면 어르신 150명 기준 2만 번이 넘는 요청이 나가므로, 행렬을 TILE_SIZE × TILE_SIZE 타일로 나눠
+ * 타일 하나당 요청 한 번으로 채운다. TILE_SIZE 100은 osrm-routed 기본 max-table-size 와 같다.
+ */
+@Slf4j
+@Service
+public class OsrmTableClient {
+
+    static final int TILE_SIZE = 100;
+
+    private final String osrmServerUrl;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int tileSize;
+
+    @Autowired
+    public OsrmTableClient(@Value("${osrm.server.url}") String osrmServerUrl) {
+        this(osrmServerUrl, new RestTemplate(), TILE_SIZE);
+    }
+
+    OsrmTableClient(String osrmServerUrl, RestTemplate restTemplate, int tileSize) {
+        this.osrmServerUrl = osrmServerUrl;
+        this.restTemplate = restTemplate;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @return [출발지 순번][도착지 순번] 거리(미터)·소요시간(초)
+     */
+    public OsrmApiResponseDTO[][] fetchTable(List<Location> sources, List<Location> destinations) {
+        OsrmApiResponseDTO[][] table = new OsrmApiResponseDTO[sources.size()][destinations.size()];
+
+        for (int sourceFrom = 0; sourceFrom < sources.size(); sourceFrom += tileSize) {
+            int sourceTo = Math.min(sources.size(), sourceFrom + tileSize);
+
+            for (int destinationFrom = 0; destinationFrom < destinations.size(); destinationFrom += tileSize) {
+                int destinationTo = Math.min(destinations.size(), destinationFrom + tileSize);
+                fetchTile(sources.subList(sourceFrom, sourceTo), destinations.subList(destinationFrom, destinationTo),
+                        table, sourceFrom, destinationFrom);
+            }
+        }
+
+        return table;
+    }
+
+    private void fetchTile(List<Location> sources, List<Location> destinations,
+                           OsrmApiResponseDTO[][] table, int sourceOffset, int destinationOffset) {
+        try {
+            JsonNode root = objectMapper.readTree(restTemplate.getForObject(buildTableUri(sources, destinations),
+                    String.class));
+
+            if (!"Ok".equals(root.path("code").asText())) {
+                throw new RuntimeException("OSRM API returned non-OK status: " + root.path("code").asText());
+            }
+
+            JsonNode durations = root.get("durations");
+            JsonNode distances = root.get("distances");
+
+            for (int i = 0; i < sources.size(); i++) {
+                for (int j = 0; j < destinations.size(); j++) {
+                    JsonNode duration = durations.get(i).get(j);
+                    JsonNode distance = distances.get(i).get(j);
+
+                    // 도로로 이어지지 않는 좌표는 null 로 온다
+                    if (duration.isNull() || distance.isNull()) {
+                        throw new RuntimeException("No route between source " + (sourceOffset + i)
+                                + " and destination " + (destinationOffset + j));
+                    }
+
+                    table[sourceOffset + i][destinationOffset + j] =
+                            new OsrmApiResponseDTO((int) distance.asDouble(), (int) duration.asDouble());
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("OSRM table API 요청 실패 - Error: {}", e.getMessage(), e);
+            throw new NullPointerException("[ERROR] OSRM API 요청에 실패하였습니다. - " + e.getMessage());
+        }
+
+        log.info("OSRM table API {} x {} tile fetched", sources.size(), destinations.size());
+    }
+
+    private URI buildTableUri(List<Location> sources, List<Location> destinations) {
+        StringBuilder url = new StringBuilder(osrmServerUrl).append("/table/v1/driving/");
+        appendCoordinates(url, sources);
+        url.append(';');
+        appendCoordinates(url, destinations);
+
+        url.append("?sources=");
+        appendIndexes(url, 0, sources.size());
+        url.append("&destinations=");
+        appendIndexes(url, sources.size(), sources.size() + destinations.size());
+        url.append("&annotations=duration,distance");
+
+        return URI.create(url.toString());
+    }
+
+    private void appendCoordinates(StringBuilder url, List<Location> locations) {
+        for (int i = 0; i < locations.size(); i++) {
+            if (i > 0) {
+                url.append(';');
+            }
+            url.append(locations.get(i).getLongitude()).append(',').append(locations.get(i).getLatitude());
+        }
+    }
+
+    private void appendIndexes(StringBuilder url, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                url.append(';');
+            }
+            url.append(i);
+        }
+    }
+}
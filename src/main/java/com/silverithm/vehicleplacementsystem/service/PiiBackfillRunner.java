@@ -2,6 +2,8 @@ package com.silverithm.vehicleplacementsystem.service;
 
 import com.silverithm.vehicleplacementsystem.config.BillingKeyEncryptionConfig;
 import com.silverithm.vehicleplacementsystem.entity.EncryptedPiiConverter;
+import com.silverithm.vehicleplacementsystem.entity.PiiBlindIndex;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javax.crypto.SecretKey;
@@ -23,6 +25,8 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>JPA 재저장 방식은 값이 그대로라 더티체킹에 걸리지 않아 UPDATE가 나가지 않는다.
  * 그래서 JDBC로 원문을 직접 읽어 암호화해 갱신한다.
+ *
+ * <p>이름 블라인드 인덱스({@link PiiBlindIndex})가 비어 있는 행도 같은 방식으로 채운다.
  */
 @Component
 @RequiredArgsConstructor
@@ -42,12 +46,14 @@ public class PiiBackfillRunner implements ApplicationRunner {
     private final JdbcTemplate jdbcTemplate;
     private final BillingKeyEncryptionConfig cryptoConfig;
     private final SecretKey piiSecretKey;
+    private final PiiBlindIndex piiBlindIndex;
 
     @Override
     @Transactional
     public void run(ApplicationArguments args) {
         for (Target target : TARGETS) {
             backfill(target);
+            indexNames(target);
         }
     }
 
@@ -84,6 +90,34 @@ public class PiiBackfillRunner implements ApplicationRunner {
         log.info("[PII Backfill] {} 평문 {}건을 암호화했습니다.", target.table(), updated);
     }
 
+    private void indexNames(Target target) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT " + target.idColumn() + ", name FROM " + target.table()
+                        + " WHERE name_bidx IS NULL AND name IS NOT NULL AND name <> ''");
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            String name = decryptIfEncrypted((String) row.get("name"));
+            params.add(new Object[]{piiBlindIndex.exact(name), piiBlindIndex.prefixes(name),
+                    PiiBlindIndex.sortKey(name), ((Number) row.get(target.idColumn())).longValue()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + target.table()
+                + " SET name_bidx = ?, name_prefix_bidx = ?, name_sort_key = ? WHERE " + target.idColumn() + " = ?",
+                params);
+
+        log.info("[PII Backfill] {} 이름 인덱스 {}건을 채웠습니다.", target.table(), params.size());
+    }
+
+    private String decryptIfEncrypted(String value) {
+        if (value == null || !value.startsWith(EncryptedPiiConverter.ENC_PREFIX)) {
+            return value;
+        }
+        return cryptoConfig.decrypt(value, piiSecretKey);
+    }
+
     private String encryptIfPlain(String value) {
         if (value == null || value.isBlank() || value.startsWith(EncryptedPiiConverter.ENC_PREFIX)) {
             return value;
@@ -2,9 +2,11 @@ package com.silverithm.vehicleplacementsystem.service;
 
 import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
 import com.silverithm.vehicleplacementsystem.repository.EmitterRepository;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -48,6 +50,20 @@ public class SSEService {
         sendDispatchError(userName);
     }
 
+    /**
+     * 유전 알고리즘이 세대 반복을 멈춘 실제 사유를 보낸다. 조기 종료되면 진행률이 80으로 건너뛰므로 클라이언트가 이유를 보여줄 수 있다.
+     *
+     * @param userName    - 메세지를 전송할 사용자의 아이디.
+     * @param stopReason  - 종료 사유.
+     * @param generations - 실제로 평가한 세대 수.
+     */
+    public void notifyStop(String userName, StopReason stopReason, int generations) {
+        sendDispatchStop(userName, Map.of(
+                "reason", stopReason.name(),
+                "description", stopReason.getDescription(),
+                "generations", generations));
+    }
+
 
     /**
      * 클라이언트에게 데이터를 전송
@@ -79,6 +95,18 @@ public class SSEService {
         }
     }
 
+    private void sendDispatchStop(String userName, Map<String, Object> data) {
+        SseEmitter emitter = emitterRepository.get(userName);
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(userName)).name("stop").data(data));
+            } catch (IOException exception) {
+                emitterRepository.deleteById(userName);
+                emitter.completeWithError(exception);
+            }
+        }
+    }
+
     private void sendDispatchError(String userName) {
         SseEmitter emitter = emitterRepository.get(userName);
         if (emitter != null) {
@@ -27,6 +27,7 @@ import com.silverithm.vehicleplacementsystem.entity.UserRole;
 import com.silverithm.vehicleplacementsystem.exception.CustomException;
 import com.silverithm.vehicleplacementsystem.jwt.CarevPrincipal;
 import com.silverithm.vehicleplacementsystem.jwt.JwtTokenProvider;
+import com.silverithm.vehicleplacementsystem.jwt.TokenBlacklist;
 import com.silverithm.vehicleplacementsystem.repository.CompanyRepository;
 import com.silverithm.vehicleplacementsystem.repository.UserRepository;
 import io.jsonwebtoken.Claims;
@@ -87,6 +88,8 @@ public class UserService {
     @Autowired
     private RedisUtils redisUtils;
     @Autowired
+    private TokenBlacklist tokenBlacklist;
+    @Autowired
     private SlackService slackService;
     @Autowired
     private CompanyRepository companyRepository;
@@ -215,7 +218,7 @@ public class UserService {
 
         if (time > 0) {
             // Access Token blacklist에 등록하여 만료시키기
-            redisUtils.setBlackList(accessToken, userEmail, time);
+            tokenBlacklist.add(accessToken, userEmail, time);
         }
 
         // DB에 저장된 Refresh Token 제거 (관리자만 해당, 직원은 DB에 저장 안 함)
@@ -390,7 +393,7 @@ public class UserService {
             }
 
             // 토큰이 블랙리스트에 있는지 확인 (로그아웃된 토큰인지)
-            if (redisUtils.hasKeyBlackList(token)) {
+            if (tokenBlacklist.isBlacklisted(token)) {
                 return TokenValidationResponse.fail("로그아웃된 토큰입니다.");
             }
 
@@ -0,0 +1,7 @@
+-- 배차 결과를 다시 재현할 수 있도록 유전 알고리즘 시드를 함께 남긴다.
+--
+-- 같은 입력과 같은 시드면 초기 해·교차·변이가 모두 같게 돌아 같은 결과가 나온다.
+-- 엔진 성능 변경 전후를 같은 조건으로 비교할 때 이 값을 요청에 그대로 실어 보낸다.
+-- 기존 행은 시드를 기록하지 않았으므로 NULL로 둔다.
+ALTER TABLE dispatch_history
+    ADD COLUMN seed BIGINT NULL COMMENT '유전 알고리즘 난수 시드 (재현용, 기록 이전 배차는 NULL)';
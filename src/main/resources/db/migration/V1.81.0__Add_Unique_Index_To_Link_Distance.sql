@@ -0,0 +1,15 @@
+-- 배차 거리 캐시(link_distance)의 (출발 노드, 도착 노드) 유일 인덱스.
+--
+-- 거리 행렬을 만들 때 요청 노드 집합의 간선을 한 번에 읽고, 새 간선은 INSERT IGNORE 배치로 쓴다.
+-- 같은 간선을 동시에 두 배차가 채우면 중복 행이 생기므로 유일 인덱스로 막고,
+-- 조회도 이 인덱스를 타게 한다.
+
+-- 1. 기존 중복 행 정리 (가장 먼저 저장된 행만 남긴다)
+DELETE newer FROM link_distance newer
+JOIN link_distance older
+  ON newer.start_node_id = older.start_node_id
+ AND newer.destination_node_id = older.destination_node_id
+ AND newer.id > older.id;
+
+-- 2. 유일 복합 인덱스
+CREATE UNIQUE INDEX uk_link_distance_start_destination ON link_distance (start_node_id, destination_node_id);
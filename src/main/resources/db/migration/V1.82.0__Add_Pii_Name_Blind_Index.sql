@@ -0,0 +1,27 @@
+-- 암호화된 이름(어르신·직원·회원)을 DB 에서 찾고 정렬하기 위한 블라인드 인덱스 컬럼.
+--
+-- name_bidx        : 정규화한 이름 전체의 HMAC (정확히 일치 검색)
+-- name_prefix_bidx : 앞 1~3글자 HMAC 을 잘라 공백으로 이은 것 (앞부분 검색, 기관 범위 안에서 LIKE)
+-- name_sort_key    : 이름 첫 글자. 앱의 정렬(코드 단위 비교)과 맞도록 바이너리 콜레이션으로 둔다.
+-- 값은 앱이 저장할 때 채우고, 기존 행은 기동 시 PiiBackfillRunner 가 채운다.
+
+ALTER TABLE elderly
+    ADD COLUMN name_bidx CHAR(32) NULL,
+    ADD COLUMN name_prefix_bidx VARCHAR(32) NULL,
+    ADD COLUMN name_sort_key VARCHAR(2) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL;
+CREATE INDEX idx_elderly_company_name_bidx ON elderly (company_id, name_bidx);
+CREATE INDEX idx_elderly_company_name_sort ON elderly (company_id, name_sort_key);
+
+ALTER TABLE employee
+    ADD COLUMN name_bidx CHAR(32) NULL,
+    ADD COLUMN name_prefix_bidx VARCHAR(32) NULL,
+    ADD COLUMN name_sort_key VARCHAR(2) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL;
+CREATE INDEX idx_employee_company_name_bidx ON employee (company_id, name_bidx);
+CREATE INDEX idx_employee_company_name_sort ON employee (company_id, name_sort_key);
+
+ALTER TABLE members
+    ADD COLUMN name_bidx CHAR(32) NULL,
+    ADD COLUMN name_prefix_bidx VARCHAR(32) NULL,
+    ADD COLUMN name_sort_key VARCHAR(2) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NULL;
+CREATE INDEX idx_members_company_name_bidx ON members (company_id, name_bidx);
+CREATE INDEX idx_members_company_name_sort ON members (company_id, name_sort_key);
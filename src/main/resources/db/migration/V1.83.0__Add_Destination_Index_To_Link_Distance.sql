@@ -0,0 +1,7 @@
+-- 배차 거리 캐시(link_distance)의 도착 노드 인덱스.
+--
+-- 주소가 바뀐 노드의 간선을 지울 때 "start_node_id = ? OR destination_node_id = ?" 로 찾는다.
+-- 출발 쪽은 uk_link_distance_start_destination 을 타지만 도착 쪽은 인덱스가 없어
+-- 테이블 전체를 훑으며 잠갔다.
+
+CREATE INDEX idx_link_distance_destination ON link_distance (destination_node_id);
@@ -0,0 +1,201 @@
+package com.silverithm.vehicleplacementsystem;
+
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.repository.DispatchSettingRepository;
+import com.silverithm.vehicleplacementsystem.service.CallerCompanyResolver;
+import com.silverithm.vehicleplacementsystem.service.ComposedDispatchEngine;
+import com.silverithm.vehicleplacementsystem.service.DispatchEngine;
+import com.silverithm.vehicleplacementsystem.service.DispatchHistoryService;
+import com.silverithm.vehicleplacementsystem.service.DispatchJobRegistry;
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressPublisher;
+import com.silverithm.vehicleplacementsystem.service.DispatchSolver;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV5Solver;
+import com.silverithm.vehicleplacementsystem.service.LegacyGeneticAlgorithmSolver;
+import com.silverithm.vehicleplacementsystem.service.LegacyGeneticAlgorithmSolver.Generation;
+import com.silverithm.vehicleplacementsystem.service.SSEService;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기록해 둔 배차 요청(fixture)을 모든 배차 엔진에 같은 거리 행렬로 돌려 걸린 시간·할당 바이트·해의 품질을 비교한다.
+ *
+ * fixture 는 { "request": RequestDispatchDTO, "distanceMatrix": [[...]] } 모양의 JSON 이고, 행렬 순번은
+ * {@link DistanceMatrix} 를 따른다(0 회사, 1.. 직원, 그다음 어르신). 행렬을 같이 담아 두므로 OSRM 없이 다시 돌릴 수 있다.
+ *
+ * 실행 인자: [fixture 디렉터리] [엔진 이름들(쉼표)] [반복 횟수]
+ * 기본값: src/test/resources/dispatch-fixtures, 전체 엔진, 3회
+ */
+@Slf4j
+public class DispatchEngineBenchmark {
+
+    private static final String DEFAULT_FIXTURE_DIRECTORY = "src/test/resources/dispatch-fixtures";
+    private static final int DEFAULT_RUNS = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        Path fixtureDirectory = Paths.get(args.length > 0 ? args[0] : DEFAULT_FIXTURE_DIRECTORY);
+        Set<String> engineNames = args.length > 1 ? Set.of(args[1].split(",")) : Set.of();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+
+        new DispatchEngineBenchmark().run(fixtureDirectory, engineNames, runs);
+    }
+
+    private void run(Path fixtureDirectory, Set<String> engineNames, int runs) throws Exception {
+        List<Path> fixtures;
+        try (Stream<Path> files = Files.list(fixtureDirectory)) {
+            fixtures = files.filter(path -> path.toString().endsWith(".json")).sorted().toList();
+        }
+        log.info("배차 엔진 벤치마크 - fixture {}개, {}회씩", fixtures.size(), runs);
+
+        List<EngineRun> results = new ArrayList<>();
+        ForkJoinPool workerPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Path fixturePath : fixtures) {
+                Fixture fixture = objectMapper.readValue(fixturePath.toFile(), Fixture.class);
+                DistanceMatrix distanceMatrix = fixture.toDistanceMatrix();
+                for (DispatchSolver solver : solvers(workerPool)) {
+                    if (!engineNames.isEmpty() && !engineNames.contains(solver.name())) {
+                        continue;
+                    }
+                    DispatchEngine engine = new ComposedDispatchEngine(
+                            (employees, elderlys, company, dispatchType) -> distanceMatrix,
+                            solver, mock(SSEService.class));
+                    for (int run = 0; run < runs; run++) {
+                        System.gc();
+                        results.add(measure(fixturePath.getFileName().toString(), engine, fixture.request()));
+                    }
+                }
+            }
+        } finally {
+            workerPool.shutdown();
+        }
+
+        log.info(String.format("%-24s %-8s %12s %14s %12s %10s", "fixture", "engine", "wall(ms)", "alloc(MB)",
+                "objective", "violations"));
+        for (EngineRun result : results) {
+            log.info(String.format("%-24s %-8s %12.1f %14.1f %12d %10d", result.fixture(), result.engine(),
+                    result.wallNanos() / 1_000_000.0, result.allocatedBytes() / (1024.0 * 1024.0),
+                    result.objective(), result.violations()));
+        }
+    }
+
+    private List<DispatchSolver> solvers(ForkJoinPool workerPool) {
+        SSEService sseService = mock(SSEService.class);
+        List<DispatchSolver> solvers = new ArrayList<>();
+        for (Generation generation : Generation.values()) {
+            solvers.add(new LegacyGeneticAlgorithmSolver(generation, sseService));
+        }
+        solvers.add(new GeneticAlgorithmV5Solver(mock(DispatchProgressPublisher.class),
+                mock(DispatchHistoryService.class), workerPool,
+                mock(CallerCompanyResolver.class), mock(DispatchSettingRepository.class),
+                mock(DispatchJobRegistry.class), objectMapper));
+        return solvers;
+    }
+
+    private EngineRun measure(String fixture, DispatchEngine engine, RequestDispatchDTO request) throws Exception {
+        long allocatedBefore = totalAllocatedBytes();
+        long startTime = System.nanoTime();
+
+        List<AssignmentResponseDTO> assignments = engine.dispatch(request);
+
+        long wallNanos = System.nanoTime() - startTime;
+        long allocatedBytes = totalAllocatedBytes() - allocatedBefore;
+        long objective = assignments.stream().mapToLong(AssignmentResponseDTO::time).sum();
+        return new EngineRun(fixture, engine.name(), wallNanos, allocatedBytes, objective,
+                countViolations(request, assignments));
+    }
+
+    // GA 워커 스레드가 할당한 바이트까지 더하려고 살아 있는 모든 스레드 값을 합친다
+    private long totalAllocatedBytes() {
+        return Arrays.stream(threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    /** 정원 초과, 빠지거나 두 번 배정된 어르신, 앞좌석 두 명 이상, 갈라진 부부를 센다 */
+    private int countViolations(RequestDispatchDTO request, List<AssignmentResponseDTO> assignments) {
+        int violations = 0;
+        Map<Long, Integer> capacities = new HashMap<>();
+        for (EmployeeDTO employee : request.employees()) {
+            capacities.put(employee.id(), employee.maximumCapacity());
+        }
+        Set<Long> frontSeats = new HashSet<>();
+        for (ElderlyDTO elderly : request.elderlys()) {
+            if (elderly.requiredFrontSeat()) {
+                frontSeats.add(elderly.id());
+            }
+        }
+
+        Map<Long, Long> vehicleOfElderly = new HashMap<>();
+        for (AssignmentResponseDTO assignment : assignments) {
+            if (assignment.assignmentElders().size() > capacities.getOrDefault(assignment.employeeId(), 0)) {
+                violations++;
+            }
+            int frontSeatCount = 0;
+            for (AssignmentElderRequest elder : assignment.assignmentElders()) {
+                if (vehicleOfElderly.put(elder.id(), assignment.employeeId()) != null) {
+                    violations++;
+                }
+                if (frontSeats.contains(elder.id())) {
+                    frontSeatCount++;
+                }
+            }
+            violations += Math.max(0, frontSeatCount - 1);
+        }
+
+        violations += request.elderlys().size() - vehicleOfElderly.size();
+        if (request.couples() != null) {
+            for (CoupleRequestDTO couple : request.couples()) {
+                Long vehicle = vehicleOfElderly.get(couple.elderId1());
+                if (vehicle == null || !vehicle.equals(vehicleOfElderly.get(couple.elderId2()))) {
+                    violations++;
+                }
+            }
+        }
+        return violations;
+    }
+
+    record Fixture(RequestDispatchDTO request, int[][] distanceMatrix) {
+
+        DistanceMatrix toDistanceMatrix() {
+            DistanceMatrix matrix = new DistanceMatrix(request.employees().size(), request.elderlys().size());
+            if (distanceMatrix.length != matrix.getSize()) {
+                throw new IllegalArgumentException("fixture 행렬 크기가 직원·어르신 수와 맞지 않습니다: " + distanceMatrix.length);
+            }
+            for (int from = 0; from < matrix.getSize(); from++) {
+                for (int to = 0; to < matrix.getSize(); to++) {
+                    matrix.set(from, to, distanceMatrix[from][to]);
+                }
+            }
+            return matrix;
+        }
+    }
+
+    record EngineRun(String fixture, String engine, long wallNanos, long allocatedBytes, long objective,
+                     int violations) {
+    }
+}
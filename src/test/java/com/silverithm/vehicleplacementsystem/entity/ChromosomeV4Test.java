@@ -0,0 +1,56 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("평평한 배열 염색체")
+class ChromosomeV4Test {
+
+    private static final int[][] LAYOUT = {{0, 3}, {1, 2, 4}};
+
+    @Test
+    @DisplayName("유전자를 바꾸며 갱신한 hash 는 처음부터 다시 계산한 값과 같다")
+    void incrementalHash() {
+        ChromosomeV4 chromosome = chromosome(LAYOUT);
+
+        chromosome.setGene(1, 4);
+        chromosome.setGene(4, 3);
+        long incremental = chromosome.getHash();
+        chromosome.rehash();
+
+        assertThat(chromosome.getHash()).isEqualTo(incremental);
+        assertThat(chromosome.sameLayout(chromosome(new int[][]{{0, 4}, {1, 2, 3}}))).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 어르신을 다른 차량 구간으로 나누면 다른 배치로 본다")
+    void differentSplit() {
+        ChromosomeV4 chromosome = chromosome(LAYOUT);
+        ChromosomeV4 other = chromosome(new int[][]{{0, 3, 1}, {2, 4}});
+
+        assertThat(chromosome.getHash()).isNotEqualTo(other.getHash());
+        assertThat(chromosome.sameLayout(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("복사하면 hash 도 함께 옮긴다")
+    void copyKeepsHash() {
+        ChromosomeV4 source = chromosome(LAYOUT);
+        ChromosomeV4 copy = new ChromosomeV4(5, 2);
+
+        copy.copyFrom(source);
+
+        assertThat(copy.getHash()).isEqualTo(source.getHash());
+        assertThat(copy.sameLayout(source)).isTrue();
+    }
+
+    private ChromosomeV4 chromosome(int[][] layout) {
+        ChromosomeV3 source = new ChromosomeV3();
+        source.setGenes(layout);
+        ChromosomeV4 chromosome = new ChromosomeV4(5, layout.length);
+        chromosome.copyFrom(source);
+        return chromosome;
+    }
+}
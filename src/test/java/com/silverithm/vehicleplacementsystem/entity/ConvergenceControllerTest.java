@@ -0,0 +1,45 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("유전 알고리즘 조기 종료 판단")
+class ConvergenceControllerTest {
+
+    @Test
+    @DisplayName("최고 적합도가 정체 세대 수 동안 그대로면 STAGNATION으로 멈춘다")
+    void stopsOnStagnation() {
+        ConvergenceController controller = new ConvergenceController(new ConvergencePolicy(3, 0, 0), 300, 0);
+
+        assertThat(controller.check(0, 10.0, 0)).isNull();
+        assertThat(controller.check(1, 12.0, 0)).isNull();
+        assertThat(controller.check(2, 12.0, 0)).isNull();
+        assertThat(controller.check(3, 11.0, 0)).isNull();
+        assertThat(controller.check(4, 12.0, 0)).isEqualTo(StopReason.STAGNATION);
+        assertThat(controller.getBestFitness()).isEqualTo(12.0);
+    }
+
+    @Test
+    @DisplayName("목표 적합도와 시간 한도를 넘기면 각각의 사유로 멈춘다")
+    void stopsOnTargetAndTimeBudget() {
+        ConvergenceController target = new ConvergenceController(new ConvergencePolicy(0, 100.0, 0), 300, 0);
+        assertThat(target.check(0, 99.0, 0)).isNull();
+        assertThat(target.check(1, 100.0, 0)).isEqualTo(StopReason.TARGET_FITNESS);
+
+        ConvergenceController budget = new ConvergenceController(new ConvergencePolicy(0, 0, 500), 300, 0);
+        assertThat(budget.check(0, 1.0, 499_000_000L)).isNull();
+        assertThat(budget.check(1, 2.0, 500_000_000L)).isEqualTo(StopReason.TIME_BUDGET);
+    }
+
+    @Test
+    @DisplayName("규칙을 모두 끄면 최대 세대 수까지 진행한다")
+    void runsToMaxIterations() {
+        ConvergenceController controller = new ConvergenceController(new ConvergencePolicy(0, 0, 0), 3, 0);
+
+        assertThat(controller.check(0, 1.0, 0)).isNull();
+        assertThat(controller.check(1, 1.0, 0)).isNull();
+        assertThat(controller.check(2, 1.0, 0)).isEqualTo(StopReason.MAX_ITERATIONS);
+    }
+}
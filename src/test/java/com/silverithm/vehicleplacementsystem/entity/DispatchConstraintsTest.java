@@ -0,0 +1,72 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("배차 제약조건 색인")
+class DispatchConstraintsTest {
+
+    private static final List<EmployeeDTO> EMPLOYEES = List.of(
+            new EmployeeDTO(10L, "직원1", "", "", new Location(), new Location(), 3, true),
+            new EmployeeDTO(11L, "직원2", "", "", new Location(), new Location(), 3, false));
+
+    @Test
+    @DisplayName("앞좌석이 필요한 어르신이 한 차량에 둘 이상이면 위반이다")
+    void frontSeat() {
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, true), elderly(2L, false), elderly(3L, true),
+                elderly(4L, false));
+        DispatchConstraints constraints = constraints(elderlys, List.of(), List.of());
+
+        assertThat(constraints.evaluateFrontSeatAssignments(chromosome(new int[][]{{0, 1}, {2, 3}}))).isTrue();
+        assertThat(constraints.evaluateFrontSeatAssignments(chromosome(new int[][]{{0, 2}, {1, 3}}))).isFalse();
+    }
+
+    @Test
+    @DisplayName("부부는 같은 차량에 있어야 한다")
+    void couples() {
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, false), elderly(2L, false), elderly(3L, false),
+                elderly(4L, false));
+        DispatchConstraints constraints = constraints(elderlys, List.of(new CoupleRequestDTO(1L, 3L)), List.of());
+
+        assertThat(constraints.evaluateCoupleAssignments(chromosome(new int[][]{{0, 2}, {1, 3}}))).isTrue();
+        assertThat(constraints.evaluateCoupleAssignments(chromosome(new int[][]{{0, 1}, {2, 3}}))).isFalse();
+    }
+
+    @Test
+    @DisplayName("고정 배정된 순서의 자리에는 그 어르신이 있어야 한다")
+    void fixedAssignments() {
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, false), elderly(2L, false), elderly(3L, false),
+                elderly(4L, false));
+        DispatchConstraints constraints = constraints(elderlys, List.of(),
+                List.of(new FixedAssignmentsDTO(11, 4, 2)));
+
+        assertThat(constraints.evaluateFixedAssignments(chromosome(new int[][]{{0, 1}, {2, 3}}))).isTrue();
+        assertThat(constraints.evaluateFixedAssignments(chromosome(new int[][]{{0, 3}, {2, 1}}))).isFalse();
+    }
+
+    private DispatchConstraints constraints(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples,
+                                            List<FixedAssignmentsDTO> fixedAssignments) {
+        return new DispatchConstraints(elderlys, EMPLOYEES.size(), couples,
+                new FixedAssignmentsV2(fixedAssignments, EMPLOYEES, elderlys));
+    }
+
+    private ElderlyDTO elderly(Long id, boolean requiredFrontSeat) {
+        return new ElderlyDTO(id, "어르신" + id, new Location(), requiredFrontSeat, "");
+    }
+
+    private ChromosomeV4 chromosome(int[][] layout) {
+        ChromosomeV3 source = new ChromosomeV3();
+        source.setGenes(layout);
+        ChromosomeV4 chromosome = new ChromosomeV4(4, layout.length);
+        chromosome.copyFrom(source);
+        return chromosome;
+    }
+}
@@ -0,0 +1,37 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("배차 거리 행렬")
+class DistanceMatrixTest {
+
+    @Test
+    @DisplayName("회사·직원·어르신 순서로 노드 순번을 매긴다")
+    void nodeOrdinals() {
+        DistanceMatrix matrix = new DistanceMatrix(3, 5);
+
+        assertThat(matrix.getSize()).isEqualTo(9);
+        assertThat(DistanceMatrix.COMPANY).isZero();
+        assertThat(matrix.employeeNode(0)).isEqualTo(1);
+        assertThat(matrix.employeeNode(2)).isEqualTo(3);
+        assertThat(matrix.elderlyNode(0)).isEqualTo(4);
+        assertThat(matrix.elderlyNode(4)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("대칭 저장은 양방향을 같은 값으로 채운다")
+    void setSymmetric() {
+        DistanceMatrix matrix = new DistanceMatrix(2, 2);
+
+        matrix.setSymmetric(DistanceMatrix.COMPANY, matrix.elderlyNode(1), 1200);
+        matrix.set(matrix.employeeNode(0), matrix.elderlyNode(0), 300);
+
+        assertThat(matrix.get(DistanceMatrix.COMPANY, matrix.elderlyNode(1))).isEqualTo(1200);
+        assertThat(matrix.get(matrix.elderlyNode(1), DistanceMatrix.COMPANY)).isEqualTo(1200);
+        assertThat(matrix.get(matrix.employeeNode(0), matrix.elderlyNode(0))).isEqualTo(300);
+        assertThat(matrix.get(matrix.elderlyNode(0), matrix.employeeNode(0))).isZero();
+    }
+}
@@ -0,0 +1,39 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("간선 점수 행렬")
+class EdgeScoreMatrixTest {
+
+    @Test
+    @DisplayName("소요시간 배차는 구간 경계값을 해당 구간 점수로 매긴다")
+    void durationBands() {
+        DistanceMatrix matrix = new DistanceMatrix(1, 3);
+        matrix.set(DistanceMatrix.COMPANY, matrix.elderlyNode(0), 100);
+        matrix.set(DistanceMatrix.COMPANY, matrix.elderlyNode(1), 101);
+        matrix.set(DistanceMatrix.COMPANY, matrix.elderlyNode(2), 1901);
+
+        EdgeScoreMatrix scores = new EdgeScoreMatrix(matrix, DispatchType.DURATION_IN);
+
+        assertThat(scores.get(DistanceMatrix.COMPANY, matrix.elderlyNode(0))).isEqualTo(950);
+        assertThat(scores.get(DistanceMatrix.COMPANY, matrix.elderlyNode(1))).isEqualTo(900);
+        assertThat(scores.get(DistanceMatrix.COMPANY, matrix.elderlyNode(2))).isZero();
+        assertThat(scores.get(matrix.elderlyNode(0), matrix.elderlyNode(1))).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("거리 배차는 거리 구간 점수를 쓴다")
+    void distanceBands() {
+        DistanceMatrix matrix = new DistanceMatrix(1, 2);
+        matrix.set(DistanceMatrix.COMPANY, matrix.elderlyNode(0), 1000);
+        matrix.set(DistanceMatrix.COMPANY, matrix.elderlyNode(1), 10000);
+
+        EdgeScoreMatrix scores = new EdgeScoreMatrix(matrix, DispatchType.DISTANCE_OUT);
+
+        assertThat(scores.get(DistanceMatrix.COMPANY, matrix.elderlyNode(0))).isEqualTo(950);
+        assertThat(scores.get(DistanceMatrix.COMPANY, matrix.elderlyNode(1))).isEqualTo(50);
+    }
+}
@@ -0,0 +1,54 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("이름 블라인드 인덱스")
+class PiiBlindIndexTest {
+
+    private final PiiBlindIndex index = indexWithKey("test-only-pii-key");
+
+    @Test
+    @DisplayName("띄어쓰기·전각 문자·대소문자가 달라도 같은 이름이면 같은 인덱스가 나온다")
+    void normalizesBeforeHashing() {
+        assertThat(index.exact("김 철수")).isEqualTo(index.exact("김철수"));
+        assertThat(index.exact("ＫＩＭ")).isEqualTo(index.exact("kim"));
+        assertThat(index.exact("김철수")).hasSize(32).isNotEqualTo(index.exact("김철민"));
+        assertThat(index.exact("  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("검색어의 앞부분 인덱스는 그 이름으로 시작하는 이름의 인덱스 목록에 들어 있다")
+    void prefixTokensMatchStoredPrefixes() {
+        String stored = index.prefixes("김철수");
+
+        assertThat(stored.split(" ")).hasSize(PiiBlindIndex.PREFIX_MAX);
+        assertThat(stored).contains(index.prefixToken("김"), index.prefixToken("김철"), index.prefixToken("김철수"));
+        // 인덱스보다 긴 검색어는 앞 PREFIX_MAX 글자로 찾는다
+        assertThat(stored).contains(index.prefixToken("김철수님"));
+        assertThat(stored).doesNotContain(index.prefixToken("이"));
+    }
+
+    @Test
+    @DisplayName("키가 다르면 같은 이름도 인덱스가 다르다")
+    void dependsOnKey() {
+        assertThat(indexWithKey("another-key").exact("김철수")).isNotEqualTo(index.exact("김철수"));
+    }
+
+    @Test
+    @DisplayName("정렬 키는 원래 이름의 첫 글자라 이름순과 어긋나지 않는다")
+    void sortKeyKeepsNameOrder() {
+        assertThat(PiiBlindIndex.sortKey("박영희")).isEqualTo("박");
+        assertThat(PiiBlindIndex.sortKey("")).isEmpty();
+        assertThat(PiiBlindIndex.sortKey("김철수")).isLessThan(PiiBlindIndex.sortKey("박영희"));
+        assertThat("김철수").isLessThan("박영희");
+    }
+
+    private static PiiBlindIndex indexWithKey(String key) {
+        return new PiiBlindIndex(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES"));
+    }
+}
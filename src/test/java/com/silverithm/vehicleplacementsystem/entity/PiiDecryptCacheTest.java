@@ -0,0 +1,45 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("개인정보 복호화 캐시")
+class PiiDecryptCacheTest {
+
+    private final AtomicInteger decryptions = new AtomicInteger();
+    private final UnaryOperator<String> decrypt = cipherText -> {
+        decryptions.incrementAndGet();
+        return "plain-" + cipherText;
+    };
+
+    @Test
+    @DisplayName("같은 암호문은 한 번만 복호화하고 적중률을 메트릭으로 남긴다")
+    void decryptsOncePerCipherText() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PiiDecryptCache cache = new PiiDecryptCache(meterRegistry, 100);
+
+        assertThat(cache.get("v2:a", decrypt)).isEqualTo("plain-v2:a");
+        assertThat(cache.get("v2:a", decrypt)).isEqualTo("plain-v2:a");
+        assertThat(cache.get("v2:b", decrypt)).isEqualTo("plain-v2:b");
+
+        assertThat(decryptions).hasValue(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "pii_decrypt").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시에서 빠진 평문은 0 으로 지워지고 다시 읽지 않는다")
+    void clearsEvictedPlaintext() {
+        PiiDecryptCache.Plaintext plaintext = new PiiDecryptCache.Plaintext("김철수");
+        assertThat(plaintext.read()).isEqualTo("김철수");
+
+        plaintext.clear();
+
+        assertThat(plaintext.read()).isNull();
+    }
+}
@@ -0,0 +1,94 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("경로 국소 탐색")
+class RouteLocalSearchTest {
+
+    private static final List<EmployeeDTO> EMPLOYEES = List.of(
+            new EmployeeDTO(10L, "직원1", "", "", new Location(), new Location(), 4, false),
+            new EmployeeDTO(11L, "직원2", "", "", new Location(), new Location(), 4, false));
+
+    @Test
+    @DisplayName("경로 순서를 바꿔 적합도를 높이고 어르신 구성은 유지한다")
+    void improvesRouteOrder() {
+        List<ElderlyDTO> elderlys = elderlys(false, false, false, false);
+        DistanceMatrix matrix = lineMatrix();
+        RouteScorer scorer = new RouteScorer(matrix, DispatchType.DURATION_IN, EMPLOYEES);
+        ChromosomeV4 source = chromosome(new int[][]{{3, 0, 2, 1}, {}});
+        ChromosomeV4 result = new ChromosomeV4(4, 2);
+
+        double fitness = new RouteLocalSearch(scorer, constraints(elderlys), EMPLOYEES).improve(source, result);
+
+        assertThat(fitness).isGreaterThan(fitnessOf(scorer, source));
+        assertThat(fitness).isEqualTo(fitnessOf(scorer, result));
+        assertThat(result.getGenes()).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("앞좌석이 필요한 어르신 둘을 한 차량에 모으지 않는다")
+    void keepsFrontSeatConstraint() {
+        List<ElderlyDTO> elderlys = elderlys(true, true, false, false);
+        DispatchConstraints constraints = constraints(elderlys);
+        RouteScorer scorer = new RouteScorer(lineMatrix(), DispatchType.DURATION_IN, EMPLOYEES);
+        ChromosomeV4 result = new ChromosomeV4(4, 2);
+
+        new RouteLocalSearch(scorer, constraints, EMPLOYEES).improve(chromosome(new int[][]{{0, 2}, {1, 3}}), result);
+
+        assertThat(constraints.isSatisfied(result)).isTrue();
+    }
+
+    // 회사·직원은 0 위치, 어르신 i 는 (i + 1) * 100 위치에 있는 직선 위 소요시간
+    private DistanceMatrix lineMatrix() {
+        DistanceMatrix matrix = new DistanceMatrix(2, 4);
+        int[] positions = new int[matrix.getSize()];
+        for (int i = 0; i < 4; i++) {
+            positions[matrix.elderlyNode(i)] = (i + 1) * 100;
+        }
+        for (int from = 0; from < matrix.getSize(); from++) {
+            for (int to = 0; to < matrix.getSize(); to++) {
+                matrix.set(from, to, Math.abs(positions[from] - positions[to]));
+            }
+        }
+        return matrix;
+    }
+
+    private double fitnessOf(RouteScorer scorer, ChromosomeV4 chromosome) {
+        double totalDepartureTime = 0.0;
+        double proximity = 0.0;
+        for (int vehicle = 0; vehicle < chromosome.vehicleCount(); vehicle++) {
+            totalDepartureTime += scorer.departureTime(vehicle, chromosome.getGenes(),
+                    chromosome.vehicleStart(vehicle), chromosome.vehicleEnd(vehicle));
+            proximity += scorer.proximity(vehicle, chromosome.getGenes(), chromosome.vehicleStart(vehicle),
+                    chromosome.vehicleEnd(vehicle));
+        }
+        return scorer.departureFitness(totalDepartureTime) + proximity;
+    }
+
+    private DispatchConstraints constraints(List<ElderlyDTO> elderlys) {
+        return new DispatchConstraints(elderlys, EMPLOYEES.size(), List.of(),
+                new FixedAssignmentsV2(List.of(), EMPLOYEES, elderlys));
+    }
+
+    private List<ElderlyDTO> elderlys(boolean... requiredFrontSeats) {
+        return IntStream.range(0, requiredFrontSeats.length)
+                .mapToObj(i -> new ElderlyDTO((long) i + 1, "어르신" + i, new Location(), requiredFrontSeats[i], ""))
+                .toList();
+    }
+
+    private ChromosomeV4 chromosome(int[][] layout) {
+        ChromosomeV3 source = new ChromosomeV3();
+        source.setGenes(layout);
+        ChromosomeV4 chromosome = new ChromosomeV4(4, layout.length);
+        chromosome.copyFrom(source);
+        return chromosome;
+    }
+}
@@ -0,0 +1,83 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("이어받은 경로 보수")
+class RouteRepairTest {
+
+    @Test
+    @DisplayName("새 어르신을 출발 시간이 가장 적게 늘어나는 자리에 넣고 기존 순서는 유지한다")
+    void insertsMissingElderlyAtCheapestPosition() {
+        List<EmployeeDTO> employees = List.of(employee(10L, 4));
+        List<ElderlyDTO> elderlys = elderlys(3);
+        WarmStartRoutes base = new WarmStartRoutes(List.of(assignment(10L, 1L, 3L)), employees, elderlys);
+
+        ChromosomeV4 repaired = repair(employees, elderlys).repair(base, elderlys.size());
+
+        assertThat(repaired).isNotNull();
+        assertThat(Arrays.copyOfRange(repaired.getGenes(), repaired.vehicleStart(0), repaired.vehicleEnd(0)))
+                .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("정원이 모자라면 null 을 돌려준다")
+    void returnsNullWhenNoSeatLeft() {
+        List<EmployeeDTO> employees = List.of(employee(10L, 2));
+        List<ElderlyDTO> elderlys = elderlys(3);
+        WarmStartRoutes base = new WarmStartRoutes(List.of(assignment(10L, 1L, 2L)), employees, elderlys);
+
+        assertThat(repair(employees, elderlys).repair(base, elderlys.size())).isNull();
+    }
+
+    private RouteRepair repair(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys) {
+        RouteScorer scorer = new RouteScorer(lineMatrix(employees.size(), elderlys.size()), DispatchType.DURATION_IN,
+                employees);
+        DispatchConstraints constraints = new DispatchConstraints(elderlys, employees.size(), List.of(),
+                new FixedAssignmentsV2(List.of(), employees, elderlys));
+        return new RouteRepair(scorer, constraints);
+    }
+
+    // 회사·직원은 0 위치, 어르신 i 는 (i + 1) * 100 위치에 있는 직선 위 소요시간
+    private DistanceMatrix lineMatrix(int employeeCount, int elderlyCount) {
+        DistanceMatrix matrix = new DistanceMatrix(employeeCount, elderlyCount);
+        int[] positions = new int[matrix.getSize()];
+        for (int i = 0; i < elderlyCount; i++) {
+            positions[matrix.elderlyNode(i)] = (i + 1) * 100;
+        }
+        for (int from = 0; from < matrix.getSize(); from++) {
+            for (int to = 0; to < matrix.getSize(); to++) {
+                matrix.set(from, to, Math.abs(positions[from] - positions[to]));
+            }
+        }
+        return matrix;
+    }
+
+    private EmployeeDTO employee(Long id, int capacity) {
+        return new EmployeeDTO(id, "직원" + id, "", "", new Location(), new Location(), capacity, true);
+    }
+
+    private List<ElderlyDTO> elderlys(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ElderlyDTO((long) i + 1, "어르신" + i, new Location(), false, ""))
+                .toList();
+    }
+
+    private AssignmentResponseDTO assignment(Long employeeId, Long... elderlyIds) {
+        List<AssignmentElderRequest> elders = Arrays.stream(elderlyIds)
+                .map(id -> new AssignmentElderRequest(id, new Location(), "어르신" + id))
+                .toList();
+        return new AssignmentResponseDTO(DispatchType.DURATION_IN, employeeId, new Location(), new Location(),
+                "직원" + employeeId, 0, elders, true);
+    }
+}
@@ -0,0 +1,63 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.AssignmentElderRequest;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("직전 배차 경로 이어받기")
+class WarmStartRoutesTest {
+
+    @Test
+    @DisplayName("오늘 순번으로 옮기고, 빠진 사람은 버리고, 새로 온 어르신은 빈자리로 남긴다")
+    void mapsPreviousResultOntoTodayIndexes() {
+        List<EmployeeDTO> employees = List.of(employee(11L), employee(12L));
+        List<ElderlyDTO> elderlys = List.of(elderly(3L), elderly(1L), elderly(4L));
+        List<AssignmentResponseDTO> previous = List.of(
+                assignment(10L, 1L, 2L),   // 직원 10 은 오늘 없다
+                assignment(12L, 4L, 2L, 3L));  // 어르신 2 는 오늘 없다
+
+        WarmStartRoutes routes = new WarmStartRoutes(previous, employees, elderlys);
+
+        assertThat(routes.getLengths()).containsExactly(0, 2);
+        assertThat(Arrays.copyOf(routes.getRoutes()[1], 2)).containsExactly(2, 0);
+        assertThat(routes.missingElderlys()).containsExactly(1);
+        assertThat(routes.carriedOverCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("오늘 정원을 넘는 어르신은 빈자리로 남긴다")
+    void respectsTodayCapacity() {
+        List<EmployeeDTO> employees = List.of(
+                new EmployeeDTO(11L, "직원", "", "", new Location(), new Location(), 1, true));
+        List<ElderlyDTO> elderlys = List.of(elderly(1L), elderly(2L));
+
+        WarmStartRoutes routes = new WarmStartRoutes(List.of(assignment(11L, 1L, 2L)), employees, elderlys);
+
+        assertThat(routes.getLengths()).containsExactly(1);
+        assertThat(routes.missingElderlys()).containsExactly(1);
+    }
+
+    private EmployeeDTO employee(Long id) {
+        return new EmployeeDTO(id, "직원" + id, "", "", new Location(), new Location(), 4, true);
+    }
+
+    private ElderlyDTO elderly(Long id) {
+        return new ElderlyDTO(id, "어르신" + id, new Location(), false, "");
+    }
+
+    private AssignmentResponseDTO assignment(Long employeeId, Long... elderlyIds) {
+        List<AssignmentElderRequest> elders = Arrays.stream(elderlyIds)
+                .map(id -> new AssignmentElderRequest(id, new Location(), "어르신" + id))
+                .toList();
+        return new AssignmentResponseDTO(DispatchType.DURATION_IN, employeeId, new Location(), new Location(),
+                "직원" + employeeId, 0, elders, true);
+    }
+}
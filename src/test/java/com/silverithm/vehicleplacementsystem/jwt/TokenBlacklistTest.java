@@ -0,0 +1,72 @@
+package com.silverithm.vehicleplacementsystem.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@DisplayName("토큰 블랙리스트")
+class TokenBlacklistTest {
+
+    private RedisUtils redisUtils;
+    private ZSetOperations<String, String> hashes;
+    private VerifiedTokenCache verifiedTokenCache;
+    private TokenBlacklist blacklist;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisUtils = mock(RedisUtils.class);
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        hashes = mock(ZSetOperations.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(hashes);
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        blacklist = new TokenBlacklist(redisUtils, stringRedisTemplate, mock(RedisMessageListenerContainer.class),
+                verifiedTokenCache);
+    }
+
+    @Test
+    @DisplayName("필터를 채우기 전에는 모든 토큰을 Redis 에 확인한다")
+    void checksRedisUntilFilterIsReady() {
+        blacklist.isBlacklisted("token-a");
+
+        verify(redisUtils).hasKeyBlackList("token-a");
+    }
+
+    @Test
+    @DisplayName("필터에 없는 토큰은 Redis 를 거치지 않고, 해시 목록이나 알림으로 들어온 토큰만 Redis 에 확인한다")
+    void skipsRedisForUnknownTokens() {
+        when(hashes.rangeByScore(eq(TokenBlacklist.HASHES_KEY), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(TokenHash.of("logged-out")));
+        when(redisUtils.hasKeyBlackList(anyString())).thenReturn(true);
+        blacklist.rebuild();
+
+        assertThat(blacklist.isBlacklisted("fresh-token")).isFalse();
+        assertThat(blacklist.isBlacklisted("logged-out")).isTrue();
+        verify(redisUtils, never()).hasKeyBlackList("fresh-token");
+
+        String published = TokenHash.of("other-instance-logout");
+        blacklist.onMessage(new DefaultMessage(TokenBlacklist.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(blacklist.isBlacklisted("other-instance-logout")).isTrue();
+        verify(redisUtils, times(1)).hasKeyBlackList("other-instance-logout");
+        verify(verifiedTokenCache).invalidate(published);
+    }
+}
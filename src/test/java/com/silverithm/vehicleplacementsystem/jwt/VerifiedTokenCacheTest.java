@@ -0,0 +1,50 @@
+package com.silverithm.vehicleplacementsystem.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+@DisplayName("검증한 토큰 캐시")
+class VerifiedTokenCacheTest {
+
+    private final JwtTokenProvider provider = spy(new JwtTokenProvider(
+            Base64.getEncoder().encodeToString("carev-test-secret-key-carev-test-secret-key-32b".getBytes())));
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(provider, 100);
+
+    @Test
+    @DisplayName("같은 토큰은 한 번만 검증하고 이후에는 캐시한 인증 정보를 쓴다")
+    void verifiesOncePerToken() {
+        String token = provider.generateToken("admin@carev.kr", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+                CarevPrincipal.TYPE_ADMIN, 3L).getAccessToken();
+        String tokenHash = TokenHash.of(token);
+
+        Authentication first = cache.authenticate(token, tokenHash);
+        Authentication second = cache.authenticate(token, tokenHash);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getName()).isEqualTo("admin@carev.kr");
+        verify(provider, times(1)).verify(token);
+
+        cache.invalidate(tokenHash);
+        cache.authenticate(token, tokenHash);
+        verify(provider, times(2)).verify(token);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 토큰은 캐시하지 않고 null 을 준다")
+    void rejectsMalformedToken() {
+        String token = "not-a-jwt";
+
+        assertThat(cache.authenticate(token, TokenHash.of(token))).isNull();
+        assertThat(cache.authenticate(token, TokenHash.of(token))).isNull();
+        verify(provider, times(2)).verify(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.silverithm.vehicleplacementsystem.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DisplayName("감사 로그 비동기 기록")
+class AuditLogWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("모인 기록을 batch-size 단위의 여러 행 INSERT 로 쓰고, 종료할 때 남은 것까지 쓴다")
+    void writesMultiRowInserts() throws InterruptedException {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 2, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            writer.submit(auditLog("user" + i));
+        }
+        writer.shutdown();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), any(Object[].class));
+        List<String> statements = sql.getAllValues();
+        assertThat(statements.get(0)).startsWith("INSERT INTO audit_logs").contains("(?, ?, ?, ?, ?, ?, ?), (?");
+        assertThat(statements.get(1)).doesNotContain("), (");
+        assertThat(records("written")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 요청을 기다리게 하지 않고 버린 건수를 센다")
+    void dropsWhenFull() throws InterruptedException {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 1, 10, 60_000);
+
+        writer.submit(auditLog("first"));
+        writer.submit(auditLog("second"));
+        writer.submit(auditLog("third"));
+        writer.shutdown();
+
+        assertThat(records("dropped")).isEqualTo(2);
+        assertThat(records("written")).isEqualTo(1);
+    }
+
+    private double records(String result) {
+        return meterRegistry.get("audit_log_records").tag("result", result).counter().count();
+    }
+
+    private static AuditLog auditLog(String username) {
+        return AuditLog.builder()
+                .occurredAt(LocalDateTime.now())
+                .username(username)
+                .method("POST")
+                .uri("/api/v1/members")
+                .statusCode(200)
+                .build();
+    }
+}
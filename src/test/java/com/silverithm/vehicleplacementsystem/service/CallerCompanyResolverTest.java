@@ -0,0 +1,140 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.silverithm.vehicleplacementsystem.entity.AppUser;
+import com.silverithm.vehicleplacementsystem.entity.Company;
+import com.silverithm.vehicleplacementsystem.entity.Member;
+import com.silverithm.vehicleplacementsystem.jwt.CarevPrincipal;
+import com.silverithm.vehicleplacementsystem.repository.MemberRepository;
+import com.silverithm.vehicleplacementsystem.repository.UserRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DisplayName("요청자 소속 기관 해석")
+class CallerCompanyResolverTest {
+
+    private static final String MEMBER_USERNAME = "hong";
+    private static final String ADMIN_EMAIL = "admin@carev.kr";
+
+    private Member member;
+    private MemberRepository memberRepository;
+    private UserRepository userRepository;
+    private CallerCompanyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        Company company = mock(Company.class);
+        when(company.getId()).thenReturn(10L);
+        when(company.isDemoCompany()).thenReturn(true);
+
+        member = mock(Member.class);
+        when(member.getId()).thenReturn(3L);
+        when(member.getRole()).thenReturn(Member.Role.values()[0]);
+        when(member.getCompany()).thenReturn(company);
+
+        AppUser admin = mock(AppUser.class);
+        when(admin.getId()).thenReturn(7L);
+        when(admin.getCompany()).thenReturn(company);
+
+        memberRepository = mock(MemberRepository.class);
+        when(memberRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(memberRepository.findByUsername(MEMBER_USERNAME)).thenReturn(Optional.of(member));
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findById(7L)).thenReturn(Optional.of(admin));
+
+        resolver = new CallerCompanyResolver(memberRepository, userRepository, mock(PlatformTransactionManager.class),
+                30, 100);
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(CarevPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("같은 사람은 TTL 동안 다시 조회하지 않고, 소속이 바뀌어 캐시를 버리면 다시 읽는다")
+    void cachesUntilEvicted() {
+        assertThat(resolver.resolveCompanyId(MEMBER_USERNAME)).contains(10L);
+        assertThat(resolver.isDemoCaller(MEMBER_USERNAME)).isTrue();
+        assertThat(resolver.resolveContext(MEMBER_USERNAME).principalId()).isEqualTo(3L);
+        verify(memberRepository, times(1)).findByUsername(MEMBER_USERNAME);
+
+        resolver.evict(CarevPrincipal.TYPE_MEMBER, 3L, MEMBER_USERNAME);
+        resolver.resolveCompanyId(MEMBER_USERNAME);
+
+        verify(memberRepository, times(2)).findByUsername(MEMBER_USERNAME);
+    }
+
+    @Test
+    @DisplayName("토큰에 신원 클레임이 있으면 해당 테이블만 id 로 찾는다")
+    void usesTokenIdentity() {
+        CarevPrincipal principal = new CarevPrincipal(ADMIN_EMAIL, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+                CarevPrincipal.TYPE_ADMIN, 7L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+
+        CallerCompanyResolver.CallerContext context = resolver.resolveContext(ADMIN_EMAIL);
+
+        assertThat(context.principalType()).isEqualTo(CarevPrincipal.TYPE_ADMIN);
+        assertThat(context.companyId()).isEqualTo(10L);
+        verify(memberRepository, never()).findByUsername(ADMIN_EMAIL);
+        verify(userRepository, never()).findByEmail(ADMIN_EMAIL);
+    }
+
+    @Test
+    @DisplayName("직원 아이디가 관리자 이메일과 같아도 서로의 소속 기관을 받지 않는다")
+    void sameNameDifferentAccountsDoNotShareCache() {
+        Company otherCompany = mock(Company.class);
+        when(otherCompany.getId()).thenReturn(20L);
+        Member sameNameMember = mock(Member.class);
+        when(sameNameMember.getId()).thenReturn(4L);
+        when(sameNameMember.getRole()).thenReturn(Member.Role.values()[0]);
+        when(sameNameMember.getCompany()).thenReturn(otherCompany);
+        when(memberRepository.findById(4L)).thenReturn(Optional.of(sameNameMember));
+
+        authenticate(new CarevPrincipal(ADMIN_EMAIL, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+                CarevPrincipal.TYPE_ADMIN, 7L));
+        assertThat(resolver.resolveCompanyId(ADMIN_EMAIL)).contains(10L);
+
+        authenticate(new CarevPrincipal(ADMIN_EMAIL, List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                CarevPrincipal.TYPE_MEMBER, 4L));
+        assertThat(resolver.resolveCompanyId(ADMIN_EMAIL)).contains(20L);
+        assertThat(resolver.resolveContext(ADMIN_EMAIL).principalType()).isEqualTo(CarevPrincipal.TYPE_MEMBER);
+
+        // 신원 키로 담긴 캐시도 evict 로 버려진다
+        resolver.evict(CarevPrincipal.TYPE_MEMBER, 4L, ADMIN_EMAIL);
+        resolver.resolveCompanyId(ADMIN_EMAIL);
+        verify(memberRepository, times(2)).findById(4L);
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("찾지 못한 이름은 캐시하지 않는다 — 가입 직후에도 바로 보인다")
+    void doesNotCacheUnknownCallers() {
+        assertThat(resolver.resolveCompanyId("new-member")).isEmpty();
+        assertThat(resolver.resolveCompanyId("new-member")).isEmpty();
+
+        verify(memberRepository, times(2)).findByUsername("new-member");
+    }
+}
@@ -0,0 +1,81 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.DispatchSetting;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.repository.DispatchSettingRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("배차 엔진 선택")
+class DispatchEngineRegistryTest {
+
+    private CallerCompanyResolver callerCompanyResolver;
+    private DispatchSettingRepository dispatchSettingRepository;
+    private DispatchEngineRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        callerCompanyResolver = mock(CallerCompanyResolver.class);
+        dispatchSettingRepository = mock(DispatchSettingRepository.class);
+        registry = new DispatchEngineRegistry(List.of(solver(GeneticAlgorithmV5Solver.NAME), solver("ga-v4")),
+                mock(DistanceMatrixProvider.class), mock(SSEService.class), callerCompanyResolver,
+                dispatchSettingRepository, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("기관 배차 설정의 engine 항목으로 엔진을 고른다")
+    void picksEngineFromCompanySetting() {
+        givenSetting("{\"routes\": [], \"engine\": \"ga-v4\"}");
+
+        assertThat(registry.forUser("admin@carev.kr").name()).isEqualTo("ga-v4");
+    }
+
+    @Test
+    @DisplayName("설정이 없거나 모르는 엔진이면 기본 엔진을 쓴다")
+    void fallsBackToDefaultEngine() {
+        when(callerCompanyResolver.resolveCompanyId("nobody")).thenReturn(Optional.empty());
+        assertThat(registry.forUser("nobody").name()).isEqualTo(DispatchEngineRegistry.DEFAULT_ENGINE);
+
+        givenSetting("{\"engine\": \"ga-v9\"}");
+        assertThat(registry.forUser("admin@carev.kr").name()).isEqualTo(DispatchEngineRegistry.DEFAULT_ENGINE);
+    }
+
+    @Test
+    @DisplayName("이름으로 찾을 때 등록되지 않은 엔진이면 예외를 던진다")
+    void rejectsUnknownEngineName() {
+        assertThat(registry.names()).containsExactly(GeneticAlgorithmV5Solver.NAME, "ga-v4");
+        assertThatThrownBy(() -> registry.get("ga-v9")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void givenSetting(String settingsJson) {
+        DispatchSetting setting = DispatchSetting.builder().companyId(1L).settingsJson(settingsJson).build();
+        when(callerCompanyResolver.resolveCompanyId("admin@carev.kr")).thenReturn(Optional.of(1L));
+        when(dispatchSettingRepository.findByCompanyId(1L)).thenReturn(Optional.of(setting));
+    }
+
+    private DispatchSolver solver(String name) {
+        return new DispatchSolver() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<AssignmentResponseDTO> solve(RequestDispatchDTO requestDispatchDTO,
+                                                     DistanceMatrix distanceMatrix) {
+                return List.of();
+            }
+        };
+    }
+}
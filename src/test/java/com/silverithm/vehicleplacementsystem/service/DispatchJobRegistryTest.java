@@ -0,0 +1,149 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.silverithm.vehicleplacementsystem.config.redis.RedisUtils;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+@DisplayName("배차 작업 취소")
+class DispatchJobRegistryTest {
+
+    private static final String USER = "admin@carev.kr";
+
+    private RedisUtils redisUtils;
+    private DispatchProgressPublisher dispatchProgressPublisher;
+    private DispatchScheduler dispatchScheduler;
+    private DispatchCancelSender dispatchCancelSender;
+    private DispatchJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        redisUtils = mock(RedisUtils.class);
+        dispatchProgressPublisher = mock(DispatchProgressPublisher.class);
+        dispatchScheduler = mock(DispatchScheduler.class);
+        dispatchCancelSender = mock(DispatchCancelSender.class);
+        registry = new DispatchJobRegistry(redisUtils, dispatchProgressPublisher, dispatchScheduler,
+                dispatchCancelSender);
+    }
+
+    @Test
+    @DisplayName("대기열에서 뺀 작업을 취소하면 하루 배차 횟수를 돌려주고, 뒤늦게 온 결과와 실패는 반영하지 않는다")
+    void cancelRefundsQuotaAndDropsLateResult() {
+        when(dispatchScheduler.withdraw("job-1")).thenReturn(true);
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+
+        registry.cancel("job-1", USER);
+
+        assertThat(registry.isCancelled("job-1")).isTrue();
+        assertThat(registry.complete("job-1")).isFalse();
+        assertThat(registry.fail("job-1")).isFalse();
+        verify(redisUtils, times(1)).decrementDailyRequestCount(USER);
+        verify(dispatchProgressPublisher).cancel("job-1", DispatchJobRegistry.CANCELLED_BY_USER);
+        verify(dispatchScheduler).withdraw("job-1");
+        verify(dispatchScheduler, never()).release("job-1");
+        verify(dispatchCancelSender, never()).send("job-1", DispatchJobRegistry.CANCELLED_BY_USER);
+    }
+
+    @Test
+    @DisplayName("이미 워커로 넘어간 작업을 취소하면 워커에 알리고 횟수는 돌려주지 않는다")
+    void cancelInFlightJobNotifiesWorkerWithoutRefund() {
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+
+        registry.cancel("job-1", USER);
+
+        assertThat(registry.isCancelled("job-1")).isTrue();
+        verify(dispatchCancelSender).send("job-1", DispatchJobRegistry.CANCELLED_BY_USER);
+        verify(redisUtils, never()).decrementDailyRequestCount(USER);
+        // 워커 응답을 기다리지 않고 기관 슬롯을 돌려받는다
+        verify(dispatchScheduler).release("job-1");
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 새로 요청하면 끝나지 않은 이전 작업을 취소한다")
+    void newRequestSupersedesPreviousJob() {
+        when(dispatchScheduler.withdraw("job-1")).thenReturn(true);
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+        registry.register("job-2", USER, DispatchType.DURATION_IN, null);
+
+        assertThat(registry.isCancelled("job-1")).isTrue();
+        assertThat(registry.isCancelled("job-2")).isFalse();
+        verify(dispatchProgressPublisher).cancel("job-1", DispatchJobRegistry.CANCELLED_BY_SUPERSEDE);
+
+        // 결과가 온 작업은 다음 요청이 와도 건드리지 않는다
+        assertThat(registry.complete("job-2")).isTrue();
+        registry.register("job-3", USER, DispatchType.DURATION_IN, null);
+        assertThat(registry.isCancelled("job-2")).isFalse();
+        verify(redisUtils, times(1)).decrementDailyRequestCount(USER);
+    }
+
+    @Test
+    @DisplayName("배차 유형이 다른 작업은 서로 대신하지 않는다 — 출근·퇴근 배차를 함께 돌릴 수 있다")
+    void differentDispatchTypesDoNotSupersede() {
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+        registry.register("job-2", USER, DispatchType.DURATION_OUT, null);
+
+        assertThat(registry.isCancelled("job-1")).isFalse();
+        assertThat(registry.isCancelled("job-2")).isFalse();
+        verify(dispatchCancelSender, never()).send("job-1", DispatchJobRegistry.CANCELLED_BY_SUPERSEDE);
+
+        // 같은 유형으로 다시 보내면 그 유형의 작업만 대신한다
+        registry.register("job-3", USER, DispatchType.DURATION_IN, null);
+        assertThat(registry.isCancelled("job-1")).isTrue();
+        assertThat(registry.isCancelled("job-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("워커가 돌리고 있는 작업을 새 요청이 대신해도 횟수는 돌려주지 않는다")
+    void supersedingInFlightJobKeepsQuota() {
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+        registry.register("job-2", USER, DispatchType.DURATION_IN, null);
+
+        assertThat(registry.isCancelled("job-1")).isTrue();
+        verify(dispatchCancelSender).send("job-1", DispatchJobRegistry.CANCELLED_BY_SUPERSEDE);
+        verify(redisUtils, never()).decrementDailyRequestCount(USER);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 작업이나 이미 끝난 작업은 취소할 수 없다")
+    void rejectsForeignOrFinishedJob() {
+        registry.register("job-1", USER, DispatchType.DURATION_IN, null);
+
+        assertThatThrownBy(() -> registry.cancel("job-1", "other@carev.kr"))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getHttpStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+
+        registry.complete("job-1");
+        assertThatThrownBy(() -> registry.cancel("job-1", USER))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getHttpStatus()).isEqualTo(HttpStatus.CONFLICT));
+        verify(redisUtils, never()).decrementDailyRequestCount(USER);
+    }
+
+    @Test
+    @DisplayName("모르는 작업의 결과는 그대로 저장한다")
+    void unknownJobResultIsKept() {
+        assertThat(registry.complete("restarted-job")).isTrue();
+        assertThat(registry.isCancelled("restarted-job")).isFalse();
+        assertThat(registry.seedOf("restarted-job")).isNull();
+    }
+
+    @Test
+    @DisplayName("큐에 넣을 때 정한 시드는 결과가 온 뒤에도 꺼낼 수 있다")
+    void seedIsKeptUntilResult() {
+        registry.register("job-1", USER, DispatchType.DURATION_IN, 42L);
+
+        assertThat(registry.complete("job-1")).isTrue();
+        assertThat(registry.seedOf("job-1")).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+@DisplayName("배차 메시지 인코딩")
+class DispatchMessageCodecTest {
+
+    private static final TypeReference<List<Map<String, Object>>> TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, Object>> payload = assignments(300);
+
+    @Test
+    @DisplayName("CBOR 와 gzip 으로 보낸 본문을 content-type·content-encoding 을 보고 되읽는다")
+    void roundTripsCompressedCbor() throws IOException {
+        DispatchMessageCodec cbor = new DispatchMessageCodec(objectMapper, DispatchMessageCodec.CBOR, true, 1024,
+                1 << 20);
+        DispatchMessageCodec json = new DispatchMessageCodec(objectMapper, DispatchMessageCodec.JSON, false, 1024,
+                1 << 20);
+
+        Message message = cbor.encode(payload, new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(DispatchMessageCodec.CBOR);
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo(DispatchMessageCodec.GZIP);
+        assertThat(message.getBody().length).isLessThan(objectMapper.writeValueAsBytes(payload).length);
+        // 받는 쪽 설정과 상관없이 메시지에 적힌 형식을 따른다
+        assertThat(json.decode(message, TYPE)).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("content-type 이 없는 기존 JSON 응답도 그대로 읽는다")
+    void readsLegacyJson() throws IOException {
+        DispatchMessageCodec codec = new DispatchMessageCodec(objectMapper, DispatchMessageCodec.CBOR, true, 1024,
+                1 << 20);
+
+        Message legacy = new Message(objectMapper.writeValueAsBytes(payload), new MessageProperties());
+
+        assertThat(codec.decode(legacy, TYPE)).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("압축을 푼 크기가 상한을 넘거나 모르는 버전이면 읽지 않는다")
+    void rejectsOversizedOrNewerMessages() throws IOException {
+        DispatchMessageCodec sender = new DispatchMessageCodec(objectMapper, DispatchMessageCodec.JSON, true, 1024,
+                1 << 20);
+        DispatchMessageCodec receiver = new DispatchMessageCodec(objectMapper, DispatchMessageCodec.JSON, true, 1024,
+                4096);
+
+        Message compressed = sender.encode(payload, new MessageProperties());
+        assertThatThrownBy(() -> receiver.decode(compressed, TYPE)).isInstanceOf(IOException.class);
+
+        MessageProperties newer = new MessageProperties();
+        newer.setHeader(DispatchMessageCodec.FORMAT_VERSION_HEADER, DispatchMessageCodec.FORMAT_VERSION + 1);
+        Message message = new Message(objectMapper.writeValueAsBytes(payload), newer);
+        assertThatThrownBy(() -> sender.decode(message, TYPE)).isInstanceOf(IOException.class);
+    }
+
+    private static List<Map<String, Object>> assignments(int count) {
+        List<Map<String, Object>> assignments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            assignments.add(Map.of("employeeId", i, "time", 1800 + i, "elderlyIds", List.of(i, i + 1, i + 2)));
+        }
+        return assignments;
+    }
+}
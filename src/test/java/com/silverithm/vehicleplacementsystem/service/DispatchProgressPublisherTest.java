@@ -0,0 +1,82 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.exception.CustomException;
+import com.silverithm.vehicleplacementsystem.service.DispatchProgressChannel.Event;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+@DisplayName("배차 작업 진행률 SSE")
+class DispatchProgressPublisherTest {
+
+    private final List<Runnable> sendTasks = new ArrayList<>();
+    private DispatchProgressPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new DispatchProgressPublisher(sendTasks::add, 250);
+        publisher.open("job-1", "admin@carev.kr");
+    }
+
+    @Test
+    @DisplayName("발행 주기 사이의 진행률은 마지막 값 하나로 합치고, 종료 이벤트는 모두 남긴다")
+    void coalescesProgressButKeepsTerminalEvents() {
+        DispatchProgressChannel channel = new DispatchProgressChannel("admin@carev.kr", 0);
+        channel.offerProgress(20);
+        channel.offerProgress(21);
+        channel.offerProgress(22);
+        channel.collectProgress();
+        channel.collectProgress();
+
+        assertThat(channel.eventsAfter(0)).extracting(Event::data).containsExactly(22);
+
+        channel.offerProgress(80);
+        channel.append(DispatchProgressPublisher.STOP_EVENT, "stop", false);
+        channel.append(DispatchProgressPublisher.RESULT_EVENT, List.of(), true);
+
+        assertThat(channel.eventsAfter(0)).extracting(Event::name).containsExactly(
+                DispatchProgressPublisher.PROGRESS_EVENT, DispatchProgressPublisher.STOP_EVENT,
+                DispatchProgressPublisher.RESULT_EVENT);
+        assertThat(channel.eventsAfter(2)).extracting(Event::id).containsExactly(3L, 4L);
+        assertThat(channel.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("앞선 전송이 끝나지 않은 구독자에게는 다음 전송을 겹쳐 걸지 않는다")
+    void skipsSubscriberWhileSendIsInFlight() {
+        publisher.subscribe("job-1", "admin@carev.kr", null);
+        assertThat(sendTasks).hasSize(1);
+
+        publisher.progress("job-1", 40);
+        publisher.flush();
+        publisher.stop("job-1", StopReason.STAGNATION, 60);
+        publisher.flush();
+        assertThat(sendTasks).hasSize(1);
+
+        sendTasks.remove(0).run();
+        publisher.flush();
+        assertThat(sendTasks).isEmpty();
+
+        publisher.progress("job-1", 80);
+        publisher.flush();
+        assertThat(sendTasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 작업이나 없는 작업은 구독할 수 없다")
+    void rejectsForeignOrUnknownJob() {
+        assertThatThrownBy(() -> publisher.subscribe("job-1", "other@carev.kr", null))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getHttpStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertThatThrownBy(() -> publisher.subscribe("job-9", "admin@carev.kr", null))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+}
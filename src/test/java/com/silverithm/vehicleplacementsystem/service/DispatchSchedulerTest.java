@@ -0,0 +1,155 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.entity.SubscriptionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("배차 요청 공정 큐")
+class DispatchSchedulerTest {
+
+    private final List<String> published = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("대형 기관이 쌓아 둔 작업 뒤에 작은 기관의 요청이 줄 서지 않는다")
+    void smallTenantOvertakesHeavyBacklog() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 1, 1, 60000);
+
+        submit(scheduler, "big-1", "company:1", SubscriptionType.BASIC, 200);
+        submit(scheduler, "big-2", "company:1", SubscriptionType.BASIC, 200);
+        submit(scheduler, "big-3", "company:1", SubscriptionType.BASIC, 200);
+        submit(scheduler, "small-1", "company:2", SubscriptionType.BASIC, 10);
+
+        assertThat(published).containsExactly("big-1");
+        assertThat(pending()).isEqualTo(3);
+
+        scheduler.release("big-1");
+        assertThat(published).containsExactly("big-1", "small-1");
+    }
+
+    @Test
+    @DisplayName("높은 등급 기관은 같은 크기의 작업을 가중치만큼 더 자주 내보낸다")
+    void higherTierGetsLargerShare() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 1, 1, 60000);
+        submit(scheduler, "blocker", "company:9", SubscriptionType.FREE, 10);
+        for (int i = 1; i <= 4; i++) {
+            submit(scheduler, "free-" + i, "company:1", SubscriptionType.FREE, 10);
+            submit(scheduler, "enterprise-" + i, "company:2", SubscriptionType.ENTERPRISE, 10);
+        }
+
+        String previous = "blocker";
+        for (int i = 0; i < 5; i++) {
+            scheduler.release(previous);
+            previous = published.get(published.size() - 1);
+        }
+
+        // 가중치 4:1 — 다섯 번 중 네 번은 ENTERPRISE 기관이 나간다
+        assertThat(published.subList(1, 6)).containsExactlyInAnyOrder(
+                "enterprise-1", "enterprise-2", "enterprise-3", "enterprise-4", "free-1");
+        assertThat(published.subList(1, 4)).containsExactly("enterprise-1", "enterprise-2", "enterprise-3");
+    }
+
+    @Test
+    @DisplayName("기관별 동시 실행 한도에 닿으면 전체 자리가 남아도 기다린다")
+    void perCompanyCapHoldsJobs() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 8, 2, 60000);
+
+        submit(scheduler, "job-1", "company:1", SubscriptionType.ENTERPRISE, 10);
+        submit(scheduler, "job-2", "company:1", SubscriptionType.ENTERPRISE, 10);
+        submit(scheduler, "job-3", "company:1", SubscriptionType.ENTERPRISE, 10);
+
+        assertThat(published).containsExactly("job-1", "job-2");
+        assertThat(meterRegistry.get("dispatch_scheduler_in_flight").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("dispatch_scheduler_pending").tag("tier", "ENTERPRISE").gauge().value())
+                .isEqualTo(1);
+
+        scheduler.release("job-2");
+        assertThat(published).containsExactly("job-1", "job-2", "job-3");
+        assertThat(meterRegistry.get("dispatch_scheduler_wait").tag("tier", "ENTERPRISE").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("취소된 대기 작업은 내보내지 않고, 브로커에 넣지 못한 작업은 자리를 돌려준다")
+    void withdrawAndPublishFailureFreeSlots() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 1, 1, 60000);
+        submit(scheduler, "job-1", "company:1", SubscriptionType.FREE, 10);
+        submit(scheduler, "job-2", "company:2", SubscriptionType.FREE, 10);
+        scheduler.submit("job-3", "company:3", SubscriptionType.FREE, 10, () -> {
+            throw new IllegalStateException("broker down");
+        }, e -> failed.add("job-3"));
+        submit(scheduler, "job-4", "company:4", SubscriptionType.FREE, 10);
+
+        assertThat(scheduler.withdraw("job-2")).isTrue();
+        assertThat(scheduler.withdraw("job-1")).isFalse();
+
+        scheduler.release("job-1");
+
+        assertThat(published).containsExactly("job-1", "job-4");
+        assertThat(failed).containsExactly("job-3");
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("실행 중에 취소해 돌려받은 슬롯은 뒤늦은 응답으로 두 번 돌려받지 않는다")
+    void releaseOfCancelledJobIsIdempotent() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 8, 1, 60000);
+        submit(scheduler, "job-1", "company:1", SubscriptionType.FREE, 10);
+        submit(scheduler, "job-2", "company:1", SubscriptionType.FREE, 10);
+        submit(scheduler, "job-3", "company:1", SubscriptionType.FREE, 10);
+
+        // 취소할 때 바로 돌려받아 같은 기관의 다음 작업이 나간다
+        scheduler.release("job-1");
+        assertThat(published).containsExactly("job-1", "job-2");
+
+        // 멈춘 워커가 뒤늦게 응답해도 job-2 의 슬롯을 빼앗지 않는다
+        scheduler.release("job-1");
+        assertThat(published).containsExactly("job-1", "job-2");
+        assertThat(meterRegistry.get("dispatch_scheduler_in_flight").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("종료할 때 대기 중인 작업을 순서대로 브로커에 넣고, 넣지 못한 작업은 실패 처리한다")
+    void shutdownPublishesPendingJobs() {
+        DispatchScheduler scheduler = new DispatchScheduler(meterRegistry, 1, 1, 60000);
+        submit(scheduler, "job-1", "company:1", SubscriptionType.FREE, 10);
+        submit(scheduler, "job-2", "company:2", SubscriptionType.FREE, 10);
+        scheduler.submit("job-3", "company:3", SubscriptionType.FREE, 10, () -> {
+            throw new IllegalStateException("broker down");
+        }, e -> failed.add("job-3"));
+        submit(scheduler, "job-4", "company:4", SubscriptionType.FREE, 10);
+
+        scheduler.shutdown();
+
+        assertThat(published).containsExactly("job-1", "job-2", "job-4");
+        assertThat(failed).containsExactly("job-3");
+        assertThat(pending()).isZero();
+        assertThat(scheduler.withdraw("job-2")).isFalse();
+
+        // 종료 뒤에 들어온 요청은 줄 세우지 않고 바로 넣는다
+        submit(scheduler, "job-5", "company:1", SubscriptionType.FREE, 10);
+        assertThat(published).containsExactly("job-1", "job-2", "job-4", "job-5");
+    }
+
+    private void submit(DispatchScheduler scheduler, String jobId, String company, SubscriptionType tier, int cost) {
+        scheduler.submit(jobId, company, tier, cost, () -> published.add(jobId), e -> failed.add(jobId));
+    }
+
+    private double pending() {
+        return meterRegistry.find("dispatch_scheduler_pending").gauges().stream()
+                .mapToDouble(gauge -> gauge.value())
+                .sum();
+    }
+}
@@ -0,0 +1,98 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.silverithm.vehicleplacementsystem.config.CacheConfig;
+import com.silverithm.vehicleplacementsystem.entity.LinkDistance;
+import com.silverithm.vehicleplacementsystem.repository.ElderRepository;
+import com.silverithm.vehicleplacementsystem.repository.EmployeeRepository;
+import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@DisplayName("거리 캐시 무효화")
+class LinkDistanceCacheServiceTest {
+
+    private LinkDistanceRepository linkDistanceRepository;
+    private EmployeeRepository employeeRepository;
+    private ElderRepository elderRepository;
+    private CaffeineCache localCache;
+    private LinkDistanceCacheService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        linkDistanceRepository = mock(LinkDistanceRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        elderRepository = mock(ElderRepository.class);
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.keys(anyString())).thenReturn(Set.of());
+        when(stringRedisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of());
+
+        localCache = new CaffeineCache(CacheConfig.LINK_DISTANCE_CACHE, Caffeine.newBuilder().build());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(localCache));
+        cacheManager.afterPropertiesSet();
+
+        service = new LinkDistanceCacheService(cacheManager, stringRedisTemplate, linkDistanceRepository,
+                employeeRepository, elderRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("기관 주소가 바뀌면 그 기관 인원과 기관 노드 사이 간선만 지운다")
+    void companyChangeKeepsOtherTenantLinks() {
+        when(employeeRepository.findIdsInCompanyScope(1L)).thenReturn(List.of(10L));
+        when(elderRepository.findIdsInCompanyScope(1L)).thenReturn(List.of(20L));
+        put("Company", "Employee_10");
+        put("Elderly_20", "Company");
+        put("Company", "Elderly_99");
+
+        service.onAddressChanged(LinkDistanceCacheService.AddressChanged.company(1L));
+
+        verify(linkDistanceRepository).deleteAllBetween("Company", Set.of("Employee_10", "Elderly_20"));
+        verify(linkDistanceRepository, never()).deleteAllByNodeId("Company");
+        assertThat(localCache.get("Company_Employee_10")).isNull();
+        assertThat(localCache.get("Elderly_20_Company")).isNull();
+        // 다른 기관 어르신과의 간선은 남는다
+        assertThat(localCache.get("Company_Elderly_99")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("어르신 주소가 바뀌면 그 어르신과 이웃 사이 간선을 양방향으로 지운다")
+    void nodeChangeEvictsNeighbourLinks() {
+        when(linkDistanceRepository.findDestinationNodeIds("Elderly_20")).thenReturn(List.of("Company"));
+        put("Company", "Elderly_20");
+        put("Elderly_20", "Company");
+        put("Company", "Elderly_21");
+
+        service.onAddressChanged(LinkDistanceCacheService.AddressChanged.elderly(20L));
+
+        verify(linkDistanceRepository).deleteAllByNodeId("Elderly_20");
+        assertThat(localCache.get("Company_Elderly_20")).isNull();
+        assertThat(localCache.get("Elderly_20_Company")).isNull();
+        assertThat(localCache.get("Company_Elderly_21")).isNotNull();
+    }
+
+    private void put(String start, String destination) {
+        localCache.put(LinkDistanceCacheService.linkKey(start, destination),
+                new LinkDistance(start, destination, 60, 1000));
+    }
+}
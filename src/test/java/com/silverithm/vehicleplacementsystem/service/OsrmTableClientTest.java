@@ -0,0 +1,74 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+@DisplayName("OSRM table 거리 행렬 클라이언트")
+class OsrmTableClientTest {
+
+    private static final String OSRM_URL = "http://osrm.test";
+
+    private MockRestServiceServer osrmServer;
+    private OsrmTableClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        osrmServer = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new OsrmTableClient(OSRM_URL, restTemplate, 2);
+    }
+
+    @Test
+    @DisplayName("출발지·도착지를 타일로 나눠 요청하고 전체 행렬을 채운다")
+    void fetchesTableInTiles() {
+        List<Location> sources = List.of(new Location(37.0, 127.0), new Location(37.1, 127.1),
+                new Location(37.2, 127.2));
+        List<Location> destinations = List.of(new Location(37.3, 127.3), new Location(37.4, 127.4));
+
+        osrmServer.expect(requestTo(OSRM_URL + "/table/v1/driving/127.0,37.0;127.1,37.1;127.3,37.3;127.4,37.4"
+                        + "?sources=0;1&destinations=2;3&annotations=duration,distance"))
+                .andRespond(withSuccess("""
+                        {"code":"Ok","durations":[[10.4,20.9],[30,40]],"distances":[[100.7,200],[300,400]]}
+                        """, MediaType.APPLICATION_JSON));
+        osrmServer.expect(requestTo(OSRM_URL + "/table/v1/driving/127.2,37.2;127.3,37.3;127.4,37.4"
+                        + "?sources=0&destinations=1;2&annotations=duration,distance"))
+                .andRespond(withSuccess("""
+                        {"code":"Ok","durations":[[50,60]],"distances":[[500,600]]}
+                        """, MediaType.APPLICATION_JSON));
+
+        OsrmApiResponseDTO[][] table = client.fetchTable(sources, destinations);
+
+        osrmServer.verify();
+        assertThat(table[0][0]).isEqualTo(new OsrmApiResponseDTO(100, 10));
+        assertThat(table[0][1]).isEqualTo(new OsrmApiResponseDTO(200, 20));
+        assertThat(table[1][1]).isEqualTo(new OsrmApiResponseDTO(400, 40));
+        assertThat(table[2][0]).isEqualTo(new OsrmApiResponseDTO(500, 50));
+        assertThat(table[2][1]).isEqualTo(new OsrmApiResponseDTO(600, 60));
+    }
+
+    @Test
+    @DisplayName("경로가 없는 칸이 있으면 요청 실패로 처리한다")
+    void failsOnUnreachableCell() {
+        osrmServer.expect(requestTo(OSRM_URL + "/table/v1/driving/127.0,37.0;127.3,37.3"
+                        + "?sources=0&destinations=1&annotations=duration,distance"))
+                .andRespond(withSuccess("""
+                        {"code":"Ok","durations":[[null]],"distances":[[null]]}
+                        """, MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> client.fetchTable(List.of(new Location(37.0, 127.0)),
+                List.of(new Location(37.3, 127.3))))
+                .hasMessageContaining("OSRM API 요청에 실패");
+    }
+}